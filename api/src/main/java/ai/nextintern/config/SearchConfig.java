@@ -3,6 +3,7 @@ package ai.nextintern.config;
 import org.apache.http.HttpHost;
 import org.opensearch.client.RestClient;
 import org.opensearch.client.json.jackson.JacksonJsonpMapper;
+import org.opensearch.client.opensearch.OpenSearchAsyncClient;
 import org.opensearch.client.opensearch.OpenSearchClient;
 import org.opensearch.client.transport.OpenSearchTransport;
 import org.opensearch.client.transport.rest_client.RestClientTransport;
@@ -21,13 +22,26 @@ public class SearchConfig {
     @Value("${app.opensearch.port:9200}")
     private int port;
 
-    @Bean
-    public OpenSearchClient openSearchClient() {
+    @Bean(destroyMethod = "close")
+    public OpenSearchTransport openSearchTransport() {
         RestClient restClient = RestClient.builder(new HttpHost(host, port, "http")).build();
-        OpenSearchTransport transport = new RestClientTransport(restClient, new JacksonJsonpMapper());
+        return new RestClientTransport(restClient, new JacksonJsonpMapper());
+    }
+
+    @Bean
+    public OpenSearchClient openSearchClient(OpenSearchTransport transport) {
         return new OpenSearchClient(transport);
     }
 
+    /**
+     * Shares the transport (and its connection pool) with the blocking client;
+     * used for pipelined bulk writes.
+     */
+    @Bean
+    public OpenSearchAsyncClient openSearchAsyncClient(OpenSearchTransport transport) {
+        return new OpenSearchAsyncClient(transport);
+    }
+
     // Index initialization logic can be triggered via a CommandLineRunner bean if
     // needed
     // ensuring the index exists with the correct mapping on startup.
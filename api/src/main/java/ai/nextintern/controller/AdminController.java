@@ -1,6 +1,8 @@
 package ai.nextintern.controller;
 
 import ai.nextintern.dto.AdminStatsDTO;
+import ai.nextintern.dto.BatchRecommendationRequest;
+import ai.nextintern.dto.IndexRebuildStatus;
 import ai.nextintern.entity.AuditLog;
 import ai.nextintern.entity.User;
 import ai.nextintern.repository.ApplicationRepository;
@@ -8,17 +10,29 @@ import ai.nextintern.repository.AuditLogRepository;
 import ai.nextintern.repository.InternshipRepository;
 import ai.nextintern.repository.UserRepository;
 import ai.nextintern.service.AuditService;
+import ai.nextintern.service.RecommendationBatchService;
+import ai.nextintern.service.SearchIndexManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
-
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -32,6 +46,9 @@ public class AdminController {
     private final ApplicationRepository applicationRepository;
     private final AuditLogRepository auditLogRepository;
     private final AuditService auditService;
+    private final SearchIndexManager searchIndexManager;
+    private final RecommendationBatchService recommendationBatchService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/stats")
     public ResponseEntity<AdminStatsDTO> getStats() {
@@ -146,6 +163,78 @@ public class AdminController {
         return ResponseEntity.ok().build();
     }
 
+    // ── Search index management ─────────────────────────────
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<IndexRebuildStatus> rebuildSearchIndex(
+            @AuthenticationPrincipal UUID adminId,
+            HttpServletRequest request) {
+        if (searchIndexManager.getRebuildStatus().running()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(searchIndexManager.getRebuildStatus());
+        }
+        IndexRebuildStatus status = searchIndexManager.startRebuild();
+
+        auditService.log(
+                adminId,
+                "REBUILD_INDEX",
+                "SEARCH_INDEX",
+                status.targetIndex(),
+                "Search index rebuild started",
+                extractIp(request));
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+    }
+
+    @GetMapping("/search/rebuild")
+    public ResponseEntity<IndexRebuildStatus> getSearchIndexRebuildStatus() {
+        return ResponseEntity.ok(searchIndexManager.getRebuildStatus());
+    }
+
+    // ── Batch recommendations ───────────────────────────────
+    /**
+     * Recommendations for many students, streamed as NDJSON: one line per user
+     * as results become available ({@code user_id}, {@code source},
+     * {@code recommendations}), then a {@code summary} line with the batch's
+     * totals and throughput.
+     */
+    @PostMapping(value = "/recommendations/batch", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> batchRecommendations(
+            @Valid @RequestBody BatchRecommendationRequest body,
+            @AuthenticationPrincipal UUID adminId,
+            HttpServletRequest request) {
+        int limit = body.limit() != null ? body.limit() : 10;
+
+        auditService.log(
+                adminId,
+                "BATCH_RECOMMENDATIONS",
+                "RECOMMENDATIONS",
+                null,
+                "Batch recommendations for " + body.userIds().size() + " users",
+                extractIp(request));
+
+        StreamingResponseBody stream = out -> {
+            RecommendationBatchService.BatchStats stats = recommendationBatchService.recommend(body.userIds(), limit,
+                    result -> {
+                        Map<String, Object> line = new LinkedHashMap<>();
+                        line.put("user_id", result.userId());
+                        line.put("source", result.source().name().toLowerCase(Locale.ROOT));
+                        line.put("recommendations", result.body());
+                        writeLine(out, line);
+                    });
+            writeLine(out, Map.of("summary", stats));
+        };
+        return ResponseEntity.ok(stream);
+    }
+
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     private String extractIp(HttpServletRequest request) {
         String xfHeader = request.getHeader("X-Forwarded-For");
         if (xfHeader == null || xfHeader.isEmpty()) {
@@ -3,6 +3,7 @@ package ai.nextintern.controller;
 import ai.nextintern.dto.CreateInternshipRequest;
 import ai.nextintern.dto.UpdateInternshipRequest;
 import ai.nextintern.dto.InternshipResponse;
+import ai.nextintern.dto.InternshipSearchPage;
 import ai.nextintern.service.InternshipService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
@@ -18,6 +19,8 @@ import java.util.UUID;
 @RequestMapping("/api/v1/internships")
 public class InternshipController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final InternshipService internshipService;
 
     public InternshipController(InternshipService internshipService) {
@@ -26,6 +29,8 @@ public class InternshipController {
 
     /**
      * GET /api/v1/internships — search active internships (public)
+     * For deep pagination, pass the X-Next-Cursor header of the previous
+     * response as {@code cursor}; {@code page} is then ignored.
      */
     @GetMapping
     public ResponseEntity<Page<InternshipResponse>> search(
@@ -34,8 +39,34 @@ public class InternshipController {
             @RequestParam(required = false) String workMode,
             @RequestParam(required = false) String state,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
-        return ResponseEntity.ok(internshipService.search(query, category, workMode, state, page, size));
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor) {
+        InternshipSearchPage result = internshipService.search(query, category, workMode, state, page, size, cursor,
+                false);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (result.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, result.nextCursor());
+        }
+        return response.body(result.page());
+    }
+
+    /**
+     * GET /api/v1/internships/search — same search, returning the page, the
+     * next-page cursor and (unless {@code facets=false}) filter counts in one body
+     * (public)
+     */
+    @GetMapping("/search")
+    public ResponseEntity<InternshipSearchPage> searchWithFacets(
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String workMode,
+            @RequestParam(required = false) String state,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean facets) {
+        return ResponseEntity.ok(internshipService.search(query, category, workMode, state, page, size, cursor,
+                facets));
     }
 
     /**
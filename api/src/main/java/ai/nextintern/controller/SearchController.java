@@ -0,0 +1,37 @@
+package ai.nextintern.controller;
+
+import ai.nextintern.dto.SuggestResponse;
+import ai.nextintern.service.SuggestService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/v1/search")
+public class SearchController {
+
+    private final SuggestService suggestService;
+
+    public SearchController(SuggestService suggestService) {
+        this.suggestService = suggestService;
+    }
+
+    /**
+     * GET /api/v1/search/suggest?q=dev — typeahead for internship titles,
+     * company names and skills (public)
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<SuggestResponse> suggest(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "5") int limit) {
+        SuggestResponse response = suggestService.suggest(q, limit);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic())
+                .body(response != null ? response : SuggestResponse.empty(q));
+    }
+}
@@ -1,7 +1,7 @@
 package ai.nextintern.controller;
 
 import ai.nextintern.entity.Skill;
-import ai.nextintern.repository.SkillRepository;
+import ai.nextintern.service.SkillDictionary;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -13,13 +13,17 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SkillController {
 
-    private final SkillRepository skillRepository;
+    private static final int MAX_LIMIT = 50;
 
+    private final SkillDictionary skillDictionary;
+
+    /** Prefix autocomplete over skill names and aliases, served from memory. */
     @GetMapping
-    public ResponseEntity<List<Skill>> searchSkills(@RequestParam(required = false) String q) {
+    public ResponseEntity<List<Skill>> searchSkills(@RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "20") int limit) {
         if (q == null || q.isBlank()) {
             return ResponseEntity.ok(List.of());
         }
-        return ResponseEntity.ok(skillRepository.findByNameContainingIgnoreCase(q));
+        return ResponseEntity.ok(skillDictionary.complete(q, Math.max(1, Math.min(limit, MAX_LIMIT))));
     }
 }
@@ -0,0 +1,14 @@
+package ai.nextintern.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BatchRecommendationRequest(
+        @NotEmpty @Size(max = 10000, message = "At most 10000 users per batch") List<UUID> userIds,
+        @Min(1) @Max(50) Integer limit) {
+}
@@ -0,0 +1,50 @@
+package ai.nextintern.dto;
+
+import java.time.Instant;
+
+public record IndexRebuildStatus(
+        State state,
+        String phase,
+        String targetIndex,
+        String previousIndex,
+        long documentsTotal,
+        long documentsProcessed,
+        Instant startedAt,
+        Instant finishedAt,
+        String error) {
+
+    public enum State {
+        IDLE,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    public static IndexRebuildStatus idle() {
+        return new IndexRebuildStatus(State.IDLE, null, null, null, 0, 0, null, null, null);
+    }
+
+    public boolean running() {
+        return state == State.RUNNING;
+    }
+
+    public IndexRebuildStatus withPhase(String newPhase) {
+        return new IndexRebuildStatus(state, newPhase, targetIndex, previousIndex, documentsTotal,
+                documentsProcessed, startedAt, finishedAt, error);
+    }
+
+    public IndexRebuildStatus withProgress(long processed) {
+        return new IndexRebuildStatus(state, phase, targetIndex, previousIndex, documentsTotal,
+                processed, startedAt, finishedAt, error);
+    }
+
+    public IndexRebuildStatus completed() {
+        return new IndexRebuildStatus(State.COMPLETED, "done", targetIndex, previousIndex, documentsTotal,
+                documentsProcessed, startedAt, Instant.now(), null);
+    }
+
+    public IndexRebuildStatus failed(String reason) {
+        return new IndexRebuildStatus(State.FAILED, phase, targetIndex, previousIndex, documentsTotal,
+                documentsProcessed, startedAt, Instant.now(), reason);
+    }
+}
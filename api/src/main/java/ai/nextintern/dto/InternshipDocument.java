@@ -2,16 +2,28 @@ package ai.nextintern.dto;
 
 import ai.nextintern.entity.Internship;
 import ai.nextintern.entity.InternshipSkill;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 
+/**
+ * The search document for an internship. It carries every field
+ * {@link InternshipResponse} needs, so search results can be served straight
+ * from {@code _source}. {@code applicantCount} is denormalized and refreshed
+ * whenever an application changes; it is null on documents indexed before the
+ * field existed.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
 public record InternshipDocument(
         String id,
         String title,
         String description,
         String category,
+        String eligibility,
         @JsonProperty("location_city") String locationCity,
         @JsonProperty("location_state") String locationState,
         @JsonProperty("location_country") String locationCountry,
@@ -21,16 +33,28 @@ public record InternshipDocument(
         @JsonProperty("duration_weeks") Integer durationWeeks,
         @JsonProperty("start_date") String startDate,
         @JsonProperty("application_deadline") String applicationDeadline,
+        @JsonProperty("max_applicants") Integer maxApplicants,
+        @JsonProperty("applicant_count") Long applicantCount,
         String status,
         @JsonProperty("created_at") String createdAt,
         @JsonProperty("provider_id") String providerId,
         @JsonProperty("provider_name") String providerName,
+        @JsonProperty("provider_logo_url") String providerLogoUrl,
         @JsonProperty("provider_verified") boolean providerVerified,
         @JsonProperty("skills_required") List<String> skillsRequired,
         @JsonProperty("skills_preferred") List<String> skillsPreferred,
         @JsonProperty("skills_bonus") List<String> skillsBonus,
-        @JsonProperty("skills_all") List<String> skillsAll) {
-    public static InternshipDocument from(Internship internship) {
+        @JsonProperty("skills_all") List<String> skillsAll,
+        @JsonProperty("title_suggest") List<String> titleSuggest,
+        @JsonProperty("provider_suggest") List<String> providerSuggest,
+        @JsonProperty("skill_suggest") List<String> skillSuggest) {
+
+    /** Fields only used by the completion suggester; excluded from search hits. */
+    public static final String[] SUGGEST_FIELDS = { "title_suggest", "provider_suggest", "skill_suggest" };
+
+    private static final int MAX_SUGGEST_SUFFIXES = 5;
+
+    public static InternshipDocument from(Internship internship, long applicantCount) {
         List<String> required = new ArrayList<>();
         List<String> preferred = new ArrayList<>();
         List<String> bonus = new ArrayList<>();
@@ -54,6 +78,7 @@ public record InternshipDocument(
                 ? internship.getProvider().getId().toString()
                 : null;
         String providerName = internship.getProvider() != null ? internship.getProvider().getCompanyName() : null;
+        String providerLogoUrl = internship.getProvider() != null ? internship.getProvider().getLogoUrl() : null;
         boolean providerVerified = internship.getProvider() != null
                 && Boolean.TRUE.equals(internship.getProvider().getVerified());
 
@@ -62,6 +87,7 @@ public record InternshipDocument(
                 internship.getTitle(),
                 internship.getDescription(),
                 internship.getCategory(),
+                internship.getEligibility(),
                 internship.getLocationCity(),
                 internship.getLocationState(),
                 internship.getLocationCountry(),
@@ -71,14 +97,37 @@ public record InternshipDocument(
                 internship.getDurationWeeks(),
                 internship.getStartDate() != null ? internship.getStartDate().toString() : null,
                 internship.getApplicationDeadline() != null ? internship.getApplicationDeadline().toString() : null,
+                internship.getMaxApplicants(),
+                applicantCount,
                 internship.getStatus(),
                 internship.getCreatedAt() != null ? internship.getCreatedAt().toString() : null,
                 providerId,
                 providerName,
+                providerLogoUrl,
                 providerVerified,
                 required,
                 preferred,
                 bonus,
-                all);
+                all,
+                suggestInputs(internship.getTitle()),
+                suggestInputs(providerName),
+                List.copyOf(new LinkedHashSet<>(all)));
+    }
+
+    /**
+     * Completion fields only match from the start of an input, so besides the
+     * full text each later word starts an input too: "Backend Developer Intern"
+     * is also suggested for "dev" and "intern".
+     */
+    static List<String> suggestInputs(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String[] words = text.trim().split("\\s+");
+        List<String> inputs = new ArrayList<>();
+        for (int i = 0; i < words.length && i < MAX_SUGGEST_SUFFIXES; i++) {
+            inputs.add(String.join(" ", Arrays.copyOfRange(words, i, words.length)));
+        }
+        return inputs;
     }
 }
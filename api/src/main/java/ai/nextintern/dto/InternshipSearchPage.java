@@ -0,0 +1,13 @@
+package ai.nextintern.dto;
+
+import org.springframework.data.domain.Page;
+
+/**
+ * A page of search results, the opaque cursor for the next page (null on the
+ * last page) and, when requested, filter counts.
+ */
+public record InternshipSearchPage(
+        Page<InternshipResponse> page,
+        String nextCursor,
+        SearchFacets facets) {
+}
@@ -0,0 +1,9 @@
+package ai.nextintern.dto;
+
+public record ReindexReport(
+        long indexed,
+        long failed,
+        int batches,
+        long durationMs,
+        double docsPerSecond) {
+}
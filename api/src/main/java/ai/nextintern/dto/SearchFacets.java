@@ -0,0 +1,24 @@
+package ai.nextintern.dto;
+
+import java.util.List;
+
+/**
+ * Filter counts for a search. Each term facet counts documents matching the
+ * query and every selected filter except its own, so the UI can show how many
+ * results picking a different value would give. The stipend histograms honour
+ * all selected filters.
+ */
+public record SearchFacets(
+        List<TermCount> categories,
+        List<TermCount> workModes,
+        List<TermCount> states,
+        List<RangeCount> stipendMin,
+        List<RangeCount> stipendMax) {
+
+    public record TermCount(String value, long count) {
+    }
+
+    /** {@code from} inclusive, {@code to} exclusive. */
+    public record RangeCount(long from, long to, long count) {
+    }
+}
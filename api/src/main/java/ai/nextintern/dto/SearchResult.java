@@ -3,7 +3,18 @@ package ai.nextintern.dto;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * @param nextCursor continuation token for the following page, or null when
+ *                   this page was the last one
+ * @param facets     filter counts, or null when they were not requested
+ */
 public record SearchResult(
-        List<UUID> ids,
-        long total) {
+        List<InternshipDocument> hits,
+        long total,
+        String nextCursor,
+        SearchFacets facets) {
+
+    public List<UUID> ids() {
+        return hits.stream().map(hit -> UUID.fromString(hit.id())).toList();
+    }
 }
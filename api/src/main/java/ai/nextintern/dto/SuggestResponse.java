@@ -0,0 +1,14 @@
+package ai.nextintern.dto;
+
+import java.util.List;
+
+public record SuggestResponse(
+        String prefix,
+        List<String> titles,
+        List<String> companies,
+        List<String> skills) {
+
+    public static SuggestResponse empty(String prefix) {
+        return new SuggestResponse(prefix, List.of(), List.of(), List.of());
+    }
+}
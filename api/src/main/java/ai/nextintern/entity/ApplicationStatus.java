@@ -11,6 +11,11 @@ public enum ApplicationStatus {
         return this == HIRED || this == REJECTED || this == WITHDRAWN;
     }
 
+    /** Counts towards the internship's applicant count and capacity. */
+    public boolean isActive() {
+        return this != REJECTED && this != WITHDRAWN;
+    }
+
     public boolean canTransitionTo(ApplicationStatus nextStatus) {
         if (this.isTerminal()) {
             return false;
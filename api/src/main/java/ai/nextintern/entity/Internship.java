@@ -2,6 +2,7 @@ package ai.nextintern.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -71,6 +72,15 @@ public class Internship {
     @Column(name = "max_applicants")
     private Integer maxApplicants;
 
+    /**
+     * Applications neither withdrawn nor rejected. Written only by
+     * {@code InternshipRepository.adjustActiveApplicationCount}, never by
+     * entity flushes, so a stale copy in memory cannot overwrite it.
+     */
+    @Column(name = "active_application_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private int activeApplicationCount;
+
     @Column(nullable = false, length = 20)
     @Builder.Default
     private String status = "draft";
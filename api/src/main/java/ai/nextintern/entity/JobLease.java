@@ -0,0 +1,32 @@
+package ai.nextintern.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A cluster-wide lease on a background job, taken with
+ * {@link ai.nextintern.repository.JobLeaseRepository#tryAcquire}.
+ */
+@Entity
+@Table(name = "job_leases")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobLease {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    /** When the latest run started, on any replica. */
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt;
+
+    /** The lease is held until then, unless released earlier. */
+    @Column(name = "locked_until", nullable = false)
+    private Instant lockedUntil;
+}
@@ -0,0 +1,49 @@
+package ai.nextintern.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "outbox_events")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** SQS queue name the event is sent to. */
+    @Column(nullable = false)
+    private String queue;
+
+    /** Simple class name of the payload, e.g. {@code ApplicationEvent}. */
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType;
+
+    @Column(columnDefinition = "jsonb", nullable = false)
+    @JdbcTypeCode(SqlTypes.JSON)
+    private String payload;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    /** When the row is next due for a send; pushed out on claim and on failure. */
+    @Column(name = "next_attempt_at", nullable = false, insertable = false)
+    private Instant nextAttemptAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,45 @@
+package ai.nextintern.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Precomputed top-N recommendations for one student, written by
+ * {@link ai.nextintern.service.RecommendationMaterializer}.
+ */
+@Entity
+@Table(name = "recommendation_cache")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecommendationCacheEntry {
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "internship_ids", nullable = false, columnDefinition = "uuid[]")
+    private UUID[] internshipIds;
+
+    /** The ranked items, in the recs service's item shape (id, score, explanation). */
+    @Column(nullable = false, columnDefinition = "jsonb")
+    @JdbcTypeCode(SqlTypes.JSON)
+    private String explanations;
+
+    @Column(name = "model_version", nullable = false, length = 50)
+    private String modelVersion;
+
+    @Column(name = "generated_at", nullable = false)
+    private Instant generatedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
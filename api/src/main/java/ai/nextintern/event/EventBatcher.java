@@ -0,0 +1,197 @@
+package ai.nextintern.event;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Buffered mode of {@link EventPublisher}: events are collected per queue and
+ * sent with SendMessageBatch, as soon as {@value #MAX_BATCH} are waiting for
+ * a queue or when the oldest has waited {@code linger}, whichever comes first.
+ * Each caller gets its own future, completed when SQS accepts or rejects its
+ * entry. Up to {@code max-in-flight} batches are sent at once on virtual
+ * threads.
+ * <p>
+ * Metrics: {@code events.publisher.buffer.depth} (events waiting),
+ * {@code events.publisher.batch.size} and {@code events.publisher.send}
+ * (latency of one batch request).
+ */
+@Slf4j
+@Component
+public class EventBatcher {
+
+    /** Entries per SendMessageBatch request allowed by SQS. */
+    static final int MAX_BATCH = 10;
+
+    private record Pending(Object event, CompletableFuture<Void> future) {
+    }
+
+    private final EventPublisher eventPublisher;
+    private final Map<String, List<Pending>> buffers = new ConcurrentHashMap<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final ScheduledExecutorService lingerScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "event-batcher-linger");
+        t.setDaemon(true);
+        return t;
+    });
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private Semaphore inFlight;
+
+    private final DistributionSummary batchSize;
+    private final Timer sendTimer;
+
+    @Value("${app.events.publisher.linger:50ms}")
+    private Duration linger;
+
+    @Value("${app.events.publisher.max-in-flight:4}")
+    private int maxInFlight;
+
+    public EventBatcher(EventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.eventPublisher = eventPublisher;
+        Gauge.builder("events.publisher.buffer.depth", depth, AtomicInteger::get)
+                .description("Events waiting to be sent")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("events.publisher.batch.size")
+                .description("Events per SendMessageBatch request")
+                .serviceLevelObjectives(1, 2, 5, MAX_BATCH)
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("events.publisher.send")
+                .description("Latency of one SendMessageBatch request")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Queues {@code event} for {@code queue}. The future fails if SQS rejects
+     * the entry or the batch request fails.
+     */
+    public CompletableFuture<Void> submit(String queue, Object event) {
+        Pending pending = new Pending(event, new CompletableFuture<>());
+        List<Pending> full = null;
+        boolean first;
+        List<Pending> buffer = buffers.computeIfAbsent(queue, q -> new ArrayList<>());
+        synchronized (buffer) {
+            buffer.add(pending);
+            depth.incrementAndGet();
+            first = buffer.size() == 1;
+            if (buffer.size() >= MAX_BATCH) {
+                full = drain(buffer);
+            }
+        }
+        if (full != null) {
+            dispatch(queue, full);
+        } else if (first) {
+            lingerScheduler.schedule(() -> flush(queue), linger.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return pending.future();
+    }
+
+    /** Sends whatever is waiting for {@code queue} now, in batches of up to {@value #MAX_BATCH}. */
+    public void flush(String queue) {
+        List<Pending> buffer = buffers.get(queue);
+        if (buffer == null) {
+            return;
+        }
+        while (true) {
+            List<Pending> batch;
+            synchronized (buffer) {
+                if (buffer.isEmpty()) {
+                    return;
+                }
+                batch = drain(buffer);
+            }
+            dispatch(queue, batch);
+        }
+    }
+
+    private List<Pending> drain(List<Pending> buffer) {
+        List<Pending> batch = new ArrayList<>(buffer.subList(0, Math.min(MAX_BATCH, buffer.size())));
+        buffer.subList(0, batch.size()).clear();
+        depth.addAndGet(-batch.size());
+        return batch;
+    }
+
+    private void dispatch(String queue, List<Pending> batch) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(batch, e);
+            return;
+        }
+        try {
+            senders.execute(() -> {
+                try {
+                    send(queue, batch);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            fail(batch, e);
+        }
+    }
+
+    private void send(String queue, List<Pending> batch) {
+        batchSize.record(batch.size());
+        List<Object> events = batch.stream().map(Pending::event).toList();
+        Set<Object> rejected = Collections.newSetFromMap(new IdentityHashMap<>());
+        long start = System.nanoTime();
+        try {
+            rejected.addAll(eventPublisher.publishBatch(queue, events));
+        } catch (Exception e) {
+            log.warn("Failed to send {} events to {}: {}", batch.size(), queue, e.getMessage());
+            fail(batch, e);
+            return;
+        } finally {
+            sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        for (Pending pending : batch) {
+            if (rejected.contains(pending.event())) {
+                pending.future().completeExceptionally(new IllegalStateException("Rejected by SQS"));
+            } else {
+                pending.future().complete(null);
+            }
+        }
+    }
+
+    private static void fail(List<Pending> batch, Exception e) {
+        batch.forEach(pending -> pending.future().completeExceptionally(e));
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        lingerScheduler.shutdownNow();
+        buffers.keySet().forEach(this::flush);
+        senders.shutdown();
+        senders.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -1,51 +1,159 @@
 package ai.nextintern.event;
 
+import ai.nextintern.event.dto.EventType;
 import ai.nextintern.event.dto.InternshipEvent;
+import ai.nextintern.service.IndexSyncService;
 import io.awspring.cloud.sqs.annotation.SqsListener;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps the search index in sync from the internship-events queue.
+ * <p>
+ * Messages arrive in batches (up to {@code max-messages-per-poll}), with up to
+ * {@code max-concurrent-messages} in flight per instance. Each batch is
+ * de-duplicated by eventId, collapsed to the latest event per internship, and
+ * applied as one fetch and one _bulk request. Redelivery is harmless: documents
+ * are re-read from Postgres and written with external versions.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class EventConsumer {
 
-    // Ideally, we would inject other services here (e.g., SearchService,
-    // NotificationService)
-    // private final SearchService searchService;
+    private static final int RECENT_EVENT_IDS = 10_000;
+
+    private final IndexSyncService indexSyncService;
+
+    /** Ids of events already applied, to drop SQS redeliveries cheaply. */
+    private final Map<UUID, Boolean> recentEventIds = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Boolean> eldest) {
+            return size() > RECENT_EVENT_IDS;
+        }
+    };
+
+    private final Counter appliedCounter;
+    private final Counter duplicateCounter;
+    private final Counter collapsedCounter;
+    private final Timer batchTimer;
+
+    public EventConsumer(IndexSyncService indexSyncService, MeterRegistry meterRegistry) {
+        this.indexSyncService = indexSyncService;
+        this.appliedCounter = Counter.builder("search.sync.events")
+                .tag("result", "applied")
+                .register(meterRegistry);
+        this.duplicateCounter = Counter.builder("search.sync.events")
+                .tag("result", "duplicate")
+                .register(meterRegistry);
+        this.collapsedCounter = Counter.builder("search.sync.events")
+                .tag("result", "collapsed")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("search.sync.batch")
+                .description("Time to apply one batch of internship events")
+                .register(meterRegistry);
+    }
 
-    @SqsListener("${app.events.queues.internship-events}")
-    public void consume(InternshipEvent event) {
-        log.info("Received event: {} of type {}", event.eventId(), event.eventType());
+    @SqsListener(value = "${app.events.queues.internship-events}",
+            maxConcurrentMessages = "${app.events.consumer.max-concurrent-messages:20}",
+            maxMessagesPerPoll = "${app.events.consumer.max-messages-per-poll:10}",
+            pollTimeoutSeconds = "${app.events.consumer.poll-timeout-seconds:5}")
+    public void consume(List<InternshipEvent> events) {
+        log.info("Received batch of {} internship events", events.size());
 
+        Timer.Sample sample = Timer.start();
         try {
-            switch (event.eventType()) {
-                case INTERNSHIP_CREATED:
-                case INTERNSHIP_UPDATED:
-                    handleInternshipUpdate(event);
-                    break;
-                case INTERNSHIP_DELETED:
-                    handleInternshipDeletion(event);
-                    break;
-                default:
-                    log.warn("Unknown event type: {}", event.eventType());
+            Map<UUID, InternshipEvent> latest = collapse(events);
+            if (latest.isEmpty()) {
+                return;
+            }
+
+            Map<UUID, IndexSyncService.Op> changes = new HashMap<>(latest.size());
+            latest.forEach((internshipId, event) -> changes.put(internshipId, toOp(event.eventType())));
+
+            Set<UUID> failed = indexSyncService.apply(changes);
+            if (!failed.isEmpty()) {
+                // Throwing leaves the whole batch unacknowledged, so SQS redelivers it (and DLQs it eventually)
+                throw new IllegalStateException("Failed to index internships " + failed);
             }
+
+            rememberApplied(events);
+            appliedCounter.increment(latest.size());
         } catch (Exception e) {
-            log.error("Error processing event {}", event.eventId(), e);
-            throw e; // Throwing exception triggers SQS retry/DLQ mechanism
+            log.error("Error processing batch of {} internship events", events.size(), e);
+            throw e;
+        } finally {
+            sample.stop(batchTimer);
+        }
+    }
+
+    /**
+     * Drops events already seen (in this batch or a recently applied one) and
+     * keeps the newest event per internship.
+     */
+    private Map<UUID, InternshipEvent> collapse(List<InternshipEvent> events) {
+        Map<UUID, InternshipEvent> latest = new HashMap<>();
+        Set<UUID> seen = new HashSet<>();
+        for (InternshipEvent event : events) {
+            if (event == null || event.internshipId() == null || event.eventType() == null) {
+                log.warn("Skipping malformed internship event {}", event);
+                continue;
+            }
+            if (event.eventId() != null && (!seen.add(event.eventId()) || alreadyApplied(event.eventId()))) {
+                duplicateCounter.increment();
+                continue;
+            }
+            InternshipEvent previous = latest.get(event.internshipId());
+            if (previous == null) {
+                latest.put(event.internshipId(), event);
+            } else {
+                collapsedCounter.increment();
+                InternshipEvent older = timestampOf(event).isBefore(timestampOf(previous)) ? event : previous;
+                InternshipEvent newer = older == event ? previous : event;
+                IndexSyncService.Op kept = IndexSyncService.Op.coalesce(toOp(older.eventType()),
+                        toOp(newer.eventType()));
+                latest.put(event.internshipId(), kept == toOp(newer.eventType()) ? newer : older);
+            }
+        }
+        return latest;
+    }
+
+    private boolean alreadyApplied(UUID eventId) {
+        synchronized (recentEventIds) {
+            return recentEventIds.containsKey(eventId);
+        }
+    }
+
+    private void rememberApplied(List<InternshipEvent> events) {
+        synchronized (recentEventIds) {
+            for (InternshipEvent event : events) {
+                if (event != null && event.eventId() != null) {
+                    recentEventIds.put(event.eventId(), Boolean.TRUE);
+                }
+            }
         }
     }
 
-    private void handleInternshipUpdate(InternshipEvent event) {
-        log.info("Processing internship update for ID: {}", event.internshipId());
-        // TODO: Implement actual logic (e.g., OpenSearch indexing)
-        // searchService.indexInternship(event.internshipId());
+    private static IndexSyncService.Op toOp(EventType type) {
+        return switch (type) {
+            case INTERNSHIP_DELETED -> IndexSyncService.Op.DELETE;
+            case INTERNSHIP_APPLICANT_COUNT_CHANGED -> IndexSyncService.Op.APPLICANT_COUNT;
+            default -> IndexSyncService.Op.UPSERT;
+        };
     }
 
-    private void handleInternshipDeletion(InternshipEvent event) {
-        log.info("Processing internship deletion for ID: {}", event.internshipId());
-        // TODO: Implement actual logic
-        // searchService.deleteInternship(event.internshipId());
+    private static Instant timestampOf(InternshipEvent event) {
+        return event.timestamp() != null ? event.timestamp() : Instant.EPOCH;
     }
 }
@@ -0,0 +1,73 @@
+package ai.nextintern.event;
+
+import ai.nextintern.dto.ApplicationEvent;
+import ai.nextintern.entity.OutboxEvent;
+import ai.nextintern.event.dto.InternshipEvent;
+import ai.nextintern.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Records events for SQS in the {@code outbox_events} table, in the caller's
+ * transaction, so an event exists exactly when the change it describes was
+ * committed. {@link OutboxRelay} sends them afterwards. Callers without a
+ * transaction get one of their own.
+ */
+@Component
+public class EventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.events.queues.internship-events}")
+    private String internshipEventsQueue;
+
+    @Value("${app.events.queues.application-events}")
+    private String applicationEventsQueue;
+
+    public EventOutbox(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional
+    public void add(InternshipEvent event) {
+        if (event.traceId() == null || event.traceId().isEmpty()) {
+            event = new InternshipEvent(event.eventId(), event.eventType(), event.internshipId(), event.timestamp(),
+                    currentTraceId(), event.payload());
+        }
+        save(internshipEventsQueue, event);
+    }
+
+    @Transactional
+    public void add(ApplicationEvent event) {
+        if (event.traceId() == null || event.traceId().isEmpty()) {
+            event = new ApplicationEvent(event.applicationId(), event.internshipId(), event.studentId(),
+                    event.eventType(), event.newStatus(), event.timestamp(), currentTraceId());
+        }
+        save(applicationEventsQueue, event);
+    }
+
+    private void save(String queue, Object event) {
+        try {
+            outboxEventRepository.save(OutboxEvent.builder()
+                    .queue(queue)
+                    .eventType(event.getClass().getSimpleName())
+                    .payload(objectMapper.writeValueAsString(event))
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + event.getClass().getSimpleName(), e);
+        }
+    }
+
+    private static String currentTraceId() {
+        String traceId = MDC.get("traceId");
+        return traceId != null ? traceId : UUID.randomUUID().toString();
+    }
+}
@@ -1,13 +1,20 @@
 package ai.nextintern.event;
 
 import ai.nextintern.event.dto.InternshipEvent;
+import io.awspring.cloud.sqs.operations.SendBatchOperationFailedException;
+import io.awspring.cloud.sqs.operations.SendResult;
 import io.awspring.cloud.sqs.operations.SqsTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Slf4j
@@ -85,4 +92,28 @@ public class EventPublisher {
             throw e;
         }
     }
+
+    /**
+     * Sends up to 10 events to {@code queue} in one SendMessageBatch and returns
+     * the ones SQS rejected. Throws if the request as a whole fails.
+     */
+    public <T> List<T> publishBatch(String queue, List<T> events) {
+        Map<UUID, T> byMessageId = new HashMap<>();
+        List<Message<T>> messages = events.stream().map(event -> {
+            Message<T> message = MessageBuilder.withPayload(event).build();
+            byMessageId.put(message.getHeaders().getId(), event);
+            return message;
+        }).toList();
+
+        SendResult.Batch<?> result;
+        try {
+            result = sqsTemplate.sendMany(queue, messages);
+        } catch (SendBatchOperationFailedException e) {
+            result = e.getSendBatchResult();
+        }
+        log.debug("Published batch of {} to queue {} ({} failed)", events.size(), queue, result.failed().size());
+        return result.failed().stream()
+                .map(failed -> byMessageId.get(failed.message().getHeaders().getId()))
+                .toList();
+    }
 }
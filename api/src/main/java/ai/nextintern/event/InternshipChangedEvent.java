@@ -0,0 +1,42 @@
+package ai.nextintern.event;
+
+import ai.nextintern.event.dto.EventType;
+
+import java.util.UUID;
+
+/**
+ * In-process signal that an internship row changed and its search document
+ * needs to follow. Published inside the writing transaction and only acted on
+ * once that transaction commits.
+ */
+public record InternshipChangedEvent(UUID internshipId, EventType type) {
+
+    public static InternshipChangedEvent created(UUID internshipId) {
+        return new InternshipChangedEvent(internshipId, EventType.INTERNSHIP_CREATED);
+    }
+
+    public static InternshipChangedEvent updated(UUID internshipId) {
+        return new InternshipChangedEvent(internshipId, EventType.INTERNSHIP_UPDATED);
+    }
+
+    /**
+     * An application was created or left the active states. The search
+     * document has to pick up the new count, but nothing that is searched,
+     * filtered or recommended on changed.
+     */
+    public static InternshipChangedEvent applicantCountChanged(UUID internshipId) {
+        return new InternshipChangedEvent(internshipId, EventType.INTERNSHIP_APPLICANT_COUNT_CHANGED);
+    }
+
+    public static InternshipChangedEvent deleted(UUID internshipId) {
+        return new InternshipChangedEvent(internshipId, EventType.INTERNSHIP_DELETED);
+    }
+
+    public boolean deleted() {
+        return type == EventType.INTERNSHIP_DELETED;
+    }
+
+    public boolean applicantCountOnly() {
+        return type == EventType.INTERNSHIP_APPLICANT_COUNT_CHANGED;
+    }
+}
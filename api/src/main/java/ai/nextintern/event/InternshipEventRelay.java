@@ -0,0 +1,38 @@
+package ai.nextintern.event;
+
+import ai.nextintern.event.dto.InternshipEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * In {@code sqs} sync mode, turns internship changes into
+ * {@link InternshipEvent}s so indexing happens in {@link EventConsumer},
+ * off the request path and on whichever instance picks the message up.
+ * Events go through the {@link EventOutbox} in the change's own transaction,
+ * so an event is recorded exactly when the change commits.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.search.sync-mode", havingValue = "sqs")
+public class InternshipEventRelay {
+
+    private final EventOutbox eventOutbox;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onInternshipChanged(InternshipChangedEvent change) {
+        InternshipEvent event = new InternshipEvent(
+                UUID.randomUUID(),
+                change.type(),
+                change.internshipId(),
+                Instant.now(),
+                null,
+                null);
+        eventOutbox.add(event);
+    }
+}
@@ -0,0 +1,206 @@
+package ai.nextintern.event;
+
+import ai.nextintern.dto.ApplicationEvent;
+import ai.nextintern.entity.OutboxEvent;
+import ai.nextintern.event.dto.InternshipEvent;
+import ai.nextintern.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains {@code outbox_events} into SQS.
+ * <p>
+ * Each pass claims up to {@code batch-size} of the oldest due rows: it locks
+ * them with {@code FOR UPDATE SKIP LOCKED}, pushes their
+ * {@code next_attempt_at} out by {@code claim-timeout} and commits, so
+ * replicas never send the same row concurrently and no transaction stays open
+ * during the send. The rows go to the {@link EventBatcher}, which sends them
+ * per queue in SendMessageBatch requests of up to 10, several at once. Sends
+ * still pending after {@code send-timeout} count as failed. Sent rows are
+ * then deleted; failed ones keep their place with an attempt count and back
+ * off exponentially from {@code retry-backoff} up to
+ * {@code max-retry-backoff}, and are retried for as long as it takes. A crash
+ * after the claim leaves the rows to be resent once the claim lapses;
+ * consumers de-duplicate by event id or re-read state, so delivery is at
+ * least once.
+ * <p>
+ * Passes repeat while full batches keep coming, and otherwise wait
+ * {@code poll-interval}. {@code events.outbox.lag} times each event from
+ * its commit to its send.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private static final Map<String, Class<?>> EVENT_TYPES = Map.of(
+            InternshipEvent.class.getSimpleName(), InternshipEvent.class,
+            ApplicationEvent.class.getSimpleName(), ApplicationEvent.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final EventBatcher eventBatcher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate tx;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "outbox-relay");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Timer lagTimer;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+
+    @Value("${app.events.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.events.outbox.claim-timeout:60s}")
+    private Duration claimTimeout;
+
+    @Value("${app.events.outbox.send-timeout:20s}")
+    private Duration sendTimeout;
+
+    @Value("${app.events.outbox.retry-backoff:1s}")
+    private Duration retryBackoff;
+
+    @Value("${app.events.outbox.max-retry-backoff:5m}")
+    private Duration maxRetryBackoff;
+
+    @Value("${app.events.outbox.poll-interval:500ms}")
+    private Duration pollInterval;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+            EventBatcher eventBatcher,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventBatcher = eventBatcher;
+        this.objectMapper = objectMapper;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.lagTimer = Timer.builder("events.outbox.lag")
+                .description("Time from an event's commit to its send to SQS")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("events.outbox.events")
+                .tag("result", "sent")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("events.outbox.events")
+                .tag("result", "failed")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler.scheduleWithFixedDelay(this::tick, pollInterval.toMillis(), pollInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void tick() {
+        try {
+            while (relayOnce()) {
+                // Keep draining while passes come back full and clean
+            }
+        } catch (Exception e) {
+            log.error("Outbox relay pass failed", e);
+        }
+    }
+
+    /** Sends one batch of due events; true when another pass should follow immediately. */
+    boolean relayOnce() {
+        // Claim in a short transaction of its own so no row locks or connection are held while SQS answers
+        List<OutboxEvent> rows = tx.execute(status -> {
+            List<OutboxEvent> due = outboxEventRepository.lockNextBatch(batchSize);
+            if (!due.isEmpty()) {
+                outboxEventRepository.claim(due.stream().map(OutboxEvent::getId).toList(), claimTimeout.toMillis());
+            }
+            return due;
+        });
+        if (rows == null || rows.isEmpty()) {
+            return false;
+        }
+        Map<OutboxEvent, CompletableFuture<Void>> sends = new LinkedHashMap<>();
+        for (OutboxEvent row : rows) {
+            sends.put(row, send(row));
+        }
+        // Nothing else is coming for this pass, so don't wait out the linger
+        rows.stream().map(OutboxEvent::getQueue).distinct().forEach(eventBatcher::flush);
+        CompletableFuture.allOf(sends.values().toArray(CompletableFuture[]::new))
+                .exceptionally(e -> null)
+                .completeOnTimeout(null, sendTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .join();
+
+        List<Long> sent = new ArrayList<>();
+        Map<String, List<OutboxEvent>> failedByError = new LinkedHashMap<>();
+        Instant now = Instant.now();
+        sends.forEach((row, future) -> {
+            if (future.state() == Future.State.SUCCESS) {
+                sent.add(row.getId());
+                lagTimer.record(Duration.between(row.getCreatedAt(), now));
+                return;
+            }
+            String error = future.state() == Future.State.FAILED
+                    ? String.valueOf(future.exceptionNow().getMessage())
+                    : "Send timed out after " + sendTimeout;
+            failedByError.computeIfAbsent(error, k -> new ArrayList<>()).add(row);
+        });
+        tx.executeWithoutResult(status -> {
+            if (!sent.isEmpty()) {
+                outboxEventRepository.deleteByIdIn(sent);
+            }
+            failedByError.forEach((error, failed) -> outboxEventRepository.markFailed(
+                    failed.stream().map(OutboxEvent::getId).toList(), error,
+                    retryBackoff.toMillis(), maxRetryBackoff.toMillis()));
+        });
+        failedByError.forEach((error, failed) -> {
+            log.warn("Outbox send failed for {} events (up to attempt {}), backing off: {}", failed.size(),
+                    failed.stream().mapToInt(OutboxEvent::getAttempts).max().orElse(0) + 1, error);
+            failedCounter.increment(failed.size());
+        });
+        sentCounter.increment(sent.size());
+        return rows.size() == batchSize && sent.size() == rows.size();
+    }
+
+    private CompletableFuture<Void> send(OutboxEvent row) {
+        Object event;
+        try {
+            event = objectMapper.readValue(row.getPayload(), eventType(row));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Unreadable event: " + e.getMessage(), e));
+        }
+        return eventBatcher.submit(row.getQueue(), event);
+    }
+
+    private static Class<?> eventType(OutboxEvent row) {
+        Class<?> type = EVENT_TYPES.get(row.getEventType());
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown event type " + row.getEventType());
+        }
+        return type;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,10 @@
+package ai.nextintern.event;
+
+import ai.nextintern.entity.Skill;
+
+/**
+ * In-process signal that a transaction inserted a new skill. Applied to the
+ * {@link ai.nextintern.service.SkillDictionary} once that transaction commits.
+ */
+public record SkillCreatedEvent(Skill skill) {
+}
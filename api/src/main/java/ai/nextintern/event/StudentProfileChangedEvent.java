@@ -0,0 +1,11 @@
+package ai.nextintern.event;
+
+import java.util.UUID;
+
+/**
+ * In-process signal that a student's profile or skills changed, so anything
+ * derived from it (cached recommendations) is stale. Published inside the
+ * writing transaction and only acted on once that transaction commits.
+ */
+public record StudentProfileChangedEvent(UUID userId) {
+}
@@ -3,5 +3,7 @@ package ai.nextintern.event.dto;
 public enum EventType {
     INTERNSHIP_CREATED,
     INTERNSHIP_UPDATED,
+    /** Only the denormalized applicant count moved. */
+    INTERNSHIP_APPLICANT_COUNT_CHANGED,
     INTERNSHIP_DELETED
 }
@@ -0,0 +1,193 @@
+package ai.nextintern.recs;
+
+import ai.nextintern.entity.Internship;
+import ai.nextintern.entity.InternshipSkill;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable, column-oriented copy of the active internship catalog.
+ * <p>
+ * Internship {@code i} occupies row {@code i} of every array. Its skills are
+ * the slice {@code skillIds[skillStart[i] .. skillStart[i + 1])}, sorted by
+ * skill id, with the importance weight of each in {@code skillWeights}. City,
+ * state and category are interned to int codes (case-folded, {@code -1} when
+ * absent) so matching is an int compare.
+ * <p>
+ * For candidate generation the same data is also inverted: {@link PostingIndex}es
+ * from skill id, city, state and category code to rows, the remote rows, and
+ * all rows ordered newest first.
+ */
+final class CatalogSnapshot {
+
+    static final CatalogSnapshot EMPTY = build(List.of());
+
+    static final float REQUIRED = 1.0f;
+    static final float PREFERRED = 0.6f;
+    static final float BONUS = 0.3f;
+
+    final int size;
+    final UUID[] ids;
+    final UUID[] providerIds;
+    final int[] skillStart;
+    final int[] skillIds;
+    final float[] skillWeights;
+    final float[] totalSkillWeight;
+    final int[] cityCode;
+    final int[] stateCode;
+    final int[] categoryCode;
+    final boolean[] remote;
+    final long[] createdEpochDay;
+    final int maxSkillId;
+
+    final PostingIndex skillPostings;
+    final PostingIndex cityPostings;
+    final PostingIndex statePostings;
+    final PostingIndex categoryPostings;
+    final int[] remoteRows;
+    final int[] byRecency;
+
+    /** Display values, only read when building explanations for the top results. */
+    final String[] cities;
+    final String[] categories;
+    final Map<Integer, String> skillNames;
+    final Map<String, Integer> codes;
+
+    private CatalogSnapshot(int size, UUID[] ids, UUID[] providerIds, int[] skillStart, int[] skillIds,
+            float[] skillWeights, float[] totalSkillWeight, int[] cityCode, int[] stateCode, int[] categoryCode,
+            boolean[] remote, long[] createdEpochDay, int maxSkillId, String[] cities, String[] categories,
+            Map<Integer, String> skillNames, Map<String, Integer> codes) {
+        this.size = size;
+        this.ids = ids;
+        this.providerIds = providerIds;
+        this.skillStart = skillStart;
+        this.skillIds = skillIds;
+        this.skillWeights = skillWeights;
+        this.totalSkillWeight = totalSkillWeight;
+        this.cityCode = cityCode;
+        this.stateCode = stateCode;
+        this.categoryCode = categoryCode;
+        this.remote = remote;
+        this.createdEpochDay = createdEpochDay;
+        this.maxSkillId = maxSkillId;
+        this.skillPostings = PostingIndex.build(size == 0 ? 0 : maxSkillId + 1, size, (row, key) -> {
+            for (int k = skillStart[row]; k < skillStart[row + 1]; k++) {
+                key.accept(skillIds[k]);
+            }
+        });
+        this.cityPostings = codePostings(codes.size(), cityCode);
+        this.statePostings = codePostings(codes.size(), stateCode);
+        this.categoryPostings = codePostings(codes.size(), categoryCode);
+        this.remoteRows = IntStream.range(0, size).filter(row -> remote[row]).toArray();
+        this.byRecency = IntStream.range(0, size).boxed()
+                .sorted(Comparator.comparingLong((Integer row) -> createdEpochDay[row]).reversed())
+                .mapToInt(Integer::intValue)
+                .toArray();
+        this.cities = cities;
+        this.categories = categories;
+        this.skillNames = skillNames;
+        this.codes = codes;
+    }
+
+    /** Expects skills (and their Skill rows) and the provider to be loaded. */
+    static CatalogSnapshot build(List<Internship> internships) {
+        int n = internships.size();
+        UUID[] ids = new UUID[n];
+        UUID[] providerIds = new UUID[n];
+        int[] skillStart = new int[n + 1];
+        float[] totalSkillWeight = new float[n];
+        int[] cityCode = new int[n];
+        int[] stateCode = new int[n];
+        int[] categoryCode = new int[n];
+        boolean[] remote = new boolean[n];
+        long[] createdEpochDay = new long[n];
+        String[] cities = new String[n];
+        String[] categories = new String[n];
+        Map<Integer, String> skillNames = new HashMap<>();
+        Map<String, Integer> codes = new HashMap<>();
+
+        List<InternshipSkill> flat = new ArrayList<>();
+        int maxSkillId = 0;
+        for (int i = 0; i < n; i++) {
+            Internship internship = internships.get(i);
+            ids[i] = internship.getId();
+            providerIds[i] = internship.getProvider() != null ? internship.getProvider().getId() : null;
+            cityCode[i] = code(codes, internship.getLocationCity());
+            stateCode[i] = code(codes, internship.getLocationState());
+            categoryCode[i] = code(codes, internship.getCategory());
+            remote[i] = "remote".equals(internship.getWorkMode());
+            createdEpochDay[i] = internship.getCreatedAt() != null
+                    ? LocalDate.ofInstant(internship.getCreatedAt(), ZoneOffset.UTC).toEpochDay()
+                    : Long.MIN_VALUE;
+            cities[i] = internship.getLocationCity();
+            categories[i] = internship.getCategory();
+
+            List<InternshipSkill> skills = new ArrayList<>(internship.getSkills());
+            skills.sort(Comparator.comparing(is -> is.getSkill().getId()));
+            skillStart[i] = flat.size();
+            float total = 0f;
+            for (InternshipSkill is : skills) {
+                flat.add(is);
+                total += importanceWeight(is.getImportance());
+                skillNames.putIfAbsent(is.getSkill().getId(), is.getSkill().getName());
+                maxSkillId = Math.max(maxSkillId, is.getSkill().getId());
+            }
+            totalSkillWeight[i] = total;
+        }
+        skillStart[n] = flat.size();
+
+        int[] skillIds = new int[flat.size()];
+        float[] skillWeights = new float[flat.size()];
+        for (int k = 0; k < flat.size(); k++) {
+            skillIds[k] = flat.get(k).getSkill().getId();
+            skillWeights[k] = importanceWeight(flat.get(k).getImportance());
+        }
+
+        return new CatalogSnapshot(n, ids, providerIds, skillStart, skillIds, skillWeights, totalSkillWeight,
+                cityCode, stateCode, categoryCode, remote, createdEpochDay, maxSkillId, cities, categories,
+                Map.copyOf(skillNames), Map.copyOf(codes));
+    }
+
+    /** Code for a case-folded value, or -1 if the catalog never contains it. */
+    int codeOf(String value) {
+        if (value == null || value.isBlank()) {
+            return -1;
+        }
+        return codes.getOrDefault(value.toLowerCase(Locale.ROOT), -1);
+    }
+
+    private static PostingIndex codePostings(int keySpace, int[] codeByRow) {
+        return PostingIndex.build(keySpace, codeByRow.length, (row, key) -> {
+            if (codeByRow[row] >= 0) {
+                key.accept(codeByRow[row]);
+            }
+        });
+    }
+
+    static float importanceWeight(String importance) {
+        if (importance == null) {
+            return BONUS;
+        }
+        return switch (importance) {
+            case "required" -> REQUIRED;
+            case "preferred" -> PREFERRED;
+            default -> BONUS;
+        };
+    }
+
+    private static int code(Map<String, Integer> codes, String value) {
+        if (value == null || value.isBlank()) {
+            return -1;
+        }
+        return codes.computeIfAbsent(value.toLowerCase(Locale.ROOT), k -> codes.size());
+    }
+}
@@ -0,0 +1,388 @@
+package ai.nextintern.recs;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process port of the recs service's content scorer
+ * ({@code recs/app/engine/content_scorer.py}):
+ * <pre>
+ *   score = 0.5 * skill + 0.2 * location + 0.2 * interest + 0.1 * recency
+ * </pre>
+ * where {@code skill} is the importance-weighted overlap scaled by the
+ * student's proficiency, {@code location} is 1 for remote or same city and 0.5
+ * for same state, {@code interest} is 1 when the category is one of the
+ * student's interests, and {@code recency} decays linearly over 30 days.
+ * <p>
+ * Candidates come from the {@link CatalogSnapshot} posting lists (see
+ * {@link #topK}); each is scored against the profile compiled into a dense
+ * proficiency array indexed by skill id, and the top {@code limit} rows are
+ * kept in a small heap. Only those rows get an explanation. Responses have the
+ * recs service's shape.
+ */
+@Service
+public class ContentScorer {
+
+    public static final String MODEL_VERSION = "content-local-v1";
+
+    private static final float W_SKILL = 0.5f;
+    private static final float W_LOCATION = 0.2f;
+    private static final float W_INTEREST = 0.2f;
+    private static final float W_RECENCY = 0.1f;
+    private static final int RECENCY_DAYS = 30;
+
+    private final InternshipCatalog catalog;
+    private final Timer scoreTimer;
+    private final Timer generateTimer;
+    private final Timer candidateScoreTimer;
+    private final Timer backfillTimer;
+    private final DistributionSummary candidateSummary;
+
+    public ContentScorer(InternshipCatalog catalog, MeterRegistry meterRegistry) {
+        this.catalog = catalog;
+        this.scoreTimer = Timer.builder("recs.local.score")
+                .description("Time to rank the local catalog for one profile")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.generateTimer = stageTimer(meterRegistry, "generate");
+        this.candidateScoreTimer = stageTimer(meterRegistry, "score");
+        this.backfillTimer = stageTimer(meterRegistry, "backfill");
+        this.candidateSummary = DistributionSummary.builder("recs.local.candidates")
+                .description("Internships scored per request after candidate generation")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    private static Timer stageTimer(MeterRegistry meterRegistry, String stage) {
+        return Timer.builder("recs.local.stage")
+                .tag("stage", stage)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    public JsonNode recommend(RecommendationProfile profile, Collection<UUID> excludeIds, int limit) {
+        long start = System.nanoTime();
+        Scoring scoring = new Scoring(catalog.snapshot(), profile);
+        int[] top = topK(scoring, excludeIds, limit);
+        long elapsed = System.nanoTime() - start;
+        scoreTimer.record(elapsed, TimeUnit.NANOSECONDS);
+
+        ObjectNode response = JsonNodeFactory.instance.objectNode();
+        ArrayNode items = response.putArray("items");
+        for (int row : top) {
+            items.add(scoring.item(row));
+        }
+        response.put("model_version", MODEL_VERSION);
+        response.put("cold_start", profile.skills().isEmpty());
+        response.put("strategy", "content_local");
+        response.put("latency_ms", TimeUnit.NANOSECONDS.toMillis(elapsed));
+        response.putObject("fairness_metrics");
+        return response;
+    }
+
+    /**
+     * Rows of the best {@code limit} internships, best first, in three stages:
+     * <ol>
+     * <li>generate: union of the posting lists for the student's skills,
+     * city, state, interests and remote rows. Every internship that can score
+     * on skill, location or interest is in this set.</li>
+     * <li>score: only those candidates are scored, into a top-K heap.</li>
+     * <li>backfill: any other internship scores exactly {@code 0.1 * recency}.
+     * Those are walked newest first and the walk stops as soon as the next one
+     * cannot beat the weakest of the current top K.</li>
+     * </ol>
+     * The result is the same as scoring the whole catalog.
+     */
+    int[] topK(Scoring scoring, Collection<UUID> excludeIds, int limit) {
+        CatalogSnapshot c = scoring.c;
+        int k = Math.min(limit, c.size);
+        if (k <= 0) {
+            return new int[0];
+        }
+        Set<UUID> exclude = excludeIds.isEmpty() ? Set.of() : new HashSet<>(excludeIds);
+
+        long t0 = System.nanoTime();
+        long[] candidates = scoring.candidates();
+        long t1 = System.nanoTime();
+
+        TopK top = new TopK(k);
+        int candidateCount = 0;
+        for (int word = 0; word < candidates.length; word++) {
+            long bits = candidates[word];
+            while (bits != 0) {
+                int row = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                candidateCount++;
+                float score = scoring.score(row);
+                if (top.accepts(score) && (exclude.isEmpty() || !exclude.contains(c.ids[row]))) {
+                    top.offer(row, score);
+                }
+            }
+        }
+        long t2 = System.nanoTime();
+
+        for (int row : c.byRecency) {
+            if ((candidates[row >>> 6] & (1L << row)) != 0) {
+                continue;
+            }
+            float score = W_RECENCY * scoring.recency(row);
+            if (!top.accepts(score)) {
+                break;
+            }
+            if (exclude.isEmpty() || !exclude.contains(c.ids[row])) {
+                top.offer(row, score);
+            }
+        }
+        long t3 = System.nanoTime();
+
+        generateTimer.record(t1 - t0, TimeUnit.NANOSECONDS);
+        candidateScoreTimer.record(t2 - t1, TimeUnit.NANOSECONDS);
+        backfillTimer.record(t3 - t2, TimeUnit.NANOSECONDS);
+        candidateSummary.record(candidateCount);
+        return top.drain();
+    }
+
+    /** Min-heap over (row, score): the root is the weakest of the current top K. */
+    private static final class TopK {
+
+        private final int[] rows;
+        private final float[] scores;
+        private int size;
+
+        TopK(int k) {
+            this.rows = new int[k];
+            this.scores = new float[k];
+        }
+
+        boolean accepts(float score) {
+            return size < rows.length || score > scores[0];
+        }
+
+        void offer(int row, float score) {
+            if (size < rows.length) {
+                rows[size] = row;
+                scores[size] = score;
+                siftUp(size++);
+            } else {
+                rows[0] = row;
+                scores[0] = score;
+                siftDown(size);
+            }
+        }
+
+        /** Empties the heap, returning its rows best first. */
+        int[] drain() {
+            int[] ordered = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                ordered[i] = rows[0];
+                rows[0] = rows[i];
+                scores[0] = scores[i];
+                siftDown(i);
+            }
+            size = 0;
+            return ordered;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (scores[parent] <= scores[i]) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int limit) {
+            int i = 0;
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= limit) {
+                    return;
+                }
+                int smallest = left + 1 < limit && scores[left + 1] < scores[left] ? left + 1 : left;
+                if (scores[i] <= scores[smallest]) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int row = rows[a];
+            rows[a] = rows[b];
+            rows[b] = row;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+
+    /** A profile compiled against one snapshot. */
+    static final class Scoring {
+
+        private final CatalogSnapshot c;
+        /** Proficiency / 5 by skill id; 0 where the student lacks the skill. */
+        private final float[] proficiency;
+        private final int[] skillIds;
+        private final int city;
+        private final int state;
+        private final boolean[] interestCodes;
+        private final long today = LocalDate.now(ZoneOffset.UTC).toEpochDay();
+
+        Scoring(CatalogSnapshot c, RecommendationProfile profile) {
+            this.c = c;
+            this.proficiency = new float[c.maxSkillId + 1];
+            this.skillIds = profile.skills().stream()
+                    .map(RecommendationProfile.SkillLevel::skillId)
+                    .filter(id -> id != null && id <= c.maxSkillId)
+                    .mapToInt(Integer::intValue)
+                    .distinct()
+                    .toArray();
+            for (RecommendationProfile.SkillLevel skill : profile.skills()) {
+                if (skill.skillId() != null && skill.skillId() <= c.maxSkillId) {
+                    proficiency[skill.skillId()] = skill.proficiency() / 5.0f;
+                }
+            }
+            this.city = c.codeOf(profile.locationCity());
+            this.state = c.codeOf(profile.locationState());
+            this.interestCodes = new boolean[c.codes.size()];
+            for (String interest : profile.interests()) {
+                int code = c.codeOf(interest);
+                if (code >= 0) {
+                    interestCodes[code] = true;
+                }
+            }
+        }
+
+        /** Bitset over catalog rows that share a skill, location or interest with the profile. */
+        long[] candidates() {
+            long[] rows = new long[(c.size + 63) >>> 6];
+            for (int skillId : skillIds) {
+                c.skillPostings.unionInto(skillId, rows);
+            }
+            c.cityPostings.unionInto(city, rows);
+            c.statePostings.unionInto(state, rows);
+            for (int code = 0; code < interestCodes.length; code++) {
+                if (interestCodes[code]) {
+                    c.categoryPostings.unionInto(code, rows);
+                }
+            }
+            for (int row : c.remoteRows) {
+                rows[row >>> 6] |= 1L << row;
+            }
+            return rows;
+        }
+
+        float score(int row) {
+            return W_SKILL * skill(row) + W_LOCATION * location(row) + W_INTEREST * interest(row)
+                    + W_RECENCY * recency(row);
+        }
+
+        float skill(int row) {
+            float total = c.totalSkillWeight[row];
+            if (total == 0f) {
+                return 0f;
+            }
+            float matched = 0f;
+            for (int k = c.skillStart[row], end = c.skillStart[row + 1]; k < end; k++) {
+                matched += c.skillWeights[k] * proficiency[c.skillIds[k]];
+            }
+            return matched / total;
+        }
+
+        float location(int row) {
+            if (c.remote[row]) {
+                return 1f;
+            }
+            if (city >= 0 && c.cityCode[row] == city) {
+                return 1f;
+            }
+            return state >= 0 && c.stateCode[row] == state ? 0.5f : 0f;
+        }
+
+        float interest(int row) {
+            int category = c.categoryCode[row];
+            return category >= 0 && interestCodes[category] ? 1f : 0f;
+        }
+
+        float recency(int row) {
+            long daysOld = today - c.createdEpochDay[row];
+            if (daysOld <= 0) {
+                return c.createdEpochDay[row] == Long.MIN_VALUE ? 0f : 1f;
+            }
+            return daysOld > RECENCY_DAYS ? 0f : 1f - (float) daysOld / RECENCY_DAYS;
+        }
+
+        ObjectNode item(int row) {
+            float skill = skill(row);
+            float location = location(row);
+            float score = score(row);
+
+            List<String> matched = new ArrayList<>();
+            List<String> missing = new ArrayList<>();
+            for (int k = c.skillStart[row], end = c.skillStart[row + 1]; k < end; k++) {
+                String name = c.skillNames.get(c.skillIds[k]);
+                (proficiency[c.skillIds[k]] > 0f ? matched : missing).add(name);
+            }
+
+            ObjectNode item = JsonNodeFactory.instance.objectNode();
+            item.put("internship_id", c.ids[row].toString());
+            if (c.providerIds[row] != null) {
+                item.put("provider_id", c.providerIds[row].toString());
+            }
+            item.put("score", round(score, 4));
+            ObjectNode explanation = item.putObject("explanation");
+            matched.forEach(explanation.putArray("matchedSkills")::add);
+            missing.forEach(explanation.putArray("missingSkills")::add);
+            explanation.put("matchScore", round(skill, 3));
+            explanation.put("skillOverlapScore", round(skill, 3));
+            explanation.put("locationMatch", location > 0f);
+            ArrayNode interests = explanation.putArray("interestOverlap");
+            if (interest(row) > 0f) {
+                interests.add(c.categories[row]);
+            }
+            explanation.put("finalScore", round(score, 3));
+            explanation.put("reason", reason(row, matched, skill, location));
+            return item;
+        }
+
+        private String reason(int row, List<String> matched, float skill, float location) {
+            List<String> parts = new ArrayList<>();
+            if (!matched.isEmpty()) {
+                parts.add("Matched skills " + String.join(", ", matched) + " (" + (int) (skill * 100) + "% overlap)");
+            }
+            if (location > 0f) {
+                parts.add(c.remote[row] ? "Remote work available"
+                        : "Located in your area (" + (c.cities[row] != null ? c.cities[row] : "") + ")");
+            }
+            if (parts.isEmpty()) {
+                parts.add("Trending internship in your field");
+            }
+            return String.join(". ", parts) + ".";
+        }
+
+        private static double round(float value, int places) {
+            double scale = Math.pow(10, places);
+            return Math.round(value * scale) / scale;
+        }
+    }
+}
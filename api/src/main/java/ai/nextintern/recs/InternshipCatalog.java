@@ -0,0 +1,115 @@
+package ai.nextintern.recs;
+
+import ai.nextintern.entity.Internship;
+import ai.nextintern.event.InternshipChangedEvent;
+import ai.nextintern.repository.InternshipRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the active internship catalog in memory for local scoring.
+ * <p>
+ * The snapshot is rebuilt from Postgres in the background: within
+ * {@code refresh-interval-seconds} of a committed internship change, and at
+ * least every {@code max-age-seconds} so that expiring deadlines drop out.
+ * Readers just take the current snapshot.
+ */
+@Service
+public class InternshipCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(InternshipCatalog.class);
+    private static final int LOAD_CHUNK = 500;
+
+    private final InternshipRepository internshipRepository;
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "internship-catalog-refresh");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile CatalogSnapshot snapshot = CatalogSnapshot.EMPTY;
+    private volatile boolean dirty = true;
+    private volatile long loadedAt;
+
+    @Value("${app.recs.local.refresh-interval-seconds:30}")
+    private long refreshIntervalSeconds;
+
+    @Value("${app.recs.local.max-age-seconds:300}")
+    private long maxAgeSeconds;
+
+    public InternshipCatalog(InternshipRepository internshipRepository, MeterRegistry meterRegistry) {
+        this.internshipRepository = internshipRepository;
+        Gauge.builder("recs.local.catalog.size", this, c -> c.snapshot.size)
+                .description("Active internships held by the in-process recommendation engine")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        refresher.scheduleWithFixedDelay(this::refreshIfDue, 0, refreshIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    CatalogSnapshot snapshot() {
+        return snapshot;
+    }
+
+    public int size() {
+        return snapshot.size;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onInternshipChanged(InternshipChangedEvent event) {
+        // The scorer doesn't read applicant counts, so applies don't need a reload
+        if (!event.applicantCountOnly()) {
+            dirty = true;
+        }
+    }
+
+    public void reload() {
+        List<UUID> ids = internshipRepository.findActiveIds();
+        List<Internship> internships = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += LOAD_CHUNK) {
+            internships.addAll(internshipRepository.findAllWithSkillsByIdIn(
+                    ids.subList(from, Math.min(from + LOAD_CHUNK, ids.size()))));
+        }
+        snapshot = CatalogSnapshot.build(internships);
+        loadedAt = System.currentTimeMillis();
+        logger.debug("Internship catalog loaded: {} active internships, {} skill postings",
+                snapshot.size, snapshot.skillIds.length);
+    }
+
+    private void refreshIfDue() {
+        boolean stale = System.currentTimeMillis() - loadedAt > TimeUnit.SECONDS.toMillis(maxAgeSeconds);
+        if (!dirty && !stale) {
+            return;
+        }
+        // Cleared first so that a change arriving mid-load triggers another pass
+        dirty = false;
+        try {
+            reload();
+        } catch (Exception e) {
+            dirty = true;
+            logger.warn("Internship catalog refresh failed; keeping the previous snapshot", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+}
@@ -0,0 +1,120 @@
+package ai.nextintern.recs;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Inverted index from a dense int key (skill id, location or category code)
+ * to the ascending catalog rows that carry it.
+ * <p>
+ * Each posting list is stored as variable-length deltas in one shared byte
+ * array: a row gap under 128 takes a single byte, so the skill postings of a
+ * catalog of a few thousand internships fit in a few kilobytes.
+ */
+final class PostingIndex {
+
+    /** Emits the keys of one row; keys of a row may repeat. */
+    @FunctionalInterface
+    interface RowKeys {
+        void forEach(int row, IntConsumer key);
+    }
+
+    static final PostingIndex EMPTY = new PostingIndex(new int[] { 0 }, new int[0], new byte[0]);
+
+    private final int[] start;
+    private final int[] count;
+    private final byte[] data;
+
+    private PostingIndex(int[] start, int[] count, byte[] data) {
+        this.start = start;
+        this.count = count;
+        this.data = data;
+    }
+
+    static PostingIndex build(int keySpace, int rows, RowKeys keys) {
+        if (keySpace <= 0) {
+            return EMPTY;
+        }
+        int[] count = new int[keySpace];
+        int[] lastRow = new int[keySpace];
+        Arrays.fill(lastRow, -1);
+        for (int row = 0; row < rows; row++) {
+            final int r = row;
+            keys.forEach(row, key -> {
+                if (lastRow[key] != r) {
+                    lastRow[key] = r;
+                    count[key]++;
+                }
+            });
+        }
+
+        int[][] lists = new int[keySpace][];
+        for (int key = 0; key < keySpace; key++) {
+            lists[key] = new int[count[key]];
+        }
+        int[] filled = new int[keySpace];
+        Arrays.fill(lastRow, -1);
+        for (int row = 0; row < rows; row++) {
+            final int r = row;
+            keys.forEach(row, key -> {
+                if (lastRow[key] != r) {
+                    lastRow[key] = r;
+                    lists[key][filled[key]++] = r;
+                }
+            });
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int[] start = new int[keySpace + 1];
+        for (int key = 0; key < keySpace; key++) {
+            start[key] = out.size();
+            int previous = -1;
+            for (int row : lists[key]) {
+                writeVarInt(out, row - previous);
+                previous = row;
+            }
+        }
+        start[keySpace] = out.size();
+        return new PostingIndex(start, count, out.toByteArray());
+    }
+
+    /** Number of rows carrying {@code key}; 0 for keys outside the index. */
+    int size(int key) {
+        return key >= 0 && key < count.length ? count[key] : 0;
+    }
+
+    /** Marks every row carrying {@code key} in {@code rows}, a bitset over catalog rows. */
+    void unionInto(int key, long[] rows) {
+        if (key < 0 || key >= count.length) {
+            return;
+        }
+        int pos = start[key];
+        int end = start[key + 1];
+        int row = -1;
+        while (pos < end) {
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[pos++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            row += delta;
+            rows[row >>> 6] |= 1L << row;
+        }
+    }
+
+    int bytes() {
+        return data.length;
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+}
@@ -0,0 +1,77 @@
+package ai.nextintern.recs;
+
+import ai.nextintern.entity.StudentProfile;
+import ai.nextintern.repository.StudentProfileView;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * The parts of a student profile that recommendations are scored on.
+ *
+ * @param skills skill id, name and proficiency (1-5)
+ */
+public record RecommendationProfile(
+        List<SkillLevel> skills,
+        List<String> interests,
+        String educationLevel,
+        String locationCity,
+        String locationState) {
+
+    public record SkillLevel(Integer skillId, String name, int proficiency) {
+    }
+
+    public static RecommendationProfile of(StudentProfile profile) {
+        List<SkillLevel> skills = profile.getSkills().stream()
+                .map(ss -> new SkillLevel(ss.getSkill().getId(), ss.getSkill().getName(),
+                        ss.getProficiency() != null ? ss.getProficiency() : 3))
+                .toList();
+        List<String> interests = profile.getInterests() != null ? Arrays.asList(profile.getInterests()) : List.of();
+        return new RecommendationProfile(skills, interests, profile.getEducationLevel(),
+                profile.getLocationCity(), profile.getLocationState());
+    }
+
+    public static RecommendationProfile of(StudentProfileView profile) {
+        List<SkillLevel> skills = profile.skills().stream()
+                .map(ss -> new SkillLevel(ss.skillId(), ss.name(), ss.proficiency() != null ? ss.proficiency() : 3))
+                .toList();
+        List<String> interests = profile.interests() != null ? Arrays.asList(profile.interests()) : List.of();
+        return new RecommendationProfile(skills, interests, profile.educationLevel(),
+                profile.locationCity(), profile.locationState());
+    }
+
+    /**
+     * A short hash of everything ranking depends on, independent of skill and
+     * interest order. Equal fingerprints mean equal recommendations for the
+     * same catalog.
+     */
+    public String fingerprint() {
+        StringBuilder canonical = new StringBuilder();
+        skills.stream()
+                .sorted(Comparator.comparing(SkillLevel::skillId, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .forEach(s -> canonical.append(s.skillId()).append(':').append(s.proficiency()).append(','));
+        canonical.append('\u0000');
+        interests.stream()
+                .filter(Objects::nonNull)
+                .map(i -> i.trim().toLowerCase(Locale.ROOT))
+                .sorted()
+                .forEach(i -> canonical.append(i).append(','));
+        canonical.append('\u0000').append(Objects.toString(educationLevel, ""))
+                .append('\u0000').append(Objects.toString(locationCity, ""))
+                .append('\u0000').append(Objects.toString(locationState, ""));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
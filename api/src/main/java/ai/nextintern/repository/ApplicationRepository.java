@@ -8,15 +8,50 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface ApplicationRepository extends JpaRepository<Application, UUID> {
 
-    boolean existsByStudentIdAndInternshipId(UUID studentId, UUID internshipId);
-
     Optional<Application> findByStudentIdAndInternshipId(UUID studentId, UUID internshipId);
 
+    /** Result of {@link #insertIfAbsent}: the new row, or the student's existing one. */
+    interface InsertOutcome {
+        UUID getId();
+
+        String getStatus();
+
+        boolean getInserted();
+    }
+
+    /**
+     * Inserts an APPLIED application unless the student already has one for
+     * the internship ({@code uq_application}), in one round trip. Returns the
+     * new row with {@code inserted = true}, or the existing row with
+     * {@code inserted = false}. Empty only when the conflicting row was
+     * committed by a concurrent apply after this statement's snapshot.
+     */
+    @Query(value = """
+            WITH inserted AS (
+                INSERT INTO applications (student_id, internship_id, status, status_history, cover_note, applied_at)
+                VALUES (:studentId, :internshipId, 'APPLIED', CAST(:statusHistory AS jsonb),
+                        CAST(:coverNote AS text), :appliedAt)
+                ON CONFLICT ON CONSTRAINT uq_application DO NOTHING
+                RETURNING id, status
+            )
+            SELECT id, status, true AS inserted FROM inserted
+            UNION ALL
+            SELECT a.id, a.status, false AS inserted FROM applications a
+            WHERE a.student_id = :studentId AND a.internship_id = :internshipId
+              AND NOT EXISTS (SELECT 1 FROM inserted)
+            """, nativeQuery = true)
+    Optional<InsertOutcome> insertIfAbsent(@Param("studentId") UUID studentId,
+            @Param("internshipId") UUID internshipId,
+            @Param("coverNote") String coverNote,
+            @Param("statusHistory") String statusHistory,
+            @Param("appliedAt") Instant appliedAt);
+
     @EntityGraph(attributePaths = { "student", "student.user", "internship", "internship.provider" })
     Page<Application> findByStudentId(UUID studentId, Pageable pageable);
 
@@ -4,6 +4,7 @@ import ai.nextintern.entity.Internship;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -32,9 +33,105 @@ public interface InternshipRepository extends JpaRepository<Internship, UUID> {
       @Param("state") String state,
       Pageable pageable);
 
-  @Query("SELECT COUNT(a) FROM Application a WHERE a.internship.id = :internshipId AND a.status NOT IN ('WITHDRAWN', 'REJECTED')")
-  long countActiveApplications(@Param("internshipId") UUID internshipId);
+  @Query("""
+          SELECT i.id FROM Internship i
+          WHERE i.status = 'active'
+            AND (i.applicationDeadline IS NULL OR i.applicationDeadline >= CURRENT_DATE)
+      """)
+  java.util.List<UUID> findActiveIds();
+
+  /** Keyset pagination over primary keys, used by the streaming reindex. */
+  @Query("SELECT i.id FROM Internship i ORDER BY i.id")
+  java.util.List<UUID> findIdsOrderById(Pageable pageable);
+
+  @Query("SELECT i.id FROM Internship i WHERE i.id > :afterId ORDER BY i.id")
+  java.util.List<UUID> findIdsAfter(@Param("afterId") UUID afterId, Pageable pageable);
+
+  @Query("SELECT i FROM Internship i JOIN FETCH i.provider WHERE i.id = :id")
+  java.util.Optional<Internship> findWithProviderById(@Param("id") UUID id);
+
+  @Query("""
+          SELECT DISTINCT i FROM Internship i
+          JOIN FETCH i.provider
+          LEFT JOIN FETCH i.skills s
+          LEFT JOIN FETCH s.skill
+          WHERE i.id IN :ids
+      """)
+  java.util.List<Internship> findAllWithSkillsByIdIn(@Param("ids") java.util.Collection<UUID> ids);
+
+  /**
+   * Open internships ranked by applications received since {@code since},
+   * newest first among ties. Rows are {@code [id, count]}.
+   */
+  @Query("""
+          SELECT i.id, COUNT(a) FROM Internship i
+          LEFT JOIN Application a ON a.internship = i AND a.appliedAt >= :since
+          WHERE i.status = 'active'
+            AND (i.applicationDeadline IS NULL OR i.applicationDeadline >= CURRENT_DATE)
+          GROUP BY i.id, i.createdAt
+          ORDER BY COUNT(a) DESC, i.createdAt DESC
+      """)
+  java.util.List<Object[]> findTrendingActive(@Param("since") java.time.Instant since, Pageable pageable);
+
+  /** Moves {@code active_application_count} by {@code delta}; must run in the application change's transaction. */
+  @Modifying
+  @Query("UPDATE Internship i SET i.activeApplicationCount = i.activeApplicationCount + :delta WHERE i.id = :internshipId")
+  int adjustActiveApplicationCount(@Param("internshipId") UUID internshipId, @Param("delta") int delta);
+
+  /**
+   * Takes one applicant slot: increments {@code active_application_count} only
+   * while it is below {@code max_applicants}. Returns 0 when the internship is
+   * full. Concurrent callers queue on the row for the rest of their transaction
+   * and re-check the condition against the committed count, so the cap holds;
+   * a rollback returns the slot.
+   */
+  @Modifying
+  @Query("UPDATE Internship i SET i.activeApplicationCount = i.activeApplicationCount + 1 WHERE i.id = :internshipId AND (i.maxApplicants IS NULL OR i.activeApplicationCount < i.maxApplicants)")
+  int reserveApplicationSlot(@Param("internshipId") UUID internshipId);
+
+  /**
+   * Ids of the internships whose {@code active_application_count} disagrees
+   * with the applications table. Reads without locking; candidates for
+   * {@link #recomputeActiveApplicationCounts}.
+   */
+  @Query(value = """
+      SELECT i.id FROM internships i
+      WHERE i.active_application_count <> (
+          SELECT COUNT(*) FROM applications a
+          WHERE a.internship_id = i.id AND a.status NOT IN ('WITHDRAWN', 'REJECTED'))
+      ORDER BY i.id
+      """, nativeQuery = true)
+  java.util.List<UUID> findDriftedActiveApplicationCounts();
+
+  /**
+   * Row-locks the given internships in id order, so concurrent
+   * {@link #reserveApplicationSlot} and {@link #adjustActiveApplicationCount}
+   * calls wait until the caller commits.
+   */
+  @Query(value = "SELECT i.id FROM internships i WHERE i.id IN (:ids) ORDER BY i.id FOR UPDATE", nativeQuery = true)
+  java.util.List<UUID> lockByIdIn(@Param("ids") java.util.Collection<UUID> ids);
+
+  /**
+   * Recomputes {@code active_application_count} of the given internships from
+   * the applications table. Call with the rows locked by {@link #lockByIdIn}:
+   * the count is then read from a snapshot taken after every competing
+   * reservation has committed, so none is lost.
+   */
+  @Modifying
+  @Query(value = """
+      UPDATE internships i
+      SET active_application_count = (
+          SELECT COUNT(*) FROM applications a
+          WHERE a.internship_id = i.id AND a.status NOT IN ('WITHDRAWN', 'REJECTED'))
+      WHERE i.id IN (:ids)
+      """, nativeQuery = true)
+  int recomputeActiveApplicationCounts(@Param("ids") java.util.Collection<UUID> ids);
 
-  @Query("SELECT a.internship.id, COUNT(a) FROM Application a WHERE a.internship.id IN :internshipIds AND a.status NOT IN ('WITHDRAWN', 'REJECTED') GROUP BY a.internship.id")
-  java.util.List<Object[]> countActiveApplicationsByIds(@Param("internshipIds") java.util.List<UUID> internshipIds);
+  /**
+   * Takes a transaction-scoped Postgres advisory lock, or returns false at
+   * once when another session holds it. Used to run cluster-wide background
+   * jobs on one replica at a time.
+   */
+  @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+  boolean tryAdvisoryXactLock(@Param("key") long key);
 }
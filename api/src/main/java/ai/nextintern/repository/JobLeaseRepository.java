@@ -0,0 +1,32 @@
+package ai.nextintern.repository;
+
+import ai.nextintern.entity.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    /**
+     * Takes the lease for {@code leaseMs} if nobody holds it and the job has
+     * not started since {@code notStartedSince}. Returns 1 when taken, 0 when
+     * another replica holds it or has already run the job.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE job_leases
+            SET started_at = NOW(), locked_until = NOW() + :leaseMs * INTERVAL '1 millisecond'
+            WHERE name = :name AND locked_until < NOW() AND started_at < :notStartedSince
+            """, nativeQuery = true)
+    int tryAcquire(@Param("name") String name, @Param("notStartedSince") Instant notStartedSince,
+            @Param("leaseMs") long leaseMs);
+
+    @Modifying
+    @Query("UPDATE JobLease l SET l.lockedUntil = CURRENT_TIMESTAMP WHERE l.name = :name")
+    int release(@Param("name") String name);
+}
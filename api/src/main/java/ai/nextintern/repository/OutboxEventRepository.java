@@ -0,0 +1,58 @@
+package ai.nextintern.repository;
+
+import ai.nextintern.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * The oldest events that are due, locked until the caller's transaction
+     * ends. Rows locked by another relay are skipped, so replicas drain
+     * disjoint sets.
+     */
+    @Query(value = """
+            SELECT * FROM outbox_events
+            WHERE next_attempt_at <= NOW()
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("limit") int limit);
+
+    /** Leases locked rows to the caller: nobody picks them up again for {@code leaseMs}. */
+    @Modifying
+    @Query(value = """
+            UPDATE outbox_events
+            SET next_attempt_at = NOW() + :leaseMs * INTERVAL '1 millisecond'
+            WHERE id IN (:ids)
+            """, nativeQuery = true)
+    int claim(@Param("ids") Collection<Long> ids, @Param("leaseMs") long leaseMs);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Records a failed send and backs the rows off exponentially:
+     * {@code backoffMs * 2^attempts}, capped at {@code maxBackoffMs}.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE outbox_events
+            SET attempts = attempts + 1,
+                last_error = :error,
+                next_attempt_at = NOW() + LEAST(:maxBackoffMs, :backoffMs * POWER(2, LEAST(attempts, 30)))
+                    * INTERVAL '1 millisecond'
+            WHERE id IN (:ids)
+            """, nativeQuery = true)
+    int markFailed(@Param("ids") Collection<Long> ids, @Param("error") String error,
+            @Param("backoffMs") long backoffMs, @Param("maxBackoffMs") long maxBackoffMs);
+}
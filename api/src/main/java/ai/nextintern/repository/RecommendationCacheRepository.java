@@ -0,0 +1,43 @@
+package ai.nextintern.repository;
+
+import ai.nextintern.entity.RecommendationCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Repository
+public interface RecommendationCacheRepository extends JpaRepository<RecommendationCacheEntry, UUID> {
+
+    /**
+     * Insert-or-replace without the select that {@code save} does first.
+     * {@code internshipIds} is a Postgres array literal, e.g. {@code {id1,id2}}.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO recommendation_cache
+                (user_id, internship_ids, explanations, model_version, generated_at, expires_at)
+            VALUES (:userId, CAST(:internshipIds AS uuid[]), CAST(:explanations AS jsonb), :modelVersion,
+                    :generatedAt, :expiresAt)
+            ON CONFLICT (user_id) DO UPDATE SET
+                internship_ids = EXCLUDED.internship_ids,
+                explanations   = EXCLUDED.explanations,
+                model_version  = EXCLUDED.model_version,
+                generated_at   = EXCLUDED.generated_at,
+                expires_at     = EXCLUDED.expires_at
+            """, nativeQuery = true)
+    void upsert(@Param("userId") UUID userId,
+            @Param("internshipIds") String internshipIds,
+            @Param("explanations") String explanations,
+            @Param("modelVersion") String modelVersion,
+            @Param("generatedAt") Instant generatedAt,
+            @Param("expiresAt") Instant expiresAt);
+
+    @Modifying
+    @Query("DELETE FROM RecommendationCacheEntry e WHERE e.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
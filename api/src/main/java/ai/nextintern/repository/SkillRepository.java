@@ -2,8 +2,11 @@ package ai.nextintern.repository;
 
 import ai.nextintern.entity.Skill;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +14,12 @@ public interface SkillRepository extends JpaRepository<Skill, Integer> {
     Optional<Skill> findByNameIgnoreCase(String name);
 
     java.util.List<Skill> findByNameContainingIgnoreCase(String name);
+
+    /**
+     * Skills by id plus skills by lower-cased name, in one round trip. Neither
+     * collection may be empty.
+     */
+    @Query("SELECT s FROM Skill s WHERE s.id IN :ids OR LOWER(s.name) IN :lowerNames")
+    java.util.List<Skill> findByIdInOrLowerNameIn(@Param("ids") Collection<Integer> ids,
+            @Param("lowerNames") Collection<String> lowerNames);
 }
@@ -1,9 +1,16 @@
 package ai.nextintern.repository;
 
 import ai.nextintern.entity.StudentProfile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,5 +18,52 @@ import java.util.UUID;
 public interface StudentProfileRepository extends JpaRepository<StudentProfile, UUID> {
     Optional<StudentProfile> findByUserId(UUID userId);
 
+    @EntityGraph(attributePaths = "user")
+    Optional<StudentProfile> findWithUserByUserId(UUID userId);
+
     boolean existsByUserId(UUID userId);
+
+    /**
+     * The profile with its user's name and email, its skills and its document
+     * counts in one round trip, without loading entities (so no lazy loads).
+     */
+    default Optional<StudentProfileView> findViewByUserId(UUID userId) {
+        return Optional.ofNullable(StudentProfileView.of(findViewRowsByUserId(userId)));
+    }
+
+    @Query("""
+            SELECT new ai.nextintern.repository.StudentProfileView$Row(
+                p.id, u.id, u.fullName, u.email, p.educationLevel, p.university, p.graduationYear,
+                p.locationCity, p.locationState, p.locationCountry, p.interests, p.bio, p.linkedinUrl,
+                (SELECT COUNT(d) FROM StudentDocument d
+                    WHERE d.studentProfile = p AND d.documentType = ai.nextintern.entity.StudentDocument$DocumentType.CV),
+                (SELECT COUNT(d) FROM StudentDocument d
+                    WHERE d.studentProfile = p
+                    AND d.documentType = ai.nextintern.entity.StudentDocument$DocumentType.RECOMMENDATION_LETTER),
+                s.id, s.name, s.category, ss.proficiency)
+            FROM StudentProfile p
+            JOIN p.user u
+            LEFT JOIN p.skills ss
+            LEFT JOIN ss.skill s
+            WHERE u.id = :userId
+            ORDER BY s.name
+            """)
+    List<StudentProfileView.Row> findViewRowsByUserId(@Param("userId") UUID userId);
+
+    /** Keyset page of user ids of students who logged in since {@code since}. */
+    @Query("""
+            SELECT p.user.id FROM StudentProfile p
+            WHERE p.user.isActive = true AND p.user.lastLoginAt >= :since AND p.user.id > :afterUserId
+            ORDER BY p.user.id
+            """)
+    List<UUID> findActiveUserIds(@Param("since") Instant since, @Param("afterUserId") UUID afterUserId,
+            Pageable pageable);
+
+    @Query("""
+            SELECT DISTINCT p FROM StudentProfile p
+            LEFT JOIN FETCH p.skills ss
+            LEFT JOIN FETCH ss.skill
+            WHERE p.user.id IN :userIds
+            """)
+    List<StudentProfile> findAllWithSkillsByUserIdIn(@Param("userIds") Collection<UUID> userIds);
 }
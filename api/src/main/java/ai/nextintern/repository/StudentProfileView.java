@@ -0,0 +1,72 @@
+package ai.nextintern.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read-only view of a student profile with its user, skills and document
+ * counts, loaded in one query by {@link StudentProfileRepository#findViewByUserId}.
+ */
+public record StudentProfileView(
+        UUID profileId,
+        UUID userId,
+        String fullName,
+        String email,
+        String educationLevel,
+        String university,
+        Integer graduationYear,
+        String locationCity,
+        String locationState,
+        String locationCountry,
+        String[] interests,
+        String bio,
+        String linkedinUrl,
+        long cvCount,
+        long recommendationLetterCount,
+        List<SkillLevel> skills) {
+
+    public record SkillLevel(Integer skillId, String name, String category, Short proficiency) {
+    }
+
+    /** One result row: the profile columns repeated once per skill, skill columns null if there are none. */
+    public record Row(
+            UUID profileId,
+            UUID userId,
+            String fullName,
+            String email,
+            String educationLevel,
+            String university,
+            Integer graduationYear,
+            String locationCity,
+            String locationState,
+            String locationCountry,
+            String[] interests,
+            String bio,
+            String linkedinUrl,
+            long cvCount,
+            long recommendationLetterCount,
+            Integer skillId,
+            String skillName,
+            String skillCategory,
+            Short proficiency) {
+    }
+
+    /** Folds the rows of one profile; null if there are none. */
+    static StudentProfileView of(List<Row> rows) {
+        if (rows.isEmpty()) {
+            return null;
+        }
+        List<SkillLevel> skills = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (row.skillId() != null) {
+                skills.add(new SkillLevel(row.skillId(), row.skillName(), row.skillCategory(), row.proficiency()));
+            }
+        }
+        Row first = rows.get(0);
+        return new StudentProfileView(first.profileId(), first.userId(), first.fullName(), first.email(),
+                first.educationLevel(), first.university(), first.graduationYear(), first.locationCity(),
+                first.locationState(), first.locationCountry(), first.interests(), first.bio(), first.linkedinUrl(),
+                first.cvCount(), first.recommendationLetterCount(), List.copyOf(skills));
+    }
+}
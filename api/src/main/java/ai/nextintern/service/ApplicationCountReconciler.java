@@ -0,0 +1,113 @@
+package ai.nextintern.service;
+
+import ai.nextintern.event.InternshipChangedEvent;
+import ai.nextintern.repository.InternshipRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps {@code internships.active_application_count} honest.
+ * <p>
+ * {@link ApplicationService} moves the counter in the same transaction as the
+ * application change, so it only drifts when applications are changed outside
+ * the service (manual SQL, data fixes, restores). Every
+ * {@code count-reconcile-interval} the counters are recomputed from the
+ * applications table; corrected internships are reindexed so their search
+ * documents pick up the new count.
+ * <p>
+ * Drifted rows are found without locking, then row-locked and recomputed in a
+ * later statement, whose snapshot already includes every reservation that
+ * committed while the locks were being taken. A Postgres advisory lock keeps
+ * replicas from running the pass at the same time.
+ */
+@Service
+public class ApplicationCountReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationCountReconciler.class);
+    private static final long ADVISORY_LOCK_KEY = "application-count-reconciler".hashCode();
+
+    private final InternshipRepository internshipRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final TransactionTemplate tx;
+    private final Counter driftCounter;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "application-count-reconciler");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @Value("${app.applications.count-reconcile-interval:10m}")
+    private Duration interval;
+
+    public ApplicationCountReconciler(InternshipRepository internshipRepository,
+            ApplicationEventPublisher applicationEventPublisher,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.internshipRepository = internshipRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.driftCounter = Counter.builder("internships.application_count.drift")
+                .description("Internships whose active application count had to be corrected")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler.scheduleWithFixedDelay(this::tick, interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void tick() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            logger.error("Application count reconciliation failed", e);
+        }
+    }
+
+    /** Corrects every drifted counter and returns the ids of the internships that were fixed. */
+    public List<UUID> reconcile() {
+        List<UUID> corrected = tx.execute(status -> {
+            if (!internshipRepository.tryAdvisoryXactLock(ADVISORY_LOCK_KEY)) {
+                logger.debug("Application count reconciliation is running on another instance");
+                return List.<UUID>of();
+            }
+            List<UUID> ids = internshipRepository.findDriftedActiveApplicationCounts();
+            if (ids.isEmpty()) {
+                return ids;
+            }
+            internshipRepository.lockByIdIn(ids);
+            internshipRepository.recomputeActiveApplicationCounts(ids);
+            // Published inside the transaction so the listeners run after commit
+            ids.forEach(id -> applicationEventPublisher.publishEvent(InternshipChangedEvent.applicantCountChanged(id)));
+            return ids;
+        });
+        if (!corrected.isEmpty()) {
+            driftCounter.increment(corrected.size());
+            logger.warn("Corrected active application count for {} internships: {}", corrected.size(),
+                    corrected.size() <= 20 ? corrected : corrected.subList(0, 20) + "...");
+        }
+        return corrected;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -14,7 +14,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import ai.nextintern.entity.ApplicationStatus;
-import ai.nextintern.event.EventPublisher;
+import ai.nextintern.event.EventOutbox;
+import ai.nextintern.event.InternshipChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import ai.nextintern.dto.ApplicationEvent;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.extern.slf4j.Slf4j;
@@ -22,7 +24,6 @@ import lombok.extern.slf4j.Slf4j;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.NoSuchElementException;
-import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -33,24 +34,32 @@ public class ApplicationService {
     private final ApplicationRepository applicationRepository;
     private final InternshipRepository internshipRepository;
     private final StudentProfileRepository studentProfileRepository;
-    private final EventPublisher eventPublisher;
+    private final EventOutbox eventOutbox;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     public ApplicationService(ApplicationRepository applicationRepository,
             InternshipRepository internshipRepository,
             StudentProfileRepository studentProfileRepository,
-            EventPublisher eventPublisher) {
+            EventOutbox eventOutbox,
+            ApplicationEventPublisher applicationEventPublisher) {
         this.applicationRepository = applicationRepository;
         this.internshipRepository = internshipRepository;
         this.studentProfileRepository = studentProfileRepository;
-        this.eventPublisher = eventPublisher;
+        this.eventOutbox = eventOutbox;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
+    /**
+     * Four round trips: the student with their user, the internship with its
+     * provider, the insert (which reports an existing application instead of
+     * failing on {@code uq_application}), and the slot reservation.
+     */
     @Transactional
     public ApplicationResponse apply(UUID userId, UUID internshipId, ApplyRequest request) {
-        StudentProfile student = studentProfileRepository.findByUserId(userId)
+        StudentProfile student = studentProfileRepository.findWithUserByUserId(userId)
                 .orElseThrow(() -> new NoSuchElementException("Please create a student profile first"));
 
-        Internship internship = internshipRepository.findById(internshipId)
+        Internship internship = internshipRepository.findWithProviderById(internshipId)
                 .orElseThrow(() -> new NoSuchElementException("Internship not found"));
 
         // 1. Validate Active
@@ -64,56 +73,55 @@ public class ApplicationService {
             throw new IllegalStateException("Application deadline has passed");
         }
 
-        // 3. Validate Capacity
+        // 3. Validate Capacity (cheap early rejection; the reservation in 5 is authoritative)
         if (internship.getMaxApplicants() != null) {
-            long currentCount = internshipRepository.countActiveApplications(internshipId);
-            if (currentCount >= internship.getMaxApplicants()) {
+            if (internship.getActiveApplicationCount() >= internship.getMaxApplicants()) {
                 throw new IllegalStateException("This internship has reached its application limit");
             }
         }
 
-        // 4. Duplicate Check
-        if (applicationRepository.existsByStudentIdAndInternshipId(student.getId(), internshipId)) {
-            // Check if withdrawn?
-            Optional<Application> existing = applicationRepository.findByStudentIdAndInternshipId(student.getId(),
-                    internshipId);
-            if (existing.isPresent()) {
-                Application app = existing.get();
-                if (app.getStatus() == ApplicationStatus.WITHDRAWN) {
-                    // Re-apply logic if needed, OR throw error "Already applied (withdrawn)"
-                    // Plan says "Terminal: WITHDRAWN... No reverting allowed". So we throw
-                    // exception.
-                    throw new IllegalStateException("You have withdrawn from this internship and cannot re-apply.");
-                }
+        // 4. Create Application, unless the student already has one
+        Instant appliedAt = Instant.now();
+        String coverNote = ai.nextintern.security.SanitizationUtils.basicFormatting(request.coverNote());
+        ApplicationRepository.InsertOutcome outcome = applicationRepository
+                .insertIfAbsent(student.getId(), internshipId, coverNote, createInitialHistory(), appliedAt)
+                .orElseThrow(() -> new IllegalStateException("You have already applied to this internship"));
+        if (!outcome.getInserted()) {
+            // Terminal: WITHDRAWN cannot be reverted, so no re-apply
+            if (ApplicationStatus.WITHDRAWN.name().equals(outcome.getStatus())) {
+                throw new IllegalStateException("You have withdrawn from this internship and cannot re-apply.");
             }
             throw new IllegalStateException("You have already applied to this internship");
         }
 
-        // 5. Create Application
-        Application application = Application.builder()
-                .student(student)
-                .internship(internship)
-                .status(ApplicationStatus.APPLIED) // Strict Enum
-                .coverNote(ai.nextintern.security.SanitizationUtils.basicFormatting(request.coverNote()))
-                .appliedAt(Instant.now())
-                .statusHistory(createInitialHistory())
-                .build();
-
-        Application savedApp = applicationRepository.save(application);
+        // 5. Reserve a slot. Its row lock is held until commit, so everything
+        // after this point should stay short; a full internship rolls back the insert.
+        if (internshipRepository.reserveApplicationSlot(internshipId) == 0) {
+            throw new IllegalStateException("This internship has reached its application limit");
+        }
         log.info("Student {} applied to internship {}", student.getId(), internshipId);
 
-        // 6. Publish Event
-        String traceId = UUID.randomUUID().toString(); // Or get from MDC
-        eventPublisher.publish(new ApplicationEvent(
-                savedApp.getId(),
+        // 6. Publish Event (sent to SQS by OutboxRelay once this commits; EventOutbox fills in the trace id)
+        eventOutbox.add(new ApplicationEvent(
+                outcome.getId(),
                 internshipId,
                 student.getId(),
                 ApplicationEvent.Type.APPLICATION_CREATED,
                 ApplicationStatus.APPLIED,
                 Instant.now(),
-                traceId));
+                null));
+
+        // Refresh the applicant count on the search document after commit
+        applicationEventPublisher.publishEvent(InternshipChangedEvent.applicantCountChanged(internshipId));
 
-        return toResponse(savedApp);
+        return toResponse(Application.builder()
+                .id(outcome.getId())
+                .student(student)
+                .internship(internship)
+                .status(ApplicationStatus.APPLIED)
+                .coverNote(coverNote)
+                .appliedAt(appliedAt)
+                .build());
     }
 
     @Transactional
@@ -180,16 +188,22 @@ public class ApplicationService {
         }
 
         Application savedApp = applicationRepository.save(app);
+        if (oldStatus.isActive() != newStatus.isActive()) {
+            internshipRepository.adjustActiveApplicationCount(savedApp.getInternship().getId(),
+                    newStatus.isActive() ? 1 : -1);
+        }
 
         // Publish Event
-        eventPublisher.publish(new ApplicationEvent(
+        eventOutbox.add(new ApplicationEvent(
                 savedApp.getId(),
                 savedApp.getInternship().getId(),
                 savedApp.getStudent().getId(),
                 ApplicationEvent.Type.STATUS_CHANGED,
                 newStatus,
                 Instant.now(),
-                UUID.randomUUID().toString()));
+                null));
+        applicationEventPublisher.publishEvent(
+                InternshipChangedEvent.applicantCountChanged(savedApp.getInternship().getId()));
 
         log.info("Application {} status changed from {} to {}", app.getId(), oldStatus, newStatus);
     }
@@ -0,0 +1,101 @@
+package ai.nextintern.service;
+
+import ai.nextintern.entity.Internship;
+import ai.nextintern.repository.InternshipRepository;
+import org.opensearch.client.opensearch.core.bulk.BulkOperation;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Brings the search documents for a set of internships in line with Postgres.
+ * <p>
+ * Upserts are re-read from the database (one fetch-joined query for the whole
+ * batch) rather than taken from the caller, so whatever gets indexed is the
+ * latest committed state, including the denormalized applicant count.
+ * Everything goes out as a single _bulk request per live write index.
+ */
+@Service
+public class IndexSyncService {
+
+    public enum Op {
+        UPSERT,
+        /** Re-index for a new applicant count only; cached search results stay valid. */
+        APPLICANT_COUNT,
+        DELETE;
+
+        /**
+         * The op to keep when {@code next} arrives for an id that already has
+         * {@code pending}: the later op wins, except that a count refresh never
+         * replaces a pending upsert or delete, which cover it.
+         */
+        public static Op coalesce(Op pending, Op next) {
+            return next == APPLICANT_COUNT && pending != null ? pending : next;
+        }
+    }
+
+    private final InternshipRepository internshipRepository;
+    private final SearchService searchService;
+    private final SearchResultCache searchResultCache;
+    private final TransactionTemplate readTx;
+
+    public IndexSyncService(InternshipRepository internshipRepository,
+            SearchService searchService,
+            SearchResultCache searchResultCache,
+            PlatformTransactionManager transactionManager) {
+        this.internshipRepository = internshipRepository;
+        this.searchService = searchService;
+        this.searchResultCache = searchResultCache;
+        this.readTx = new TransactionTemplate(transactionManager);
+        this.readTx.setReadOnly(true);
+    }
+
+    /**
+     * @return ids whose write did not land and should be retried
+     */
+    public Set<UUID> apply(Map<UUID, Op> changes) {
+        List<UUID> upserts = new ArrayList<>();
+        List<BulkOperation> operations = new ArrayList<>(changes.size());
+        changes.forEach((id, op) -> {
+            if (op == Op.DELETE) {
+                operations.add(SearchService.deleteOperation(id));
+            } else {
+                upserts.add(id);
+            }
+        });
+
+        if (!upserts.isEmpty()) {
+            operations.addAll(readTx.execute(status -> {
+                List<BulkOperation> indexed = new ArrayList<>(upserts.size());
+                Set<UUID> missing = new HashSet<>(upserts);
+                for (Internship internship : internshipRepository.findAllWithSkillsByIdIn(upserts)) {
+                    indexed.add(SearchService.indexOperation(internship));
+                    missing.remove(internship.getId());
+                }
+                // Row is gone (hard delete); make sure the document is too
+                missing.forEach(id -> indexed.add(SearchService.deleteOperation(id)));
+                return indexed;
+            }));
+        }
+
+        if (operations.isEmpty()) {
+            return Set.of();
+        }
+        Set<UUID> failed = searchService.bulkLive(operations);
+        // Applicant counts on cached pages may lag by up to the cache TTL rather than
+        // emptying the cache on every application
+        boolean searchVisible = changes.entrySet().stream()
+                .anyMatch(change -> change.getValue() != Op.APPLICANT_COUNT && !failed.contains(change.getKey()));
+        if (searchVisible) {
+            searchResultCache.invalidateAll();
+        }
+        return failed;
+    }
+}
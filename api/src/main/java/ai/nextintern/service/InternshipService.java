@@ -2,7 +2,10 @@ package ai.nextintern.service;
 
 import ai.nextintern.dto.*;
 import ai.nextintern.entity.*;
+import ai.nextintern.event.InternshipChangedEvent;
+import ai.nextintern.event.SkillCreatedEvent;
 import ai.nextintern.repository.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -10,6 +13,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -21,16 +25,28 @@ public class InternshipService {
         private final InternshipRepository internshipRepository;
         private final ProviderRepository providerRepository;
         private final SkillRepository skillRepository;
+        private final SkillDictionary skillDictionary;
         private final SearchService searchService;
+        private final SearchReindexService searchReindexService;
+        private final SearchResultCache searchResultCache;
+        private final ApplicationEventPublisher applicationEventPublisher;
 
         public InternshipService(InternshipRepository internshipRepository,
                         ProviderRepository providerRepository,
                         SkillRepository skillRepository,
-                        SearchService searchService) {
+                        SkillDictionary skillDictionary,
+                        SearchService searchService,
+                        SearchReindexService searchReindexService,
+                        SearchResultCache searchResultCache,
+                        ApplicationEventPublisher applicationEventPublisher) {
                 this.internshipRepository = internshipRepository;
                 this.providerRepository = providerRepository;
                 this.skillRepository = skillRepository;
+                this.skillDictionary = skillDictionary;
                 this.searchService = searchService;
+                this.searchReindexService = searchReindexService;
+                this.searchResultCache = searchResultCache;
+                this.applicationEventPublisher = applicationEventPublisher;
         }
 
         @Transactional
@@ -66,8 +82,9 @@ public class InternshipService {
                 attachSkills(internship, request.skills());
 
                 internship = internshipRepository.save(internship);
-                searchService.indexInternship(internship);
-                return toResponse(internship, 0);
+                // Indexed after commit, see SearchIndexQueue / InternshipEventRelay
+                applicationEventPublisher.publishEvent(InternshipChangedEvent.created(internship.getId()));
+                return toResponse(internship);
         }
 
         @Transactional
@@ -120,9 +137,8 @@ public class InternshipService {
                 }
 
                 internship = internshipRepository.save(internship);
-                searchService.indexInternship(internship);
-                long count = internshipRepository.countActiveApplications(id);
-                return toResponse(internship, count);
+                applicationEventPublisher.publishEvent(InternshipChangedEvent.updated(internship.getId()));
+                return toResponse(internship);
         }
 
         @Transactional
@@ -136,62 +152,85 @@ public class InternshipService {
                 }
                 internship.setStatus("archived");
                 internshipRepository.save(internship);
-                searchService.deleteInternship(id);
+                applicationEventPublisher.publishEvent(InternshipChangedEvent.deleted(id));
         }
 
         @Transactional(readOnly = true)
         public InternshipResponse getById(UUID id) {
                 Internship internship = internshipRepository.findById(id)
                                 .orElseThrow(() -> new NoSuchElementException("Internship not found"));
-                long count = internshipRepository.countActiveApplications(id);
-                return toResponse(internship, count);
+                return toResponse(internship);
         }
 
-        @Transactional(readOnly = true)
-        public Page<InternshipResponse> search(
+        /**
+         * Served from the search documents' {@code _source}. Postgres is only read
+         * for hits whose document predates the denormalized fields (e.g. before the
+         * index has been rebuilt), so no transaction is opened up front.
+         * <p>
+         * {@code cursor}, when given, continues a previous search from where it
+         * left off and {@code page} is ignored. Other requests go through
+         * {@link SearchResultCache}.
+         */
+        public InternshipSearchPage search(
                         String query,
                         String category,
                         String workMode,
                         String state,
                         int page,
-                        int size) {
+                        int size,
+                        String cursor,
+                        boolean withFacets) {
 
                 if (size < 1)
                         size = 10;
                 if (size > MAX_PAGE_SIZE)
                         size = MAX_PAGE_SIZE;
 
+                if (cursor != null && !cursor.isBlank()) {
+                        return searchIndex(query, category, workMode, state, page, size, cursor, withFacets);
+                }
+                int pageSize = size;
+                return searchResultCache.get(query, category, workMode, state, page, pageSize, withFacets,
+                                () -> searchIndex(query, category, workMode, state, page, pageSize, null,
+                                                withFacets));
+        }
+
+        private InternshipSearchPage searchIndex(
+                        String query,
+                        String category,
+                        String workMode,
+                        String state,
+                        int page,
+                        int size,
+                        String cursor,
+                        boolean withFacets) {
                 SearchResult result = searchService.searchInternships(
-                                query, category, workMode, state, page, size);
+                                query, category, workMode, state, page, size, cursor, withFacets);
 
-                if (result.ids().isEmpty()) {
-                        return Page.<InternshipResponse>empty();
+                if (result.hits().isEmpty()) {
+                        return new InternshipSearchPage(Page.<InternshipResponse>empty(), null, result.facets());
                 }
 
-                List<Internship> internships = internshipRepository.findAllById(result.ids());
+                List<UUID> stale = result.hits().stream()
+                                .filter(doc -> doc.applicantCount() == null)
+                                .map(doc -> UUID.fromString(doc.id()))
+                                .collect(Collectors.toList());
+                Map<UUID, InternshipResponse> fromDatabase = stale.isEmpty()
+                                ? Collections.emptyMap()
+                                : loadResponses(stale);
 
                 // Preserve OpenSearch order
-                Map<UUID, Internship> map = internships.stream()
-                                .collect(Collectors.toMap(Internship::getId, i -> i));
-
-                List<Internship> ordered = result.ids().stream()
-                                .map(map::get)
+                List<InternshipResponse> responseList = result.hits().stream()
+                                .map(doc -> doc.applicantCount() != null
+                                                ? toResponse(doc)
+                                                : fromDatabase.get(UUID.fromString(doc.id())))
                                 .filter(Objects::nonNull)
                                 .collect(Collectors.toList());
 
-                // Batch fetch counts
-                List<UUID> ids = result.ids();
-                Map<UUID, Long> counts = ids.isEmpty() ? Collections.emptyMap()
-                                : internshipRepository.countActiveApplicationsByIds(ids).stream()
-                                                .collect(Collectors.toMap(
-                                                                row -> (UUID) row[0],
-                                                                row -> (Long) row[1]));
-
-                List<InternshipResponse> responseList = ordered.stream()
-                                .map(i -> toResponse(i, counts.getOrDefault(i.getId(), 0L)))
-                                .collect(Collectors.toList());
-
-                return new PageImpl<>(responseList, PageRequest.of(page, size), result.total());
+                return new InternshipSearchPage(
+                                new PageImpl<>(responseList, PageRequest.of(page, size), result.total()),
+                                result.nextCursor(),
+                                result.facets());
 
         }
 
@@ -203,58 +242,87 @@ public class InternshipService {
                 Page<Internship> pageResult = internshipRepository
                                 .findByProviderId(provider.getId(), pageable);
 
-                List<Internship> internships = pageResult.getContent();
-                List<UUID> ids = internships.stream().map(Internship::getId).collect(Collectors.toList());
-
-                Map<UUID, Long> counts = ids.isEmpty() ? Collections.emptyMap()
-                                : internshipRepository.countActiveApplicationsByIds(ids).stream()
-                                                .collect(Collectors.toMap(
-                                                                row -> (UUID) row[0],
-                                                                row -> (Long) row[1]));
+                return pageResult.map(this::toResponse);
+        }
 
-                return pageResult.map(i -> toResponse(i, counts.getOrDefault(i.getId(), 0L)));
+        public ReindexReport reindexAll() {
+                return searchReindexService.reindexAll();
         }
 
-        @Transactional
-        public void reindexAll() {
-                List<Internship> all = internshipRepository.findAll();
-                for (Internship internship : all) {
-                        searchService.indexInternship(internship);
-                }
+        /** Fallback for search hits that cannot be served from {@code _source}. */
+        private Map<UUID, InternshipResponse> loadResponses(List<UUID> ids) {
+                return internshipRepository.findAllWithSkillsByIdIn(ids).stream()
+                                .collect(Collectors.toMap(Internship::getId, this::toResponse));
         }
 
+        /**
+         * Resolves names and aliases through the {@link SkillDictionary} and loads
+         * the matching rows in one query. Names the dictionary doesn't know yet are
+         * looked up in the same query (another instance may have created them) and
+         * only then inserted.
+         */
         private void attachSkills(Internship internship, List<CreateInternshipRequest.SkillInput> skillsInput) {
-                if (skillsInput != null) {
-                        if (internship.getSkills() == null) {
-                                // Should invoke getter if lazy loaded, but here we are constructing or it's
-                                // fetched
+                if (skillsInput == null || skillsInput.isEmpty()) {
+                        return;
+                }
+
+                Map<String, Integer> resolved = skillDictionary.resolveIds(
+                                skillsInput.stream().map(CreateInternshipRequest.SkillInput::name).toList());
+                Set<String> unknown = new HashSet<>();
+                for (CreateInternshipRequest.SkillInput si : skillsInput) {
+                        if (!resolved.containsKey(si.name())) {
+                                unknown.add(si.name().toLowerCase(Locale.ROOT));
                         }
-                        // Use existing collection if initialized
-                        for (CreateInternshipRequest.SkillInput si : skillsInput) {
-                                Skill skill;
-                                try {
-                                        skill = skillRepository.findByNameIgnoreCase(si.name())
-                                                        .orElseGet(() -> skillRepository
-                                                                        .save(Skill.builder().name(si.name()).build()));
-                                } catch (org.springframework.dao.DataIntegrityViolationException
-                                                | org.hibernate.exception.ConstraintViolationException e) {
-                                        // Handle concurrent insert race condition
-                                        skill = skillRepository.findByNameIgnoreCase(si.name())
-                                                        .orElseThrow(() -> new RuntimeException(
-                                                                        "Skill should exist but not found after constraint violation",
-                                                                        e));
-                                }
-                                InternshipSkill is = InternshipSkill.builder()
-                                                .internship(internship)
-                                                .skill(skill)
-                                                .importance(si.importance())
-                                                .build();
-                                internship.getSkills().add(is);
+                }
+
+                // Sentinels keep both IN lists non-empty
+                List<Skill> rows = skillRepository.findByIdInOrLowerNameIn(
+                                resolved.isEmpty() ? List.of(-1) : new HashSet<>(resolved.values()),
+                                unknown.isEmpty() ? List.of("") : unknown);
+                Map<Integer, Skill> byId = new HashMap<>();
+                Map<String, Skill> byLowerName = new HashMap<>();
+                for (Skill skill : rows) {
+                        byId.put(skill.getId(), skill);
+                        byLowerName.put(skill.getName().toLowerCase(Locale.ROOT), skill);
+                }
+
+                Set<Integer> attached = new HashSet<>();
+                for (CreateInternshipRequest.SkillInput si : skillsInput) {
+                        Integer id = resolved.get(si.name());
+                        Skill skill = id != null ? byId.get(id) : byLowerName.get(si.name().toLowerCase(Locale.ROOT));
+                        if (skill == null) {
+                                skill = createSkill(si.name());
+                                byLowerName.put(si.name().toLowerCase(Locale.ROOT), skill);
                         }
+                        if (!attached.add(skill.getId())) {
+                                continue; // same skill named twice, e.g. by name and by alias
+                        }
+                        InternshipSkill is = InternshipSkill.builder()
+                                        .internship(internship)
+                                        .skill(skill)
+                                        .importance(si.importance())
+                                        .build();
+                        internship.getSkills().add(is);
+                }
+        }
+
+        private Skill createSkill(String name) {
+                Skill skill;
+                try {
+                        skill = skillRepository.save(Skill.builder().name(name).build());
+                } catch (org.springframework.dao.DataIntegrityViolationException
+                                | org.hibernate.exception.ConstraintViolationException e) {
+                        // Handle concurrent insert race condition
+                        return skillRepository.findByNameIgnoreCase(name)
+                                        .orElseThrow(() -> new RuntimeException(
+                                                        "Skill should exist but not found after constraint violation",
+                                                        e));
                 }
+                applicationEventPublisher.publishEvent(new SkillCreatedEvent(skill));
+                return skill;
         }
 
-        private InternshipResponse toResponse(Internship i, long applicantCount) {
+        private InternshipResponse toResponse(Internship i) {
                 var providerInfo = new InternshipResponse.ProviderInfo(
                                 i.getProvider().getId(),
                                 i.getProvider().getCompanyName(),
@@ -272,7 +340,38 @@ public class InternshipService {
                                 i.getLocationCity(), i.getLocationState(), i.getLocationCountry(),
                                 i.getWorkMode(), i.getEligibility(), i.getDurationWeeks(),
                                 i.getStartDate(), i.getApplicationDeadline(), i.getMaxApplicants(),
-                                applicantCount, i.getStatus(), providerInfo, skills,
+                                i.getActiveApplicationCount(), i.getStatus(), providerInfo, skills,
                                 i.getCreatedAt() != null ? i.getCreatedAt().toString() : null);
         }
+
+        private InternshipResponse toResponse(InternshipDocument doc) {
+                var providerInfo = new InternshipResponse.ProviderInfo(
+                                doc.providerId() != null ? UUID.fromString(doc.providerId()) : null,
+                                doc.providerName(),
+                                doc.providerLogoUrl(),
+                                doc.providerVerified());
+
+                List<InternshipResponse.SkillInfo> skills = new ArrayList<>();
+                addSkills(skills, doc.skillsRequired(), "required");
+                addSkills(skills, doc.skillsPreferred(), "preferred");
+                addSkills(skills, doc.skillsBonus(), "bonus");
+
+                return new InternshipResponse(
+                                UUID.fromString(doc.id()), doc.title(), doc.description(), doc.category(),
+                                doc.stipendMin(), doc.stipendMax(),
+                                doc.locationCity(), doc.locationState(), doc.locationCountry(),
+                                doc.workMode(), doc.eligibility(), doc.durationWeeks(),
+                                doc.startDate() != null ? LocalDate.parse(doc.startDate()) : null,
+                                doc.applicationDeadline() != null ? LocalDate.parse(doc.applicationDeadline()) : null,
+                                doc.maxApplicants(),
+                                doc.applicantCount(), doc.status(), providerInfo, skills,
+                                doc.createdAt());
+        }
+
+        private static void addSkills(List<InternshipResponse.SkillInfo> target, List<String> names,
+                        String importance) {
+                if (names != null) {
+                        names.forEach(name -> target.add(new InternshipResponse.SkillInfo(name, importance)));
+                }
+        }
 }
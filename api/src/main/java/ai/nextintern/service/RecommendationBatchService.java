@@ -0,0 +1,204 @@
+package ai.nextintern.service;
+
+import ai.nextintern.entity.StudentProfile;
+import ai.nextintern.recs.RecommendationProfile;
+import ai.nextintern.repository.StudentProfileRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Recommendations for many students at once, for digests, push campaigns and
+ * admin tooling.
+ * <p>
+ * Users are processed in chunks of {@code chunk-size}: each chunk loads its
+ * profiles with skills in one query, answers what it can from
+ * {@link RecommendationCache}, and ranks the rest with one batch call to the
+ * engine. Up to {@code concurrency} chunks run at once on virtual threads.
+ * Results are handed to the caller's sink as each chunk finishes, so the
+ * order follows chunk completion, not the input.
+ */
+@Service
+public class RecommendationBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationBatchService.class);
+
+    /** One user's result. {@code body} is null exactly when {@code source} is {@link Source#MISSING}. */
+    public record UserRecommendations(UUID userId, Source source, JsonNode body) {
+    }
+
+    public enum Source {
+        /** Served from the recommendation cache. */
+        CACHE,
+        /** Ranked by the primary engine. */
+        ENGINE,
+        /** Ranked by the fallback engine. */
+        FALLBACK,
+        /** The user has no student profile. */
+        MISSING
+    }
+
+    /** Totals for one batch; {@code usersPerSecond} is over the whole run. */
+    public record BatchStats(int users, Map<Source, Integer> bySource, long elapsedMs, double usersPerSecond) {
+    }
+
+    private final StudentProfileRepository profileRepository;
+    private final RecommendationService recommendationService;
+    private final RecommendationCache recommendationCache;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Timer chunkTimer;
+    private final Timer batchTimer;
+    private final DistributionSummary throughput;
+
+    @Value("${app.recs.batch.chunk-size:100}")
+    private int chunkSize;
+
+    @Value("${app.recs.batch.concurrency:4}")
+    private int concurrency;
+
+    @Value("${app.recs.cache.depth:50}")
+    private int cacheDepth;
+
+    public RecommendationBatchService(StudentProfileRepository profileRepository,
+            RecommendationService recommendationService,
+            RecommendationCache recommendationCache,
+            MeterRegistry meterRegistry) {
+        this.profileRepository = profileRepository;
+        this.recommendationService = recommendationService;
+        this.recommendationCache = recommendationCache;
+        this.meterRegistry = meterRegistry;
+        this.chunkTimer = Timer.builder("recs.batch.chunk")
+                .description("Time to load, rank and emit one chunk of a batch")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("recs.batch.run").register(meterRegistry);
+        this.throughput = DistributionSummary.builder("recs.batch.throughput")
+                .description("Users per second, per batch")
+                .baseUnit("users/s")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ranks {@code userIds} (duplicates dropped) and passes each result to
+     * {@code sink}. Calls to the sink are serialized. Returns once every
+     * user has been emitted.
+     */
+    public BatchStats recommend(List<UUID> userIds, int limit, Consumer<UserRecommendations> sink) {
+        List<UUID> distinct = new ArrayList<>(new LinkedHashSet<>(userIds));
+        Map<Source, Integer> bySource = new LinkedHashMap<>();
+        Consumer<UserRecommendations> counted = result -> {
+            synchronized (bySource) {
+                bySource.merge(result.source(), 1, Integer::sum);
+                sink.accept(result);
+            }
+        };
+
+        long start = System.nanoTime();
+        Semaphore inFlight = new Semaphore(concurrency);
+        List<Future<?>> chunks = new ArrayList<>();
+        try {
+            for (int from = 0; from < distinct.size(); from += chunkSize) {
+                List<UUID> chunk = distinct.subList(from, Math.min(from + chunkSize, distinct.size()));
+                inFlight.acquire();
+                chunks.add(workers.submit(() -> {
+                    try {
+                        chunkTimer.record(() -> recommendChunk(chunk, limit, counted));
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw new IllegalStateException("Batch recommendation interrupted", e);
+        } catch (ExecutionException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw e.getCause() instanceof RuntimeException re ? re
+                    : new IllegalStateException("Batch recommendation failed", e.getCause());
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        batchTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        double usersPerSecond = distinct.isEmpty() ? 0 : distinct.size() / (elapsedNanos / 1e9);
+        throughput.record(usersPerSecond);
+        BatchStats stats = new BatchStats(distinct.size(), Map.copyOf(bySource), elapsedNanos / 1_000_000,
+                usersPerSecond);
+        logger.info("Batch recommendations for {} users in {} ms ({} users/s): {}", stats.users(),
+                stats.elapsedMs(), Math.round(usersPerSecond), bySource);
+        return stats;
+    }
+
+    private void recommendChunk(List<UUID> userIds, int limit, Consumer<UserRecommendations> sink) {
+        Map<UUID, RecommendationProfile> toRank = new LinkedHashMap<>();
+        for (StudentProfile profile : profileRepository.findAllWithSkillsByUserIdIn(userIds)) {
+            toRank.put(profile.getUser().getId(), RecommendationProfile.of(profile));
+        }
+        for (UUID userId : userIds) {
+            if (!toRank.containsKey(userId)) {
+                emit(sink, new UserRecommendations(userId, Source.MISSING, null));
+            }
+        }
+
+        toRank.entrySet().removeIf(entry -> {
+            JsonNode cached = recommendationCache.get(entry.getKey(), limit);
+            if (cached != null) {
+                emit(sink, new UserRecommendations(entry.getKey(), Source.CACHE, cached));
+            }
+            return cached != null;
+        });
+        if (toRank.isEmpty()) {
+            return;
+        }
+
+        // Rank as deep as interactive misses do, so the results can be cached for them too
+        int depth = Math.max(limit, cacheDepth);
+        Map<UUID, String> fingerprints = new HashMap<>(toRank.size() * 2);
+        toRank.forEach((userId, recsProfile) -> fingerprints.put(userId, recsProfile.fingerprint()));
+        Map<UUID, RecommendationCache.Ticket> tickets = recommendationCache.tickets(fingerprints);
+        Map<UUID, RecommendationService.Recommendations> ranked = recommendationService.computeBatch(toRank, depth);
+        ranked.forEach((userId, result) -> {
+            if (!result.fallback()) {
+                recommendationCache.put(userId, tickets.get(userId), result.body(), depth);
+            }
+            emit(sink, new UserRecommendations(userId, result.fallback() ? Source.FALLBACK : Source.ENGINE,
+                    RecommendationCache.slice(result.body(), limit)));
+        });
+    }
+
+    private void emit(Consumer<UserRecommendations> sink, UserRecommendations result) {
+        meterRegistry.counter("recs.batch.users", "source", result.source().name().toLowerCase(Locale.ROOT)).increment();
+        sink.accept(result);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+}
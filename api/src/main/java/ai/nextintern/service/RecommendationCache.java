@@ -0,0 +1,399 @@
+package ai.nextintern.service;
+
+import ai.nextintern.event.InternshipChangedEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis cache of ranked recommendations, versioned by what they were computed
+ * from.
+ * <p>
+ * Entries live at {@code rec:{userId}:{profileFingerprint}:{generation}} and
+ * hold the deepest list computed for that profile, which is sliced for any
+ * smaller limit. {@code rec:ptr:{userId}} names the fingerprint and catalog
+ * generation of the user's latest entry, so a lookup needs no database read:
+ * a pointer from an older generation is a stale lookup, a missing pointer or
+ * entry is a miss.
+ * <p>
+ * A computation takes a {@link Ticket} before it starts and stores its result
+ * under it, so a ranking that started before a catalog bump is stored as
+ * stale, and one that started before {@link #evict} (a profile write) is not
+ * pointed to at all: evicting bumps the user's {@code rec:epoch:{userId}},
+ * and the pointer is only written if the epoch still matches the ticket's.
+ * <p>
+ * Entries are stored as Smile (binary JSON, with repeated field names and
+ * short strings back-referenced), about a third the size of the JSON text and
+ * cheaper to parse; see {@code RecommendationCacheBenchmark}.
+ * <p>
+ * The catalog generation is a Redis counter bumped at most once per
+ * {@code catalog-debounce} after internships change; instances re-read it
+ * every {@code generation-poll}. Superseded entries are never deleted, they
+ * just become unreachable and expire.
+ * <p>
+ * {@link #tryLock} is a short-lived per-entry lock, so that replicas missing
+ * the same entry at once wait for one computation instead of each calling the
+ * engine.
+ */
+@Service
+public class RecommendationCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationCache.class);
+    private static final String KEY_PREFIX = "rec:";
+    private static final String POINTER_PREFIX = "rec:ptr:";
+    private static final String GENERATION_KEY = "rec:generation";
+    private static final String LOCK_PREFIX = "rec:lock:";
+    private static final String EPOCH_PREFIX = "rec:epoch:";
+    private static final long AWAIT_POLL_MILLIS = 50;
+    /** Deletes the lock only if it still holds our token, so an expired lock taken over by another replica survives. */
+    private static final RedisScript<Long> UNLOCK = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+    /** Drops the pointer and bumps the epoch, so computations that started before can't write it back. */
+    private static final RedisScript<Long> EVICT = new DefaultRedisScript<>(
+            "redis.call('incr', KEYS[2]) redis.call('pexpire', KEYS[2], ARGV[1]) return redis.call('del', KEYS[1])",
+            Long.class);
+    /** Writes the pointer only if the user's epoch is still the one the computation started under. */
+    private static final RedisScript<Long> PUT_POINTER = new DefaultRedisScript<>(
+            "if (redis.call('get', KEYS[2]) or '0') == ARGV[1] then "
+                    + "redis.call('set', KEYS[1], ARGV[2], 'PX', ARGV[3]) return 1 else return 0 end",
+            Long.class);
+
+    /** Where a user's latest entry lives. */
+    public record Pointer(String fingerprint, long generation) {
+    }
+
+    /**
+     * Where a computation stores its result, taken before it starts: the
+     * profile fingerprint and catalog generation it ranks against, and the
+     * user's eviction epoch at that point.
+     */
+    public record Ticket(Pointer pointer, String epoch) {
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisTemplate<String, byte[]> binaryTemplate;
+    private final ObjectMapper smileMapper;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "recs-cache-generation");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter staleCounter;
+
+    private final Duration ttl;
+    private final Duration lockTtl;
+    private final long generationPollMillis;
+    private final Duration catalogDebounce;
+
+    private volatile long generation;
+    private volatile long generationReadAt;
+    private volatile boolean catalogChanged;
+
+    public RecommendationCache(StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.recs.cache.ttl:24h}") Duration ttl,
+            @Value("${app.recs.cache.generation-poll:5s}") Duration generationPoll,
+            @Value("${app.recs.cache.catalog-debounce:60s}") Duration catalogDebounce,
+            @Value("${app.recs.cache.lock-ttl:10s}") Duration lockTtl) {
+        this.redisTemplate = redisTemplate;
+        this.binaryTemplate = binaryTemplate(redisTemplate);
+        this.smileMapper = smileMapper(objectMapper);
+        this.ttl = ttl;
+        this.lockTtl = lockTtl;
+        this.generationPollMillis = generationPoll.toMillis();
+        this.catalogDebounce = catalogDebounce;
+        this.hitCounter = lookupCounter(meterRegistry, "hit");
+        this.missCounter = lookupCounter(meterRegistry, "miss");
+        this.staleCounter = lookupCounter(meterRegistry, "stale");
+    }
+
+    /** Shares the application mapper's configuration, writing Smile instead of JSON text. */
+    static ObjectMapper smileMapper(ObjectMapper objectMapper) {
+        SmileFactory smile = SmileFactory.builder().build();
+        smile.enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES);
+        return objectMapper.copyWith(smile);
+    }
+
+    private static RedisTemplate<String, byte[]> binaryTemplate(StringRedisTemplate redisTemplate) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(redisTemplate.getRequiredConnectionFactory());
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("recs.cache.lookups")
+                .description("Recommendation cache lookups; stale means the catalog moved on since the entry")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        long debounceMillis = catalogDebounce.toMillis();
+        scheduler.scheduleWithFixedDelay(this::bumpIfCatalogChanged, debounceMillis, debounceMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * The first {@code limit} cached items for the user's latest entry, or null
+     * on a miss or stale entry.
+     */
+    public JsonNode get(UUID userId, int limit) {
+        Pointer pointer = pointer(userId);
+        if (pointer == null) {
+            missCounter.increment();
+            return null;
+        }
+        if (pointer.generation() != currentGeneration()) {
+            staleCounter.increment();
+            return null;
+        }
+        JsonNode body = read(userId, pointer, limit);
+        (body != null ? hitCounter : missCounter).increment();
+        return body;
+    }
+
+    /**
+     * Waits up to {@code timeout} for another caller to store the entry for
+     * {@code fingerprint}; returns its first {@code limit} items, or null.
+     */
+    public JsonNode await(UUID userId, String fingerprint, int limit, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            Pointer pointer = pointer(userId);
+            if (pointer != null && pointer.fingerprint().equals(fingerprint)
+                    && pointer.generation() == currentGeneration()) {
+                JsonNode body = read(userId, pointer, limit);
+                if (body != null) {
+                    return body;
+                }
+            }
+            if (System.nanoTime() >= deadline) {
+                return null;
+            }
+            Thread.sleep(AWAIT_POLL_MILLIS);
+        }
+    }
+
+    private JsonNode read(UUID userId, Pointer pointer, int limit) {
+        try {
+            byte[] bytes = binaryTemplate.opsForValue().get(entryKey(userId, pointer));
+            if (bytes == null) {
+                return null;
+            }
+            JsonNode entry = smileMapper.readTree(bytes);
+            JsonNode body = entry.path("body");
+            // A short list only answers a bigger limit if the engine had nothing more to give
+            if (body.path("items").size() < limit && !entry.path("complete").asBoolean()) {
+                return null;
+            }
+            return slice(body, limit);
+        } catch (Exception e) {
+            logger.warn("Recommendation cache read failed for {}: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    /** Takes the ticket to store a computation for {@code fingerprint} under; call before computing. */
+    public Ticket ticket(UUID userId, String fingerprint) {
+        return tickets(Map.of(userId, fingerprint)).get(userId);
+    }
+
+    /** Tickets for many users, with one Redis round trip. */
+    public Map<UUID, Ticket> tickets(Map<UUID, String> fingerprints) {
+        List<UUID> userIds = new ArrayList<>(fingerprints.keySet());
+        List<String> epochs = null;
+        try {
+            epochs = redisTemplate.opsForValue().multiGet(userIds.stream().map(id -> EPOCH_PREFIX + id).toList());
+        } catch (Exception e) {
+            logger.warn("Recommendation cache read failed for {} users: {}", userIds.size(), e.getMessage());
+        }
+        long generation = currentGeneration();
+        Map<UUID, Ticket> tickets = new HashMap<>(userIds.size() * 2);
+        for (int i = 0; i < userIds.size(); i++) {
+            UUID userId = userIds.get(i);
+            // Without a readable epoch the ticket can never match, so nothing gets pointed to
+            String epoch = epochs == null ? null : Objects.toString(epochs.get(i), "0");
+            tickets.put(userId, new Ticket(new Pointer(fingerprints.get(userId), generation), epoch));
+        }
+        return tickets;
+    }
+
+    /**
+     * Stores {@code body} as the user's latest entry, unless the user was
+     * evicted since {@code ticket} was taken. {@code requested} is the depth
+     * asked of the engine; fewer items than that means the list is complete.
+     */
+    public void put(UUID userId, Ticket ticket, JsonNode body, int requested) {
+        if (ticket.epoch() == null) {
+            return;
+        }
+        Pointer pointer = ticket.pointer();
+        try {
+            ObjectNode entry = smileMapper.createObjectNode();
+            entry.put("complete", body.path("items").size() < requested);
+            entry.set("body", body);
+            binaryTemplate.opsForValue().set(entryKey(userId, pointer), smileMapper.writeValueAsBytes(entry), ttl);
+            redisTemplate.execute(PUT_POINTER, List.of(POINTER_PREFIX + userId, EPOCH_PREFIX + userId),
+                    ticket.epoch(), pointer.fingerprint() + ":" + pointer.generation(),
+                    String.valueOf(ttl.toMillis()));
+        } catch (Exception e) {
+            logger.warn("Recommendation cache write failed for {}: {}", userId, e.getMessage());
+        }
+    }
+
+    /** The user's pointer, or null if there is none or Redis can't be read. */
+    public Pointer pointer(UUID userId) {
+        String value;
+        try {
+            value = redisTemplate.opsForValue().get(POINTER_PREFIX + userId);
+        } catch (Exception e) {
+            logger.warn("Recommendation cache read failed for {}: {}", userId, e.getMessage());
+            return null;
+        }
+        if (value == null) {
+            return null;
+        }
+        int sep = value.lastIndexOf(':');
+        try {
+            return new Pointer(value.substring(0, sep), Long.parseLong(value.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Takes the lock for computing this user's entry for {@code fingerprint};
+     * returns the token to release it with, or null if another caller holds
+     * it. If Redis is unreachable the lock is granted, so callers never wait
+     * on a lock nobody can see.
+     */
+    public String tryLock(UUID userId, String fingerprint) {
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean acquired = redisTemplate.opsForValue()
+                    .setIfAbsent(LOCK_PREFIX + userId + ":" + fingerprint, token, lockTtl);
+            return Boolean.FALSE.equals(acquired) ? null : token;
+        } catch (Exception e) {
+            logger.warn("Recommendation cache lock failed for {}: {}", userId, e.getMessage());
+            return token;
+        }
+    }
+
+    public void unlock(UUID userId, String fingerprint, String token) {
+        try {
+            redisTemplate.execute(UNLOCK, List.of(LOCK_PREFIX + userId + ":" + fingerprint), token);
+        } catch (Exception e) {
+            logger.warn("Recommendation cache unlock failed for {}: {}", userId, e.getMessage());
+        }
+    }
+
+    /** Makes the user's entries unreachable, including ones still being computed. */
+    public void evict(UUID userId) {
+        try {
+            redisTemplate.execute(EVICT, List.of(POINTER_PREFIX + userId, EPOCH_PREFIX + userId),
+                    String.valueOf(ttl.toMillis()));
+        } catch (Exception e) {
+            logger.warn("Recommendation cache evict failed for {}: {}", userId, e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onInternshipChanged(InternshipChangedEvent event) {
+        // Applicant counts don't feed the ranking, so applies leave cached lists valid
+        if (!event.applicantCountOnly()) {
+            catalogChanged = true;
+        }
+    }
+
+    private void bumpIfCatalogChanged() {
+        if (!catalogChanged) {
+            return;
+        }
+        catalogChanged = false;
+        try {
+            Long next = redisTemplate.opsForValue().increment(GENERATION_KEY);
+            if (next != null) {
+                generation = next;
+                generationReadAt = System.currentTimeMillis();
+            }
+        } catch (Exception e) {
+            catalogChanged = true;
+            logger.warn("Failed to bump recommendation catalog generation: {}", e.getMessage());
+        }
+    }
+
+    long currentGeneration() {
+        long now = System.currentTimeMillis();
+        if (now - generationReadAt < generationPollMillis) {
+            return generation;
+        }
+        try {
+            String value = redisTemplate.opsForValue().get(GENERATION_KEY);
+            generation = value != null ? Long.parseLong(value) : 0L;
+        } catch (Exception e) {
+            logger.warn("Failed to read recommendation catalog generation: {}", e.getMessage());
+        }
+        generationReadAt = now;
+        return generation;
+    }
+
+    /** A copy of {@code body} with at most {@code limit} items. */
+    static JsonNode slice(JsonNode body, int limit) {
+        if (body.path("items").size() <= limit) {
+            return body;
+        }
+        ObjectNode page = body.deepCopy();
+        ArrayNode items = (ArrayNode) page.path("items");
+        while (items.size() > limit) {
+            items.remove(items.size() - 1);
+        }
+        return page;
+    }
+
+    private static String entryKey(UUID userId, Pointer pointer) {
+        return KEY_PREFIX + userId + ":" + pointer.fingerprint() + ":" + pointer.generation();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,314 @@
+package ai.nextintern.service;
+
+import ai.nextintern.entity.JobLease;
+import ai.nextintern.entity.StudentProfile;
+import ai.nextintern.event.InternshipChangedEvent;
+import ai.nextintern.event.StudentProfileChangedEvent;
+import ai.nextintern.recs.RecommendationProfile;
+import ai.nextintern.repository.JobLeaseRepository;
+import ai.nextintern.repository.RecommendationCacheRepository;
+import ai.nextintern.repository.StudentProfileRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Precomputes top-N recommendations for active students into the
+ * {@code recommendation_cache} table and {@link RecommendationCache}, so that page views read a
+ * stored ranking instead of scoring on the request path.
+ * <p>
+ * A full pass covers every student who logged in within {@code active-days}.
+ * It runs every {@code full-interval}, and sooner (at most every
+ * {@code catalog-debounce}) after internships change; applicant-count updates
+ * don't count as changes, since the ranking doesn't use them. Full passes are
+ * leased through {@code job_leases}, so one replica runs each pass and the
+ * others skip it. Students whose profile changed are recomputed on their own
+ * every {@code incremental-interval}.
+ * Passes walk the students in keyset chunks; each chunk loads its profiles in
+ * one query and is ranked with one batch engine call on a virtual thread,
+ * with at most {@code parallelism} chunks in flight so the engines keep
+ * headroom for interactive traffic. Fallback results are never stored.
+ */
+@Service
+@ConditionalOnProperty(name = "app.recs.materialize.enabled", havingValue = "true", matchIfMissing = true)
+public class RecommendationMaterializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationMaterializer.class);
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+    private static final String FULL_PASS_LEASE = "recs-materialize-full";
+
+    private final StudentProfileRepository profileRepository;
+    private final RecommendationCacheRepository recommendationCacheRepository;
+    private final RecommendationService recommendationService;
+    private final RecommendationCache recommendationCache;
+    private final JobLeaseRepository jobLeaseRepository;
+    private final TransactionTemplate tx;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "recs-materializer");
+        t.setDaemon(true);
+        return t;
+    });
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Set<UUID> dirtyUsers = new HashSet<>();
+    private volatile Instant lastFullPass = Instant.EPOCH;
+    private volatile Instant catalogChangedAt = Instant.EPOCH;
+
+    private final Counter materializedCounter;
+    private final Counter skippedCounter;
+    private final Timer passTimer;
+
+    @Value("${app.recs.materialize.top-n:50}")
+    private int topN;
+
+    @Value("${app.recs.materialize.ttl:24h}")
+    private Duration ttl;
+
+    @Value("${app.recs.materialize.active-days:30}")
+    private int activeDays;
+
+    @Value("${app.recs.materialize.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${app.recs.materialize.parallelism:8}")
+    private int parallelism;
+
+    @Value("${app.recs.materialize.full-interval:6h}")
+    private Duration fullInterval;
+
+    @Value("${app.recs.materialize.catalog-debounce:15m}")
+    private Duration catalogDebounce;
+
+    @Value("${app.recs.materialize.incremental-interval:30s}")
+    private Duration incrementalInterval;
+
+    @Value("${app.recs.materialize.full-pass-lease:2h}")
+    private Duration fullPassLease;
+
+    public RecommendationMaterializer(StudentProfileRepository profileRepository,
+            RecommendationCacheRepository recommendationCacheRepository,
+            RecommendationService recommendationService,
+            RecommendationCache recommendationCache,
+            JobLeaseRepository jobLeaseRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.profileRepository = profileRepository;
+        this.recommendationCacheRepository = recommendationCacheRepository;
+        this.recommendationService = recommendationService;
+        this.recommendationCache = recommendationCache;
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.materializedCounter = Counter.builder("recs.materialize.students")
+                .tag("result", "stored")
+                .register(meterRegistry);
+        this.skippedCounter = Counter.builder("recs.materialize.students")
+                .tag("result", "skipped")
+                .description("Students left to the request path: fallback or empty results, or errors")
+                .register(meterRegistry);
+        this.passTimer = Timer.builder("recs.materialize.pass").register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        // The first full pass waits one tick so the local catalog has loaded
+        scheduler.scheduleWithFixedDelay(this::tick, incrementalInterval.toMillis(),
+                incrementalInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProfileChanged(StudentProfileChangedEvent event) {
+        synchronized (dirtyUsers) {
+            dirtyUsers.add(event.userId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onInternshipChanged(InternshipChangedEvent event) {
+        if (!event.applicantCountOnly()) {
+            catalogChangedAt = Instant.now();
+        }
+    }
+
+    private void tick() {
+        try {
+            Instant now = Instant.now();
+            Instant changedAt = catalogChangedAt;
+            // A full pass is wanted if none has started since this instant, on any replica
+            Instant notStartedSince = null;
+            if (now.isAfter(lastFullPass.plus(fullInterval))) {
+                notStartedSince = now.minus(fullInterval);
+            } else if (changedAt.isAfter(lastFullPass) && now.isAfter(lastFullPass.plus(catalogDebounce))) {
+                notStartedSince = changedAt;
+            }
+            if (notStartedSince == null || !runFullPass(now, notStartedSince)) {
+                materializeDirty();
+            }
+        } catch (Exception e) {
+            logger.error("Recommendation materialization failed", e);
+        }
+    }
+
+    /**
+     * Runs a full pass if this replica gets the lease. Returns false when it
+     * didn't; if another replica has already started a recent enough pass,
+     * that one counts as this replica's too, otherwise the next tick retries.
+     */
+    private boolean runFullPass(Instant now, Instant notStartedSince) {
+        Integer acquired = tx.execute(status -> jobLeaseRepository.tryAcquire(FULL_PASS_LEASE, notStartedSince,
+                fullPassLease.toMillis()));
+        if (acquired == null || acquired == 0) {
+            jobLeaseRepository.findById(FULL_PASS_LEASE)
+                    .map(JobLease::getStartedAt)
+                    .filter(startedAt -> !startedAt.isBefore(notStartedSince))
+                    .ifPresent(startedAt -> lastFullPass = startedAt);
+            return false;
+        }
+        lastFullPass = now;
+        try {
+            materializeAll();
+            recommendationCacheRepository.deleteExpired(now);
+        } finally {
+            tx.executeWithoutResult(status -> jobLeaseRepository.release(FULL_PASS_LEASE));
+        }
+        return true;
+    }
+
+    /** Recomputes every active student. Also clears the dirty set, since it covers them. */
+    public void materializeAll() {
+        synchronized (dirtyUsers) {
+            dirtyUsers.clear();
+        }
+        Instant since = Instant.now().minus(Duration.ofDays(activeDays));
+        Timer.Sample sample = Timer.start();
+        Semaphore inFlight = new Semaphore(parallelism);
+        List<Future<?>> chunks = new ArrayList<>();
+        AtomicInteger stored = new AtomicInteger();
+        UUID after = MIN_UUID;
+        try {
+            while (true) {
+                List<UUID> userIds = profileRepository.findActiveUserIds(since, after, PageRequest.of(0, chunkSize));
+                if (userIds.isEmpty()) {
+                    break;
+                }
+                after = userIds.get(userIds.size() - 1);
+                inFlight.acquire();
+                chunks.add(workers.submit(() -> {
+                    try {
+                        stored.addAndGet(materialize(userIds));
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            logger.error("Full recommendation pass failed", e);
+        } finally {
+            sample.stop(passTimer);
+        }
+        logger.info("Materialized recommendations for {} students", stored.get());
+    }
+
+    private void materializeDirty() {
+        List<UUID> userIds;
+        synchronized (dirtyUsers) {
+            if (dirtyUsers.isEmpty()) {
+                return;
+            }
+            userIds = new ArrayList<>(dirtyUsers);
+            dirtyUsers.clear();
+        }
+        for (int from = 0; from < userIds.size(); from += chunkSize) {
+            materialize(userIds.subList(from, Math.min(from + chunkSize, userIds.size())));
+        }
+    }
+
+    /** Ranks and stores one chunk of students with one batch engine call; returns how many were stored. */
+    int materialize(List<UUID> userIds) {
+        List<StudentProfile> profiles = profileRepository.findAllWithSkillsByUserIdIn(userIds);
+        Map<UUID, RecommendationProfile> recsProfiles = new LinkedHashMap<>(profiles.size() * 2);
+        for (StudentProfile profile : profiles) {
+            recsProfiles.put(profile.getUser().getId(), RecommendationProfile.of(profile));
+        }
+        Map<UUID, String> fingerprints = new HashMap<>(recsProfiles.size() * 2);
+        recsProfiles.forEach((userId, recsProfile) -> fingerprints.put(userId, recsProfile.fingerprint()));
+        Map<UUID, RecommendationCache.Ticket> tickets = recommendationCache.tickets(fingerprints);
+        Map<UUID, RecommendationService.Recommendations> results = recommendationService.computeBatch(recsProfiles,
+                topN);
+        Instant generatedAt = Instant.now();
+        Instant expiresAt = generatedAt.plus(ttl);
+        int stored = 0;
+        for (Map.Entry<UUID, RecommendationProfile> entry : recsProfiles.entrySet()) {
+            UUID userId = entry.getKey();
+            try {
+                RecommendationService.Recommendations result = results.get(userId);
+                JsonNode items = result.body().path("items");
+                if (result.fallback() || !items.isArray() || items.isEmpty()) {
+                    skippedCounter.increment();
+                    continue;
+                }
+                tx.executeWithoutResult(status -> recommendationCacheRepository.upsert(userId, idArray(items),
+                        items.toString(), result.body().path("model_version").asText("unknown"), generatedAt,
+                        expiresAt));
+                recommendationCache.put(userId, tickets.get(userId), result.body(), topN);
+                materializedCounter.increment();
+                stored++;
+            } catch (Exception e) {
+                skippedCounter.increment();
+                logger.warn("Failed to materialize recommendations for {}: {}", userId, e.getMessage());
+            }
+        }
+        return stored;
+    }
+
+    private static String idArray(JsonNode items) {
+        StringJoiner ids = new StringJoiner(",", "{", "}");
+        for (JsonNode item : items) {
+            ids.add(item.path("internship_id").asText());
+        }
+        return ids.toString();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        workers.shutdownNow();
+    }
+}
@@ -1,86 +1,422 @@
 package ai.nextintern.service;
 
 import ai.nextintern.entity.*;
+import ai.nextintern.event.StudentProfileChangedEvent;
+import ai.nextintern.recs.ContentScorer;
+import ai.nextintern.recs.InternshipCatalog;
+import ai.nextintern.recs.RecommendationProfile;
 import ai.nextintern.repository.*;
 import com.fasterxml.jackson.databind.JsonNode;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
 
 import java.util.*;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
  * Recommendation service — proxies to the FastAPI recs service with Redis
- * caching.
+ * caching ({@link RecommendationCache}).
+ * <p>
+ * {@code app.recs.engine} picks the primary engine: {@code remote} (the recs
+ * service) or {@code local} (the in-process {@link ContentScorer}). Remote
+ * calls run behind the {@code recs} circuit breaker and bulkhead (see
+ * {@code resilience4j.*} in application.yml). When a remote call is refused or
+ * fails, {@code app.recs.fallback.engine} answers instead: {@code local}, or
+ * {@code trending} ({@link TrendingInternshipsService}), which is also used
+ * while the local catalog is still empty, whichever engine is primary. Every
+ * engine returns the recs service's response shape.
+ * <p>
+ * On a cache miss the engine is asked for {@code app.recs.cache.depth} items
+ * whatever the requested limit, so one stored list serves every smaller page
+ * size. Concurrent misses for the same entry are coalesced: within an
+ * instance they share one in-flight computation, and across instances the
+ * first to take the entry's Redis lock computes while the others wait up to
+ * {@code app.recs.single-flight.lock-wait} for its result.
  */
 @Service
 public class RecommendationService {
 
-    private static final String CACHE_PREFIX = "rec:";
-    private static final long CACHE_TTL_SECONDS = 3600; // 1 hour
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationService.class);
+    private static final String RESILIENCE_INSTANCE = "recs";
+
+    enum Engine {
+        REMOTE, LOCAL, TRENDING;
+
+        static Engine of(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
 
     private final RecsClient recsClient;
     private final StudentProfileRepository profileRepository;
-    private final StringRedisTemplate redisTemplate;
+    private final RecommendationCache recommendationCache;
+    private final RecommendationCacheRepository recommendationCacheRepository;
+    private final ContentScorer contentScorer;
+    private final InternshipCatalog internshipCatalog;
+    private final TrendingInternshipsService trendingInternshipsService;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final Engine primaryEngine;
+    private final Engine fallbackEngine;
+    private final int materializedDepth;
+    private final int cacheDepth;
+    private final Duration lockWait;
+    private final long batchTimeoutMs;
+    private final TransactionTemplate requiresNew;
+    private final Map<String, CompletableFuture<Recommendations>> inFlight = new ConcurrentHashMap<>();
+    private final Counter joinedCounter;
+    private final Counter awaitedCounter;
 
     public RecommendationService(RecsClient recsClient,
             StudentProfileRepository profileRepository,
-            StringRedisTemplate redisTemplate) {
+            RecommendationCache recommendationCache,
+            RecommendationCacheRepository recommendationCacheRepository,
+            ContentScorer contentScorer,
+            InternshipCatalog internshipCatalog,
+            TrendingInternshipsService trendingInternshipsService,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            MeterRegistry meterRegistry,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.recs.engine:remote}") String primaryEngine,
+            @Value("${app.recs.fallback.engine:local}") String fallbackEngine,
+            @Value("${app.recs.materialize.top-n:50}") int materializedDepth,
+            @Value("${app.recs.cache.depth:50}") int cacheDepth,
+            @Value("${app.recs.single-flight.lock-wait:3s}") Duration lockWait,
+            @Value("${app.recs.batch.timeout-ms:30000}") long batchTimeoutMs) {
         this.recsClient = recsClient;
         this.profileRepository = profileRepository;
-        this.redisTemplate = redisTemplate;
+        this.recommendationCache = recommendationCache;
+        this.recommendationCacheRepository = recommendationCacheRepository;
+        this.contentScorer = contentScorer;
+        this.internshipCatalog = internshipCatalog;
+        this.trendingInternshipsService = trendingInternshipsService;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(RESILIENCE_INSTANCE);
+        this.bulkhead = bulkheadRegistry.bulkhead(RESILIENCE_INSTANCE);
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+        this.primaryEngine = Engine.of(primaryEngine);
+        this.fallbackEngine = Engine.of(fallbackEngine);
+        this.materializedDepth = materializedDepth;
+        this.cacheDepth = cacheDepth;
+        this.lockWait = lockWait;
+        this.batchTimeoutMs = batchTimeoutMs;
+        this.joinedCounter = Counter.builder("recs.coalesced")
+                .description("Recommendation misses answered by another caller's computation")
+                .tag("scope", "local")
+                .register(meterRegistry);
+        this.awaitedCounter = Counter.builder("recs.coalesced")
+                .description("Recommendation misses answered by another caller's computation")
+                .tag("scope", "redis")
+                .register(meterRegistry);
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        if (this.primaryEngine == Engine.TRENDING || this.fallbackEngine == Engine.REMOTE) {
+            throw new IllegalArgumentException("app.recs.engine must be remote|local and app.recs.fallback.engine"
+                    + " local|trending");
+        }
     }
 
     public JsonNode getRecommendations(UUID userId, int limit) {
-        // Check Redis cache
-        String cacheKey = CACHE_PREFIX + userId + ":" + limit;
-        String cached = redisTemplate.opsForValue().get(cacheKey);
+        JsonNode cached = recommendationCache.get(userId, limit);
         if (cached != null) {
+            return cached;
+        }
+
+        // Precomputed by RecommendationMaterializer
+        JsonNode materialized = materialized(userId, limit);
+        if (materialized != null) {
+            return materialized;
+        }
+
+        StudentProfileView profile = profileRepository.findViewByUserId(userId)
+                .orElseThrow(() -> new NoSuchElementException("Profile not found"));
+        RecommendationProfile recsProfile = RecommendationProfile.of(profile);
+        int depth = Math.max(limit, cacheDepth);
+        return RecommendationCache.slice(coalesced(userId, recsProfile, depth).body(), limit);
+    }
+
+    /** Computes and caches one entry, sharing the work with concurrent callers for the same entry. */
+    private Recommendations coalesced(UUID userId, RecommendationProfile recsProfile, int depth) {
+        String fingerprint = recsProfile.fingerprint();
+        String key = userId + ":" + fingerprint + ":" + depth;
+        CompletableFuture<Recommendations> mine = new CompletableFuture<>();
+        CompletableFuture<Recommendations> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            joinedCounter.increment();
+            try {
+                return leader.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException re ? re : e;
+            }
+        }
+        try {
+            Recommendations result = computeLocked(userId, recsProfile, fingerprint, depth);
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private Recommendations computeLocked(UUID userId, RecommendationProfile recsProfile, String fingerprint,
+            int depth) {
+        String token = recommendationCache.tryLock(userId, fingerprint);
+        if (token == null) {
             try {
-                return new com.fasterxml.jackson.databind.ObjectMapper().readTree(cached);
-            } catch (Exception ignored) {
+                JsonNode stored = recommendationCache.await(userId, fingerprint, depth, lockWait);
+                if (stored != null) {
+                    awaitedCounter.increment();
+                    return new Recommendations(stored, false);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // The holder is slow, failed, or only got a fallback; compute it here rather than fail
+        }
+        try {
+            // Taken first, so a catalog bump or profile write during the computation makes its result unreachable
+            RecommendationCache.Ticket ticket = recommendationCache.ticket(userId, fingerprint);
+            Recommendations computed = compute(userId, recsProfile, depth);
+            if (!computed.fallback()) {
+                recommendationCache.put(userId, ticket, computed.body(), depth);
+            }
+            return computed;
+        } finally {
+            if (token != null) {
+                recommendationCache.unlock(userId, fingerprint, token);
             }
         }
+    }
 
-        // Build request for recs service
-        StudentProfile profile = profileRepository.findByUserId(userId)
-                .orElseThrow(() -> new NoSuchElementException("Profile not found"));
+    /**
+     * A response body and whether it came from a fallback engine. Fallbacks
+     * are not cached, so recommendations recover as soon as the breaker closes.
+     */
+    public record Recommendations(JsonNode body, boolean fallback) {
+    }
+
+    /** Ranks with the configured engines, bypassing every cache. */
+    public Recommendations compute(UUID userId, RecommendationProfile recsProfile, int limit) {
+        if (primaryEngine == Engine.LOCAL) {
+            return local(recsProfile, limit);
+        }
+        try {
+            JsonNode result = CircuitBreaker.decorateSupplier(circuitBreaker,
+                    Bulkhead.decorateSupplier(bulkhead, () -> callRecsService(userId, recsProfile, limit)))
+                    .get();
+            return new Recommendations(result, false);
+        } catch (CallNotPermittedException e) {
+            return new Recommendations(fallback(recsProfile, limit, "circuit_open"), true);
+        } catch (BulkheadFullException e) {
+            return new Recommendations(fallback(recsProfile, limit, "bulkhead_full"), true);
+        } catch (RuntimeException e) {
+            logger.warn("Recs service call failed, serving {} fallback: {}", fallbackEngine, e.getMessage());
+            return new Recommendations(fallback(recsProfile, limit, "error"), true);
+        }
+    }
 
-        List<Map<String, Object>> skills = profile.getSkills().stream()
-                .map(ss -> {
+    /**
+     * Ranks many users with one engine call, bypassing every cache. Users the
+     * recs service leaves out, or every user if it fails, get the fallback
+     * engine. Batch calls go through the circuit breaker but not the
+     * bulkhead, which is sized for interactive traffic; callers bound their
+     * own concurrency (see RecommendationBatchService).
+     */
+    public Map<UUID, Recommendations> computeBatch(Map<UUID, RecommendationProfile> profiles, int limit) {
+        Map<UUID, Recommendations> results = new HashMap<>(profiles.size() * 2);
+        if (primaryEngine == Engine.LOCAL) {
+            profiles.forEach((userId, recsProfile) -> results.put(userId, local(recsProfile, limit)));
+            return results;
+        }
+        String reason = "error";
+        try {
+            Map<UUID, JsonNode> remote = CircuitBreaker.decorateSupplier(circuitBreaker,
+                    () -> callRecsServiceBatch(profiles, limit)).get();
+            remote.forEach((userId, body) -> {
+                if (profiles.containsKey(userId)) {
+                    results.put(userId, new Recommendations(body, false));
+                }
+            });
+        } catch (CallNotPermittedException e) {
+            reason = "circuit_open";
+        } catch (RuntimeException e) {
+            logger.warn("Recs service batch call for {} users failed, serving {} fallback: {}", profiles.size(),
+                    fallbackEngine, e.getMessage());
+        }
+        for (Map.Entry<UUID, RecommendationProfile> entry : profiles.entrySet()) {
+            if (!results.containsKey(entry.getKey())) {
+                results.put(entry.getKey(), new Recommendations(fallback(entry.getValue(), limit, reason), true));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Drops the user's cached and precomputed recommendations if the write
+     * changed anything they are ranked on; edits to other fields (bio, links)
+     * keep them. RecommendationMaterializer recomputes the user on its next
+     * incremental tick, requests before that compute on demand.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProfileChanged(StudentProfileChangedEvent event) {
+        UUID userId = event.userId();
+        String fingerprint = profileRepository.findViewByUserId(userId)
+                .map(profile -> RecommendationProfile.of(profile).fingerprint())
+                .orElse(null);
+        RecommendationCache.Pointer pointer = recommendationCache.pointer(userId);
+        if (pointer != null && pointer.fingerprint().equals(fingerprint)) {
+            return;
+        }
+        recommendationCache.evict(userId);
+        // Runs after commit, so it needs its own transaction to take effect
+        requiresNew.executeWithoutResult(status -> recommendationCacheRepository.deleteById(userId));
+    }
+
+    /** The first {@code limit} precomputed items, if a fresh, deep enough entry exists. */
+    private JsonNode materialized(UUID userId, int limit) {
+        RecommendationCacheEntry entry = recommendationCacheRepository.findById(userId).orElse(null);
+        if (entry == null || entry.getExpiresAt().isBefore(Instant.now())) {
+            return null;
+        }
+        JsonNode items;
+        try {
+            items = objectMapper.readTree(entry.getExplanations());
+        } catch (Exception e) {
+            return null;
+        }
+        // A short list is only complete if the engine had nothing more to give
+        if (!items.isArray() || (items.size() < limit && items.size() < materializedDepth)) {
+            return null;
+        }
+
+        ObjectNode response = JsonNodeFactory.instance.objectNode();
+        ArrayNode page = response.putArray("items");
+        for (int i = 0; i < Math.min(limit, items.size()); i++) {
+            page.add(items.get(i));
+        }
+        response.put("model_version", entry.getModelVersion());
+        response.put("cold_start", false);
+        response.put("strategy", "precomputed");
+        response.put("latency_ms", 0);
+        response.put("generated_at", entry.getGeneratedAt().toString());
+        response.putObject("fairness_metrics");
+        return response;
+    }
+
+    private JsonNode callRecsService(UUID userId, RecommendationProfile profile, int limit) {
+        return recsClient.post("/recommend", recsRequest(userId, profile, limit));
+    }
+
+    private Map<UUID, JsonNode> callRecsServiceBatch(Map<UUID, RecommendationProfile> profiles, int limit) {
+        List<Map<String, Object>> requests = new ArrayList<>(profiles.size());
+        profiles.forEach((userId, profile) -> requests.add(recsRequest(userId, profile, limit)));
+        JsonNode response = recsClient.post("/recommend/batch", Map.of("requests", requests), batchTimeoutMs);
+
+        Map<UUID, JsonNode> bodies = new HashMap<>(profiles.size() * 2);
+        for (JsonNode result : response.path("results")) {
+            ObjectNode body = result.deepCopy();
+            UUID userId = UUID.fromString(body.remove("user_id").asText());
+            bodies.put(userId, body);
+        }
+        return bodies;
+    }
+
+    /** Request body of /recommend, and one entry of /recommend/batch. */
+    private static Map<String, Object> recsRequest(UUID userId, RecommendationProfile profile, int limit) {
+        List<Map<String, Object>> skills = profile.skills().stream()
+                .map(skill -> {
                     Map<String, Object> m = new HashMap<>();
-                    m.put("name", ss.getSkill().getName());
-                    m.put("proficiency", (int) ss.getProficiency());
+                    m.put("name", skill.name());
+                    m.put("proficiency", skill.proficiency());
                     return m;
                 })
                 .collect(Collectors.toList());
 
-        List<String> interests = profile.getInterests() != null
-                ? Arrays.asList(profile.getInterests())
-                : List.of();
-
-        Map<String, Object> requestBody = Map.of(
+        return Map.of(
                 "user_id", userId.toString(),
                 "profile", Map.of(
                         "skills", skills,
-                        "interests", interests,
-                        "education_level", Optional.ofNullable(profile.getEducationLevel()).orElse(""),
-                        "location_city", Optional.ofNullable(profile.getLocationCity()).orElse(""),
-                        "location_state", Optional.ofNullable(profile.getLocationState()).orElse("")),
+                        "interests", profile.interests(),
+                        "education_level", Optional.ofNullable(profile.educationLevel()).orElse(""),
+                        "location_city", Optional.ofNullable(profile.locationCity()).orElse(""),
+                        "location_state", Optional.ofNullable(profile.locationState()).orElse("")),
                 "context", Map.of(
                         "exclude_ids", List.of(),
                         "limit", limit));
+    }
 
-        JsonNode result = recsClient.post("/recommend", requestBody);
+    /**
+     * Ranks with the in-process engine. Until the catalog has loaded (or when
+     * there is nothing active) the answer is a fallback, so the empty list is
+     * neither cached nor stored.
+     */
+    private Recommendations local(RecommendationProfile recsProfile, int limit) {
+        if (internshipCatalog.size() == 0) {
+            return new Recommendations(fallback(recsProfile, limit, "catalog_empty"), true);
+        }
+        return new Recommendations(contentScorer.recommend(recsProfile, List.of(), limit), false);
+    }
 
-        // Cache result
-        try {
-            String json = new com.fasterxml.jackson.databind.ObjectMapper().writeValueAsString(result);
-            redisTemplate.opsForValue().set(cacheKey, json, CACHE_TTL_SECONDS, TimeUnit.SECONDS);
-        } catch (Exception ignored) {
+    /** Same response shape as the recs service. */
+    private JsonNode fallback(RecommendationProfile profile, int limit, String reason) {
+        meterRegistry.counter("recs.fallback", "reason", reason).increment();
+        if (fallbackEngine == Engine.LOCAL && internshipCatalog.size() > 0) {
+            return contentScorer.recommend(profile, List.of(), limit);
         }
 
-        return result;
+        List<String> skillNames = profile.skills().stream().map(RecommendationProfile.SkillLevel::name).toList();
+        List<TrendingInternshipsService.Pick> picks = trendingInternshipsService.pick(
+                profile.locationState(), skillNames, List.of(), limit);
+
+        ObjectNode response = JsonNodeFactory.instance.objectNode();
+        ArrayNode items = response.putArray("items");
+        for (TrendingInternshipsService.Pick pick : picks) {
+            ObjectNode item = items.addObject();
+            item.put("internship_id", pick.internshipId().toString());
+            item.put("score", pick.score());
+            ObjectNode explanation = item.putObject("explanation");
+            explanation.put("reason", "trending");
+            explanation.put("location_match", pick.stateMatch());
+            ArrayNode matched = explanation.putArray("matched_skills");
+            pick.matchedSkills().forEach(matched::add);
+        }
+        response.put("model_version", "fallback-trending");
+        response.put("cold_start", false);
+        response.put("strategy", "trending_fallback");
+        response.put("latency_ms", 0);
+        response.putObject("fairness_metrics");
+        return response;
     }
 }
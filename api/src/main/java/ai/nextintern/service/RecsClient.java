@@ -1,24 +1,54 @@
 package ai.nextintern.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.time.Instant;
 import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * HTTP client for the internal recs service with HMAC authentication.
  * Implements the v3 trust boundary: HMAC-SHA256(timestamp:method:path:bodyHash,
  * secret)
  * with 300s replay window.
+ * <p>
+ * Runs on a pooled, non-blocking Apache HttpClient 5 with HTTP/1.1 keep-alive.
+ * Every call is bounded three ways: {@code connect-timeout-ms} to open a
+ * connection, {@code read-timeout-ms} of socket inactivity, and
+ * {@code timeout-ms} for the whole exchange, pool wait included. Latency is
+ * recorded per endpoint as {@code recs.client.requests}; pool occupancy as
+ * {@code recs.client.pool.*}.
  */
 @Service
 public class RecsClient {
@@ -29,41 +59,177 @@ public class RecsClient {
     @Value("${app.recs.hmac-secret}")
     private String hmacSecret;
 
-    @Value("${app.recs.timeout-ms:5000}")
-    private int timeoutMs;
-
-    private final RestTemplate restTemplate;
+    private final long timeoutMs;
+    private final CloseableHttpAsyncClient httpClient;
+    private final PoolingAsyncClientConnectionManager connectionManager;
     private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
 
-    public RecsClient(ObjectMapper objectMapper) {
-        this.restTemplate = new RestTemplate();
+    public RecsClient(ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.recs.timeout-ms:5000}") long timeoutMs,
+            @Value("${app.recs.connect-timeout-ms:1000}") long connectTimeoutMs,
+            @Value("${app.recs.read-timeout-ms:${app.recs.timeout-ms:5000}}") long readTimeoutMs,
+            @Value("${app.recs.pool.max-connections:50}") int maxConnections,
+            @Value("${app.recs.pool.idle-eviction-seconds:30}") long idleEvictionSeconds) {
         this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.timeoutMs = timeoutMs;
+
+        // Single upstream host, so the per-route limit is the pool size
+        this.connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .build();
+        this.httpClient = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(timeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictionSeconds))
+                .build();
+        this.httpClient.start();
+
+        Gauge.builder("recs.client.pool.leased", connectionManager, cm -> cm.getTotalStats().getLeased())
+                .description("Connections to the recs service currently in use")
+                .register(meterRegistry);
+        Gauge.builder("recs.client.pool.pending", connectionManager, cm -> cm.getTotalStats().getPending())
+                .description("Requests waiting for a pooled connection")
+                .register(meterRegistry);
+        Gauge.builder("recs.client.pool.available", connectionManager, cm -> cm.getTotalStats().getAvailable())
+                .register(meterRegistry);
+        Gauge.builder("recs.client.pool.max", connectionManager, cm -> cm.getTotalStats().getMax())
+                .register(meterRegistry);
     }
 
     /**
-     * POST to the recs service with HMAC auth header.
+     * POST to the recs service with HMAC auth header. Blocks the caller for at
+     * most {@code timeout-ms}.
      */
     public JsonNode post(String path, Object body) {
+        return post(path, body, timeoutMs);
+    }
+
+    /**
+     * As {@link #post(String, Object)}, for calls known to take longer than
+     * {@code timeout-ms}: both the exchange and the wait for the response are
+     * bounded by {@code timeoutMs} instead.
+     */
+    public JsonNode post(String path, Object body, long timeoutMs) {
         try {
-            String bodyJson = objectMapper.writeValueAsString(body);
-            String url = serviceUrl + path;
+            return postAsync(path, body, timeoutMs).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new RuntimeException("Failed to call recs service: " + cause.getMessage(), cause);
+        }
+    }
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("X-Service-Auth", generateHmac("POST", path, bodyJson));
+    /**
+     * Non-blocking POST. The future completes on an I/O thread, so dependent
+     * stages should not block.
+     */
+    public CompletableFuture<JsonNode> postAsync(String path, Object body) {
+        return postAsync(path, body, this.timeoutMs);
+    }
 
-            HttpEntity<String> entity = new HttpEntity<>(bodyJson, headers);
-            ResponseEntity<JsonNode> response = restTemplate.exchange(
-                    url, HttpMethod.POST, entity, JsonNode.class);
+    private CompletableFuture<JsonNode> postAsync(String path, Object body, long timeoutMs) {
+        String bodyJson;
+        try {
+            bodyJson = objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(
+                    new RuntimeException("Failed to call recs service: " + e.getMessage(), e));
+        }
 
-            if (!response.getStatusCode().is2xxSuccessful()) {
-                throw new RuntimeException("Recs service returned " + response.getStatusCode());
+        SimpleHttpRequest request = SimpleRequestBuilder.post(serviceUrl + path)
+                .setBody(bodyJson, ContentType.APPLICATION_JSON)
+                .addHeader("X-Service-Auth", generateHmac("POST", path, bodyJson))
+                .build();
+        if (timeoutMs != this.timeoutMs) {
+            request.setConfig(RequestConfig.custom()
+                    .setConnectionRequestTimeout(Timeout.ofMilliseconds(timeoutMs))
+                    .setResponseTimeout(Timeout.ofMilliseconds(timeoutMs))
+                    .build());
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<SimpleHttpResponse> exchange = new CompletableFuture<>();
+        Future<SimpleHttpResponse> inFlight = httpClient.execute(request, new FutureCallback<>() {
+            @Override
+            public void completed(SimpleHttpResponse response) {
+                exchange.complete(response);
             }
 
-            return response.getBody();
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to call recs service: " + e.getMessage(), e);
-        }
+            @Override
+            public void failed(Exception e) {
+                exchange.completeExceptionally(e);
+            }
+
+            @Override
+            public void cancelled() {
+                exchange.cancel(false);
+            }
+        });
+
+        return exchange
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .handle((response, error) -> {
+                    String outcome = error == null ? "success"
+                            : unwrap(error) instanceof TimeoutException ? "timeout" : "error";
+                    if (error != null && outcome.equals("timeout")) {
+                        // Release the connection instead of letting the slow call hold it
+                        inFlight.cancel(true);
+                    }
+                    try {
+                        if (error != null) {
+                            throw new RuntimeException("Failed to call recs service: " + describe(error, timeoutMs),
+                                    unwrap(error));
+                        }
+                        if (response.getCode() < 200 || response.getCode() >= 300) {
+                            outcome = "error";
+                            throw new RuntimeException("Recs service returned " + response.getCode());
+                        }
+                        try {
+                            return objectMapper.readTree(response.getBodyBytes());
+                        } catch (IOException e) {
+                            outcome = "error";
+                            throw new RuntimeException("Failed to call recs service: " + e.getMessage(), e);
+                        }
+                    } finally {
+                        requestTimer(path, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    }
+                });
+    }
+
+    private Timer requestTimer(String path, String outcome) {
+        return Timer.builder("recs.client.requests")
+                .description("Recs service call latency, pool wait included")
+                .tag("endpoint", path)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static String describe(Throwable error, long timeoutMs) {
+        Throwable cause = unwrap(error);
+        return cause instanceof TimeoutException ? "no response within " + timeoutMs + "ms" : cause.getMessage();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        httpClient.close(CloseMode.GRACEFUL);
     }
 
     /**
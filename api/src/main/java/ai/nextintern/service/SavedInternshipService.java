@@ -61,8 +61,6 @@ public class SavedInternshipService {
         }
 
         private InternshipResponse toInternshipResponse(Internship internship) {
-                long applicantCount = internshipRepository.countActiveApplications(internship.getId());
-
                 InternshipResponse.ProviderInfo providerInfo = new InternshipResponse.ProviderInfo(
                                 internship.getProvider().getId(),
                                 internship.getProvider().getCompanyName(),
@@ -90,7 +88,7 @@ public class SavedInternshipService {
                                 internship.getStartDate(),
                                 internship.getApplicationDeadline(),
                                 internship.getMaxApplicants(),
-                                applicantCount,
+                                internship.getActiveApplicationCount(),
                                 internship.getStatus(),
                                 providerInfo,
                                 skills,
@@ -0,0 +1,51 @@
+package ai.nextintern.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Continuation token for deep search pagination. Opaque to clients: a
+ * URL-safe base64 JSON blob holding the point-in-time id (null on cursors
+ * from a first page, whose follow-up joins the shared snapshot), the sort
+ * values of the last hit, and a fingerprint of the filters the cursor was
+ * issued for.
+ */
+record SearchCursor(String pit, List<String> after, String filters) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    String encode() {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(this));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode search cursor", e);
+        }
+    }
+
+    static SearchCursor decode(String token) {
+        SearchCursor cursor;
+        try {
+            cursor = MAPPER.readValue(Base64.getUrlDecoder().decode(token), SearchCursor.class);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        if (cursor.after() == null || cursor.after().isEmpty()) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return cursor;
+    }
+
+    static String fingerprint(String query, String category, String workMode, String locationState) {
+        String joined = String.join("\u0000",
+                Objects.toString(query, ""),
+                Objects.toString(category, ""),
+                Objects.toString(workMode, ""),
+                Objects.toString(locationState, ""));
+        return Integer.toHexString(joined.hashCode());
+    }
+}
@@ -0,0 +1,335 @@
+package ai.nextintern.service;
+
+import ai.nextintern.dto.IndexRebuildStatus;
+import ai.nextintern.dto.ReindexReport;
+import ai.nextintern.repository.InternshipRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.json.stream.JsonParser;
+import org.opensearch.client.json.jackson.JacksonJsonpMapper;
+import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.opensearch._types.mapping.TypeMapping;
+import org.opensearch.client.opensearch.indices.update_aliases.Action;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Owns the lifecycle of the internships search index.
+ * <p>
+ * In versioned mode the application only ever reads and writes through the
+ * {@value #ALIAS} alias, which points at a concrete {@code internships_vN}
+ * index. A rebuild creates {@code internships_vN+1} with bulk-friendly
+ * settings, backfills it while live writes are mirrored into it, restores the
+ * settings and then moves the alias in a single atomic update.
+ */
+@Service
+public class SearchIndexManager {
+
+    public static final String ALIAS = "internships";
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexManager.class);
+    private static final String VERSION_PREFIX = ALIAS + "_v";
+    private static final String MAPPING_RESOURCE = "/opensearch/mapping.json";
+
+    private final OpenSearchClient client;
+    private final SearchService searchService;
+    private final SearchReindexService reindexService;
+    private final SearchResultCache searchResultCache;
+    private final InternshipRepository internshipRepository;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicReference<IndexRebuildStatus> status = new AtomicReference<>(IndexRebuildStatus.idle());
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "search-index-rebuild");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @Value("${app.search.versioned-index:true}")
+    private boolean versioned;
+
+    public SearchIndexManager(OpenSearchClient client,
+            SearchService searchService,
+            SearchReindexService reindexService,
+            SearchResultCache searchResultCache,
+            InternshipRepository internshipRepository,
+            ObjectMapper objectMapper) {
+        this.client = client;
+        this.searchService = searchService;
+        this.reindexService = reindexService;
+        this.searchResultCache = searchResultCache;
+        this.internshipRepository = internshipRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Makes sure something answers to {@value #ALIAS}. A legacy concrete index
+     * with that name is left alone; the first rebuild replaces it.
+     */
+    public void initialize() throws IOException {
+        IndexDefinition definition = loadDefinition();
+
+        if (!versioned) {
+            if (!indexExists(ALIAS)) {
+                logger.info("Index {} does not exist. Creating...", ALIAS);
+                createIndex(ALIAS, definition, false, false);
+            }
+            return;
+        }
+
+        if (aliasExists()) {
+            logger.info("Search alias {} points at {}", ALIAS, aliasTargets());
+        } else if (indexExists(ALIAS)) {
+            logger.warn("{} is a concrete index; trigger a rebuild to move it behind a versioned alias"
+                    + " (typeahead suggestions stay empty until then)", ALIAS);
+        } else {
+            String first = VERSION_PREFIX + 1;
+            logger.info("Creating index {} behind alias {}", first, ALIAS);
+            createIndex(first, definition, false, true);
+        }
+    }
+
+    public IndexRebuildStatus getRebuildStatus() {
+        return status.get();
+    }
+
+    /**
+     * Starts a background rebuild and returns immediately.
+     *
+     * @throws IllegalStateException if a rebuild is already running
+     */
+    public synchronized IndexRebuildStatus startRebuild() {
+        if (status.get().running()) {
+            throw new IllegalStateException("An index rebuild is already running");
+        }
+
+        String target;
+        String previous;
+        try {
+            target = nextVersionedName();
+            previous = currentIndex();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to inspect search indices", e);
+        }
+
+        IndexRebuildStatus started = new IndexRebuildStatus(IndexRebuildStatus.State.RUNNING, "creating",
+                target, previous, internshipRepository.count(), 0, Instant.now(), null, null);
+        status.set(started);
+        rebuildExecutor.execute(() -> rebuild(target));
+        return started;
+    }
+
+    /**
+     * Brings the whole index back in line with Postgres after live updates
+     * were lost: a background rebuild behind the alias, or with
+     * {@code versioned-index} off, a reindex in place (which cannot remove
+     * documents of deleted internships).
+     *
+     * @return false if a rebuild is already running
+     */
+    public synchronized boolean requestFullResync() {
+        if (status.get().running()) {
+            return false;
+        }
+        if (versioned) {
+            startRebuild();
+        } else {
+            rebuildExecutor.execute(() -> {
+                try {
+                    reindexService.reindexAll();
+                } catch (Exception e) {
+                    logger.error("Full search resync failed", e);
+                }
+            });
+        }
+        return true;
+    }
+
+    private void rebuild(String target) {
+        try {
+            IndexDefinition definition = loadDefinition();
+            createIndex(target, definition, true, false);
+            searchService.startShadowWrites(target);
+
+            update(s -> s.withPhase("backfilling"));
+            ReindexReport report = reindexService.reindexInto(target,
+                    processed -> update(s -> s.withProgress(processed)));
+            if (report.failed() > 0) {
+                throw new IllegalStateException(report.failed() + " documents failed to index");
+            }
+
+            update(s -> s.withPhase("restoring-settings"));
+            client.indices().putSettings(p -> p
+                    .index(target)
+                    .settings(s -> s
+                            .numberOfReplicas(definition.replicas())
+                            .refreshInterval(t -> t.time(definition.refreshInterval()))));
+
+            update(s -> s.withPhase("swapping-alias"));
+            swapAlias(target);
+            searchService.stopShadowWrites();
+            searchResultCache.invalidateAll();
+
+            update(s -> s.withPhase("cleanup"));
+            deleteStaleIndices(target, status.get().previousIndex());
+
+            update(IndexRebuildStatus::completed);
+            logger.info("Index rebuild complete: {} now serves {}", ALIAS, target);
+        } catch (Exception e) {
+            searchService.stopShadowWrites();
+            logger.error("Index rebuild into {} failed", target, e);
+            try {
+                if (indexExists(target) && !aliasTargets().contains(target)) {
+                    client.indices().delete(d -> d.index(target));
+                }
+            } catch (Exception cleanup) {
+                logger.warn("Failed to drop partially built index {}", target, cleanup);
+            }
+            update(s -> s.failed(e.getMessage()));
+        }
+    }
+
+    /**
+     * Points the alias at {@code target} and detaches every current target in a
+     * single _aliases call. A legacy concrete index named like the alias is
+     * deleted in the same call, since the alias cannot exist alongside it.
+     */
+    private void swapAlias(String target) throws IOException {
+        List<Action> actions = new ArrayList<>();
+        actions.add(Action.of(a -> a.add(add -> add.index(target).alias(ALIAS))));
+
+        if (aliasExists()) {
+            for (String current : aliasTargets()) {
+                actions.add(Action.of(a -> a.remove(r -> r.index(current).alias(ALIAS))));
+            }
+        } else if (indexExists(ALIAS)) {
+            actions.add(Action.of(a -> a.removeIndex(r -> r.index(ALIAS))));
+        }
+
+        client.indices().updateAliases(u -> u.actions(actions));
+    }
+
+    /** Keeps the new index and the one it replaced (for rollback); drops the rest. */
+    private void deleteStaleIndices(String target, String previous) throws IOException {
+        for (String index : versionedIndices()) {
+            if (!index.equals(target) && !index.equals(previous)) {
+                logger.info("Deleting stale search index {}", index);
+                client.indices().delete(d -> d.index(index));
+            }
+        }
+    }
+
+    private void createIndex(String name, IndexDefinition definition, boolean bulkTuned, boolean withAlias)
+            throws IOException {
+        client.indices().create(c -> {
+            c.index(name)
+                    .mappings(definition.mappings())
+                    .settings(s -> {
+                        s.numberOfShards(definition.shards());
+                        if (bulkTuned) {
+                            s.numberOfReplicas("0").refreshInterval(t -> t.time("-1"));
+                        } else {
+                            s.numberOfReplicas(definition.replicas());
+                        }
+                        return s;
+                    });
+            if (withAlias) {
+                c.aliases(ALIAS, a -> a);
+            }
+            return c;
+        });
+    }
+
+    private String nextVersionedName() throws IOException {
+        int max = 0;
+        for (String index : versionedIndices()) {
+            try {
+                max = Math.max(max, Integer.parseInt(index.substring(VERSION_PREFIX.length())));
+            } catch (NumberFormatException ignored) {
+                // Not one of ours
+            }
+        }
+        return VERSION_PREFIX + (max + 1);
+    }
+
+    private String currentIndex() throws IOException {
+        if (aliasExists()) {
+            Set<String> targets = aliasTargets();
+            return targets.isEmpty() ? null : targets.iterator().next();
+        }
+        return indexExists(ALIAS) ? ALIAS : null;
+    }
+
+    private Set<String> versionedIndices() throws IOException {
+        return client.indices().get(g -> g.index(VERSION_PREFIX + "*")).result().keySet();
+    }
+
+    private Set<String> aliasTargets() throws IOException {
+        if (!aliasExists()) {
+            return Set.of();
+        }
+        return client.indices().getAlias(g -> g.name(ALIAS)).result().keySet();
+    }
+
+    private boolean aliasExists() throws IOException {
+        return client.indices().existsAlias(e -> e.name(ALIAS)).value();
+    }
+
+    private boolean indexExists(String name) throws IOException {
+        return client.indices().exists(e -> e.index(name)).value();
+    }
+
+    private void update(UnaryOperator<IndexRebuildStatus> change) {
+        status.updateAndGet(change);
+    }
+
+    /**
+     * Splits {@code mapping.json} into its mapping (handed to the typed client)
+     * and the few settings the rebuild needs to override and restore.
+     */
+    private IndexDefinition loadDefinition() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream(MAPPING_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException(MAPPING_RESOURCE + " not found on the classpath");
+            }
+            JsonNode root = objectMapper.readTree(in);
+            JsonNode settings = root.path("settings");
+
+            JacksonJsonpMapper mapper = new JacksonJsonpMapper();
+            TypeMapping mappings;
+            try (JsonParser parser = mapper.jsonProvider()
+                    .createParser(new StringReader(root.path("mappings").toString()))) {
+                mappings = TypeMapping._DESERIALIZER.deserialize(parser, mapper);
+            }
+
+            return new IndexDefinition(
+                    mappings,
+                    settings.path("number_of_shards").asText("1"),
+                    settings.path("number_of_replicas").asText("1"),
+                    settings.path("refresh_interval").asText("1s"));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    private record IndexDefinition(TypeMapping mappings, String shards, String replicas, String refreshInterval) {
+    }
+}
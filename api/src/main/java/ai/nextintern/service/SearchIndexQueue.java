@@ -0,0 +1,310 @@
+package ai.nextintern.service;
+
+import ai.nextintern.event.InternshipChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Coalescing buffer between committed internship writes and OpenSearch.
+ * <p>
+ * Changes are recorded only after the writing transaction commits, and only
+ * the last operation per internship id is kept. A single flusher thread drains
+ * the buffer into _bulk requests once {@code batch-size} ids are pending or
+ * the oldest pending id has waited {@code linger-ms}. The backlog is bounded
+ * by {@code capacity} distinct ids. When it is full, new ids are dropped
+ * rather than making the committing request wait or index inline; once the
+ * backlog has drained again, the flusher asks {@link SearchIndexManager} for a
+ * full resync, which picks up whatever was dropped.
+ * <p>
+ * Active when {@code app.search.sync-mode} is {@code queue} (the default); in
+ * {@code sqs} mode changes go through {@link ai.nextintern.event.InternshipEventRelay}
+ * instead.
+ */
+@Service
+@ConditionalOnProperty(name = "app.search.sync-mode", havingValue = "queue", matchIfMissing = true)
+public class SearchIndexQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexQueue.class);
+
+    private final IndexSyncService indexSyncService;
+    private final SearchIndexManager searchIndexManager;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushWanted = lock.newCondition();
+    private final LinkedHashMap<UUID, IndexSyncService.Op> pending = new LinkedHashMap<>();
+    private long oldestPendingNanos;
+    private volatile boolean resyncWanted;
+    private volatile boolean running;
+    private Thread flusher;
+
+    private final Counter enqueuedCounter;
+    private final Counter coalescedCounter;
+    private final Counter overflowCounter;
+    private final Counter failedCounter;
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizeSummary;
+
+    @Value("${app.search.index-queue.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.search.index-queue.linger-ms:500}")
+    private long lingerMs;
+
+    @Value("${app.search.index-queue.capacity:10000}")
+    private int capacity;
+
+    @Value("${app.search.index-queue.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    public SearchIndexQueue(IndexSyncService indexSyncService, SearchIndexManager searchIndexManager,
+            MeterRegistry meterRegistry) {
+        this.indexSyncService = indexSyncService;
+        this.searchIndexManager = searchIndexManager;
+
+        Gauge.builder("search.index.queue.backlog", this, SearchIndexQueue::backlog)
+                .description("Internship ids waiting to be flushed to OpenSearch")
+                .register(meterRegistry);
+        this.enqueuedCounter = Counter.builder("search.index.queue.enqueued").register(meterRegistry);
+        this.coalescedCounter = Counter.builder("search.index.queue.coalesced")
+                .description("Writes absorbed by a pending write for the same internship")
+                .register(meterRegistry);
+        this.overflowCounter = Counter.builder("search.index.queue.overflow")
+                .description("Writes dropped because the backlog was full; a full resync follows")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("search.index.queue.failed")
+                .description("Documents re-queued after a failed bulk write")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("search.index.queue.flush").register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("search.index.queue.batch.size")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        flusher = new Thread(this::runFlusher, "search-index-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onInternshipChanged(InternshipChangedEvent event) {
+        enqueue(event.internshipId(), event.deleted() ? IndexSyncService.Op.DELETE
+                : event.applicantCountOnly() ? IndexSyncService.Op.APPLICANT_COUNT : IndexSyncService.Op.UPSERT);
+    }
+
+    public void enqueue(UUID id, IndexSyncService.Op op) {
+        boolean accepted;
+        lock.lock();
+        try {
+            accepted = offer(id, op);
+        } finally {
+            lock.unlock();
+        }
+
+        if (!accepted) {
+            overflowCounter.increment();
+            if (!resyncWanted) {
+                resyncWanted = true;
+                logger.warn("Search index backlog full ({} ids); dropping updates until it drains, then resyncing",
+                        capacity);
+            }
+        }
+    }
+
+    public int backlog() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Caller holds the lock. */
+    private boolean offer(UUID id, IndexSyncService.Op op) {
+        if (pending.containsKey(id)) {
+            pending.put(id, IndexSyncService.Op.coalesce(pending.get(id), op));
+            coalescedCounter.increment();
+            return true;
+        }
+
+        if (pending.size() >= capacity) {
+            return false;
+        }
+
+        if (pending.isEmpty()) {
+            oldestPendingNanos = System.nanoTime();
+            flushWanted.signal();
+        }
+        pending.put(id, op);
+        enqueuedCounter.increment();
+        if (pending.size() >= batchSize) {
+            flushWanted.signal();
+        }
+        return true;
+    }
+
+    private void runFlusher() {
+        while (true) {
+            Map<UUID, IndexSyncService.Op> batch;
+            try {
+                batch = takeBatch();
+            } catch (InterruptedException e) {
+                break;
+            }
+            if (batch.isEmpty()) {
+                if (!running) {
+                    break;
+                }
+                resyncIfDrained();
+                continue;
+            }
+            flush(batch);
+            resyncIfDrained();
+        }
+    }
+
+    /** After an overflow, asks for a full resync once the backlog is small again, i.e. the index keeps up. */
+    private void resyncIfDrained() {
+        if (!resyncWanted || backlog() >= batchSize) {
+            return;
+        }
+        try {
+            if (searchIndexManager.requestFullResync()) {
+                resyncWanted = false;
+                logger.info("Search index backlog drained after an overflow; full resync started");
+            }
+        } catch (Exception e) {
+            logger.error("Failed to start a full search resync after an overflow", e);
+        }
+    }
+
+    /**
+     * Blocks until a batch is due: {@code batch-size} ids are pending, the
+     * oldest has lingered long enough, or the queue is shutting down. Returns
+     * an empty batch now and then while a resync is owed.
+     */
+    private Map<UUID, IndexSyncService.Op> takeBatch() throws InterruptedException {
+        lock.lock();
+        try {
+            while (pending.isEmpty() && running) {
+                if (!resyncWanted) {
+                    flushWanted.await();
+                } else if (!flushWanted.await(retryBackoffMs, TimeUnit.MILLISECONDS) && pending.isEmpty()) {
+                    // Idle with a resync still owed (a rebuild was already running); let the caller retry it
+                    return Map.of();
+                }
+            }
+            long lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMs);
+            while (running && pending.size() < batchSize) {
+                long remaining = oldestPendingNanos + lingerNanos - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                flushWanted.awaitNanos(remaining);
+            }
+
+            Map<UUID, IndexSyncService.Op> batch = new LinkedHashMap<>();
+            Iterator<Map.Entry<UUID, IndexSyncService.Op>> it = pending.entrySet().iterator();
+            while (it.hasNext() && batch.size() < batchSize) {
+                Map.Entry<UUID, IndexSyncService.Op> entry = it.next();
+                batch.put(entry.getKey(), entry.getValue());
+                it.remove();
+            }
+            if (!pending.isEmpty()) {
+                // Leftovers are already overdue; flush them on the next pass
+                oldestPendingNanos = System.nanoTime() - lingerNanos;
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flush(Map<UUID, IndexSyncService.Op> batch) {
+        batchSizeSummary.record(batch.size());
+        Set<UUID> failed;
+        Timer.Sample sample = Timer.start();
+        try {
+            failed = indexSyncService.apply(batch);
+        } catch (Exception e) {
+            logger.error("Flushing {} index operations failed", batch.size(), e);
+            failed = batch.keySet();
+        } finally {
+            sample.stop(flushTimer);
+        }
+
+        if (failed.isEmpty()) {
+            return;
+        }
+
+        failedCounter.increment(failed.size());
+        if (!running) {
+            logger.error("Dropping {} failed index operations during shutdown", failed.size());
+            return;
+        }
+        requeue(batch, failed);
+        try {
+            Thread.sleep(retryBackoffMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Puts failed ids back, merged with any newer write for them that arrived meanwhile. */
+    private void requeue(Map<UUID, IndexSyncService.Op> batch, Set<UUID> failed) {
+        lock.lock();
+        try {
+            if (pending.isEmpty()) {
+                oldestPendingNanos = System.nanoTime();
+            }
+            for (UUID id : failed) {
+                pending.merge(id, batch.get(id), (newer, failedOp) -> IndexSyncService.Op.coalesce(failedOp, newer));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        lock.lock();
+        try {
+            running = false;
+            flushWanted.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int left = backlog();
+        if (left > 0) {
+            logger.warn("Shutting down with {} internship ids not yet indexed", left);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package ai.nextintern.service;
+
+import ai.nextintern.dto.ReindexReport;
+import ai.nextintern.entity.Internship;
+import ai.nextintern.repository.InternshipRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import org.opensearch.client.opensearch.core.bulk.BulkOperation;
+import org.opensearch.client.opensearch.core.bulk.BulkResponseItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * Streams the whole internship table into OpenSearch.
+ * <p>
+ * Rows are read in keyset-paginated pages (ordered by id) with provider and
+ * skills fetch-joined, each page becomes one _bulk request, and at most
+ * {@code max-in-flight} bulk requests are outstanding at a time. The index is
+ * refreshed once at the end instead of on every document.
+ */
+@Service
+public class SearchReindexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchReindexService.class);
+
+    private final InternshipRepository internshipRepository;
+    private final SearchService searchService;
+    private final SearchResultCache searchResultCache;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readTx;
+
+    private final Counter indexedCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+    private final Timer runTimer;
+
+    @Value("${app.search.reindex.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.search.reindex.max-in-flight:4}")
+    private int maxInFlight;
+
+    public SearchReindexService(InternshipRepository internshipRepository,
+            SearchService searchService,
+            SearchResultCache searchResultCache,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.internshipRepository = internshipRepository;
+        this.searchService = searchService;
+        this.searchResultCache = searchResultCache;
+        this.entityManager = entityManager;
+        this.readTx = new TransactionTemplate(transactionManager);
+        this.readTx.setReadOnly(true);
+
+        this.indexedCounter = Counter.builder("search.reindex.documents")
+                .tag("result", "indexed")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("search.reindex.documents")
+                .tag("result", "failed")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("search.reindex.batch")
+                .description("Latency of a single reindex _bulk request")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("search.reindex.run")
+                .description("Wall-clock duration of a full reindex")
+                .register(meterRegistry);
+    }
+
+    public ReindexReport reindexAll() {
+        return reindexInto(SearchIndexManager.ALIAS, null);
+    }
+
+    /**
+     * Backfills {@code index} from Postgres. {@code onProgress}, when given, is
+     * called with the running count of processed documents after every batch.
+     */
+    public ReindexReport reindexInto(String index, LongConsumer onProgress) {
+        long start = System.nanoTime();
+        AtomicLong indexed = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        AtomicInteger batches = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+
+        logger.info("Starting reindex into {} (batchSize={}, maxInFlight={})", index, batchSize, maxInFlight);
+
+        UUID cursor = null;
+        try {
+            while (true) {
+                ReindexPage page = readPage(cursor);
+                if (page.operations().isEmpty()) {
+                    break;
+                }
+                cursor = page.lastId();
+
+                List<BulkOperation> operations = page.operations();
+                int size = operations.size();
+
+                inFlight.acquire();
+                batches.incrementAndGet();
+                Timer.Sample sample = Timer.start();
+                searchService.bulkAsync(index, operations).whenComplete((response, error) -> {
+                    try {
+                        sample.stop(batchTimer);
+                        if (error != null) {
+                            logger.error("Reindex bulk request of {} documents failed", size, error);
+                            failed.addAndGet(size);
+                            failedCounter.increment(size);
+                            if (onProgress != null) {
+                                onProgress.accept(indexed.get() + failed.get());
+                            }
+                            return;
+                        }
+                        long itemErrors = 0;
+                        for (BulkResponseItem item : response.items()) {
+                            // 409: a live write already indexed a newer version
+                            if (item.error() != null && item.status() != 409) {
+                                itemErrors++;
+                                logItemError(item);
+                            }
+                        }
+                        indexed.addAndGet(size - itemErrors);
+                        failed.addAndGet(itemErrors);
+                        indexedCounter.increment(size - itemErrors);
+                        failedCounter.increment(itemErrors);
+                        if (onProgress != null) {
+                            onProgress.accept(indexed.get() + failed.get());
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+
+            // Wait for the tail of the pipeline to drain
+            inFlight.acquire(maxInFlight);
+            inFlight.release(maxInFlight);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reindex interrupted", e);
+        }
+
+        searchService.refresh(index);
+        if (SearchIndexManager.ALIAS.equals(index)) {
+            searchResultCache.invalidateAll();
+        }
+
+        long durationNanos = System.nanoTime() - start;
+        runTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        double docsPerSecond = durationMs > 0 ? indexed.get() * 1000.0 / durationMs : indexed.get();
+
+        ReindexReport report = new ReindexReport(indexed.get(), failed.get(), batches.get(), durationMs,
+                docsPerSecond);
+        logger.info("Reindex finished: {}", report);
+        return report;
+    }
+
+    /**
+     * Reads one keyset page and maps it to bulk operations inside a short read-only
+     * transaction, then drops the entities so the heap only ever holds one page.
+     */
+    private ReindexPage readPage(UUID afterId) {
+        return readTx.execute(status -> {
+            PageRequest limit = PageRequest.of(0, batchSize);
+            List<UUID> ids = afterId == null
+                    ? internshipRepository.findIdsOrderById(limit)
+                    : internshipRepository.findIdsAfter(afterId, limit);
+            if (ids.isEmpty()) {
+                return new ReindexPage(List.of(), afterId);
+            }
+            List<Internship> internships = internshipRepository.findAllWithSkillsByIdIn(ids);
+            List<BulkOperation> operations = internships.stream()
+                    .map(SearchService::indexOperation)
+                    .toList();
+            entityManager.clear();
+            return new ReindexPage(operations, ids.get(ids.size() - 1));
+        });
+    }
+
+    private void logItemError(BulkResponseItem item) {
+        logger.warn("Failed to index internship {}: {}", item.id(), item.error().reason());
+    }
+
+    private record ReindexPage(List<BulkOperation> operations, UUID lastId) {
+    }
+}
@@ -0,0 +1,250 @@
+package ai.nextintern.service;
+
+import ai.nextintern.dto.InternshipResponse;
+import ai.nextintern.dto.InternshipSearchPage;
+import ai.nextintern.dto.SearchFacets;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier cache for internship search pages: a bounded Caffeine cache
+ * (W-TinyLFU) in front of Redis.
+ * <p>
+ * Keys embed the current index generation, a counter in Redis that is bumped
+ * whenever search-visible data changes ({@link #invalidateAll()}). A bump
+ * makes every existing entry unreachable at once, in both tiers and on every
+ * instance; the old entries simply age out. Instances re-read the counter at
+ * most every {@code generation-poll}, so other instances follow a bump within
+ * that window.
+ */
+@Service
+public class SearchResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchResultCache.class);
+    private static final String GENERATION_KEY = "search:generation";
+    private static final String KEY_PREFIX = "search:page:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, CachedPage> localCache;
+    private final Duration redisTtl;
+    private final long generationPollMillis;
+
+    private final Timer localHitTimer;
+    private final Timer redisHitTimer;
+    private final Timer missTimer;
+
+    private volatile long generation;
+    private volatile long generationReadAt;
+    private volatile long redisDownUntil;
+
+    public SearchResultCache(StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.search.result-cache.local-size:2000}") long localSize,
+            @Value("${app.search.result-cache.local-ttl:30s}") Duration localTtl,
+            @Value("${app.search.result-cache.redis-ttl:5m}") Duration redisTtl,
+            @Value("${app.search.result-cache.generation-poll:1s}") Duration generationPoll) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.redisTtl = redisTtl;
+        this.generationPollMillis = generationPoll.toMillis();
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localSize)
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "search.results.local");
+
+        this.localHitTimer = lookupTimer(meterRegistry, "local");
+        this.redisHitTimer = lookupTimer(meterRegistry, "redis");
+        this.missTimer = lookupTimer(meterRegistry, "miss");
+    }
+
+    private static Timer lookupTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("search.results.cache")
+                .description("Search page latency by the tier that answered it")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached page for these parameters, loading and caching it on a
+     * miss. Cursor continuations are tied to a point-in-time snapshot and bypass
+     * the cache.
+     */
+    public InternshipSearchPage get(String query, String category, String workMode, String state,
+            int page, int size, boolean withFacets, Supplier<InternshipSearchPage> loader) {
+        long start = System.nanoTime();
+        String key = KEY_PREFIX + currentGeneration() + ":"
+                + keyOf(query, category, workMode, state, page, size, withFacets);
+
+        CachedPage cached = localCache.getIfPresent(key);
+        if (cached != null) {
+            localHitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return cached.toPage();
+        }
+
+        cached = readRedis(key);
+        if (cached != null) {
+            localCache.put(key, cached);
+            redisHitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return cached.toPage();
+        }
+
+        InternshipSearchPage result = loader.get();
+        // An empty page may just mean OpenSearch was unreachable; don't pin it
+        if (!result.page().isEmpty()) {
+            cached = CachedPage.of(result);
+            localCache.put(key, cached);
+            writeRedis(key, cached);
+        }
+        missTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    /** Bumps the index generation, orphaning every cached page. */
+    public void invalidateAll() {
+        localCache.invalidateAll();
+        if (redisUnavailable()) {
+            return;
+        }
+        try {
+            Long next = redisTemplate.opsForValue().increment(GENERATION_KEY);
+            if (next != null) {
+                generation = next;
+                generationReadAt = System.currentTimeMillis();
+            }
+        } catch (Exception e) {
+            markRedisDown(e);
+        }
+    }
+
+    private long currentGeneration() {
+        long now = System.currentTimeMillis();
+        if (now - generationReadAt < generationPollMillis || redisUnavailable()) {
+            return generation;
+        }
+        try {
+            String value = redisTemplate.opsForValue().get(GENERATION_KEY);
+            generation = value != null ? Long.parseLong(value) : 0L;
+        } catch (Exception e) {
+            markRedisDown(e);
+        }
+        generationReadAt = now;
+        return generation;
+    }
+
+    private CachedPage readRedis(String key) {
+        if (redisUnavailable()) {
+            return null;
+        }
+        String json;
+        try {
+            json = redisTemplate.opsForValue().get(key);
+        } catch (Exception e) {
+            markRedisDown(e);
+            return null;
+        }
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, CachedPage.class);
+        } catch (JsonProcessingException e) {
+            logger.warn("Discarding unreadable cached search page {}", key, e);
+            return null;
+        }
+    }
+
+    private void writeRedis(String key, CachedPage page) {
+        if (redisUnavailable()) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(page);
+        } catch (JsonProcessingException e) {
+            logger.warn("Failed to serialize search page for {}", key, e);
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(key, json, redisTtl);
+        } catch (Exception e) {
+            markRedisDown(e);
+        }
+    }
+
+    /** After a Redis error, serve from the local tier only for a while instead of paying the timeout per request. */
+    private boolean redisUnavailable() {
+        return System.currentTimeMillis() < redisDownUntil;
+    }
+
+    private void markRedisDown(Exception e) {
+        logger.warn("Search result cache: Redis unavailable, using local tier only for 30s: {}", e.getMessage());
+        redisDownUntil = System.currentTimeMillis() + 30_000;
+    }
+
+    static String keyOf(String query, String category, String workMode, String state,
+            int page, int size, boolean withFacets) {
+        String normalizedQuery = query == null ? ""
+                : query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return String.join("|",
+                normalizedQuery,
+                Objects.toString(category, "").trim(),
+                Objects.toString(workMode, "").trim(),
+                Objects.toString(state, "").trim(),
+                Integer.toString(page),
+                Integer.toString(size),
+                withFacets ? "f" : "");
+    }
+
+    /** Serializable form of {@link InternshipSearchPage}; Spring's PageImpl does not round-trip through JSON. */
+    record CachedPage(
+            List<InternshipResponse> content,
+            int page,
+            int size,
+            long total,
+            String nextCursor,
+            SearchFacets facets,
+            boolean empty) {
+
+        static CachedPage of(InternshipSearchPage result) {
+            var p = result.page();
+            boolean unpaged = p.getPageable().isUnpaged();
+            return new CachedPage(p.getContent(),
+                    unpaged ? 0 : p.getNumber(),
+                    unpaged ? 0 : p.getSize(),
+                    p.getTotalElements(),
+                    result.nextCursor(),
+                    result.facets(),
+                    unpaged);
+        }
+
+        InternshipSearchPage toPage() {
+            var restored = empty
+                    ? new PageImpl<InternshipResponse>(List.of())
+                    : new PageImpl<>(content, PageRequest.of(page, size), total);
+            return new InternshipSearchPage(restored, nextCursor, facets);
+        }
+    }
+}
@@ -1,127 +1,442 @@
 package ai.nextintern.service;
 
 import ai.nextintern.dto.InternshipDocument;
+import ai.nextintern.dto.SearchFacets;
 import ai.nextintern.dto.SearchResult;
 import ai.nextintern.entity.Internship;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.opensearch.client.opensearch.OpenSearchAsyncClient;
 import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.opensearch._types.OpenSearchException;
 import org.opensearch.client.opensearch._types.Refresh;
+import org.opensearch.client.opensearch._types.SortOptions;
+import org.opensearch.client.opensearch._types.SortOrder;
+import org.opensearch.client.opensearch._types.VersionType;
+import org.opensearch.client.opensearch._types.aggregations.Aggregate;
+import org.opensearch.client.opensearch._types.aggregations.Aggregation;
 import org.opensearch.client.opensearch._types.query_dsl.BoolQuery;
-import org.opensearch.client.opensearch.core.IndexRequest;
+import org.opensearch.client.opensearch._types.query_dsl.Query;
+import org.opensearch.client.opensearch.core.BulkRequest;
+import org.opensearch.client.opensearch.core.BulkResponse;
 import org.opensearch.client.opensearch.core.SearchRequest;
 import org.opensearch.client.opensearch.core.SearchResponse;
+import org.opensearch.client.opensearch.core.bulk.BulkOperation;
+import org.opensearch.client.opensearch.core.bulk.BulkResponseItem;
+import org.opensearch.client.opensearch.core.search.Hit;
+import org.opensearch.client.opensearch.core.search.Pit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 @Service
 public class SearchService {
 
     private static final Logger logger = LoggerFactory.getLogger(SearchService.class);
-    private static final String INDEX_NAME = "internships";
+    private static final String INDEX_NAME = SearchIndexManager.ALIAS;
 
     private final OpenSearchClient client;
+    private final OpenSearchAsyncClient asyncClient;
 
-    public SearchService(OpenSearchClient client) {
+    /** Relevance first; created_at and the unique id make the order total, as search_after requires. */
+    private static final List<SortOptions> TIEBREAK_SORT = List.of(
+            SortOptions.of(s -> s.score(sc -> sc.order(SortOrder.Desc))),
+            SortOptions.of(s -> s.field(f -> f.field("created_at").order(SortOrder.Desc))),
+            SortOptions.of(s -> s.field(f -> f.field("id").order(SortOrder.Asc))));
+
+    private static final List<String> TERM_FACETS = List.of("category", "work_mode", "location_state");
+    private static final List<String> STIPEND_FACETS = List.of("stipend_min", "stipend_max");
+    private static final String FACET_VALUES = "values";
+
+    private final Cache<String, SearchFacets> facetCache;
+
+    private volatile String shadowIndex;
+
+    @Value("${app.search.pit-keep-alive:1m}")
+    private String pitKeepAlive;
+
+    @Value("${app.search.pit-rotate-interval:30s}")
+    private Duration pitRotateInterval;
+
+    private final Object pitLock = new Object();
+    private volatile SharedPit sharedPit;
+
+    @Value("${app.search.facets.size:50}")
+    private int facetSize;
+
+    @Value("${app.search.facets.stipend-interval:5000}")
+    private long stipendInterval;
+
+    public SearchService(OpenSearchClient client,
+            OpenSearchAsyncClient asyncClient,
+            @Value("${app.search.facets.cache-ttl:60s}") Duration facetCacheTtl,
+            @Value("${app.search.facets.cache-size:10000}") long facetCacheSize) {
         this.client = client;
+        this.asyncClient = asyncClient;
+        this.facetCache = Caffeine.newBuilder()
+                .maximumSize(facetCacheSize)
+                .expireAfterWrite(facetCacheTtl)
+                .build();
     }
 
+    /**
+     * Searches active internships. Without a cursor this is a classic
+     * {@code from}/{@code size} page; with one, it continues after the cursor's
+     * last hit using {@code search_after} over a point-in-time snapshot, which
+     * costs the same at any depth and is not bounded by
+     * {@code max_result_window}. Either way, a full page comes back with a
+     * cursor for the next one.
+     * <p>
+     * Snapshots are not per client: a follow-up to a first-page cursor joins
+     * this instance's current one, which is replaced every
+     * {@code pit-rotate-interval}, and later cursors carry it along. Searches
+     * therefore open at most one point in time per interval however many
+     * cursors are issued or replayed; each expires {@code pit-keep-alive}
+     * after its last use.
+     * <p>
+     * With {@code withFacets}, filter counts come back in the same round trip:
+     * the selected filters move to {@code post_filter} so each term facet can
+     * ignore its own filter. Facets are cached per query and filter
+     * combination; on a cache hit the plain request is sent.
+     */
     public SearchResult searchInternships(
             String query,
             String category,
             String workMode,
             String locationState,
             int page,
-            int size) {
+            int size,
+            String cursor,
+            boolean withFacets) {
         if (page < 0) {
             throw new IllegalArgumentException("Page index must not be less than zero");
         }
         if (size <= 0) {
             throw new IllegalArgumentException("Page size must not be less than or equal to zero");
         }
-        try {
-            int from = Math.multiplyExact(page, size);
-            BoolQuery.Builder boolQuery = new BoolQuery.Builder();
-
-            // Full text query
-            if (query != null && !query.isBlank()) {
-                boolQuery.must(m -> m.multiMatch(mm -> mm
-                        .query(query)
-                        .fields("title", "description", "skills_all")));
-            }
-
-            // Filters
-            boolQuery.filter(f -> f.term(t -> t.field("status").value(v -> v.stringValue("active"))));
 
-            if (category != null && !category.isBlank()) {
-                boolQuery.filter(f -> f.term(t -> t.field("category").value(v -> v.stringValue(category))));
-            }
+        String filters = SearchCursor.fingerprint(query, category, workMode, locationState);
+        SearchCursor after = cursor != null && !cursor.isBlank() ? SearchCursor.decode(cursor) : null;
+        if (after != null && !after.filters().equals(filters)) {
+            throw new IllegalArgumentException("Cursor does not match the search parameters");
+        }
 
-            if (workMode != null && !workMode.isBlank()) {
-                boolQuery.filter(f -> f.term(t -> t.field("work_mode").value(v -> v.stringValue(workMode))));
-            }
+        String facetKey = facetKey(query, category, workMode, locationState);
+        SearchFacets facets = withFacets ? facetCache.getIfPresent(facetKey) : null;
+        boolean computeFacets = withFacets && facets == null;
 
-            if (locationState != null && !locationState.isBlank()) {
-                boolQuery.filter(f -> f.term(t -> t.field("location_state").value(v -> v.stringValue(locationState))));
-            }
+        try {
+            Map<String, Query> selected = selectedFilters(category, workMode, locationState);
+            String pitId = null;
 
-            SearchRequest request = new SearchRequest.Builder()
-                    .index(INDEX_NAME)
-                    .from(from)
+            SearchRequest.Builder request = new SearchRequest.Builder()
                     .size(size)
-                    .query(q -> q.bool(boolQuery.build()))
-                    .build();
+                    .source(src -> src.filter(f -> f.excludes(List.of(InternshipDocument.SUGGEST_FIELDS))))
+                    .sort(TIEBREAK_SORT);
+            if (computeFacets) {
+                request.query(buildQuery(query, List.of()))
+                        .aggregations(facetAggregations(selected));
+                if (!selected.isEmpty()) {
+                    request.postFilter(allOf(selected.values()));
+                }
+            } else {
+                request.query(buildQuery(query, selected.values()));
+            }
+            if (after == null) {
+                request.index(INDEX_NAME).from(Math.multiplyExact(page, size));
+            } else {
+                pitId = after.pit() != null ? after.pit() : sharedPit();
+                request.pit(new Pit.Builder().id(pitId).keepAlive(pitKeepAlive).build())
+                        .searchAfter(after.after());
+            }
 
-            SearchResponse<Void> response = client.search(request, Void.class);
+            SearchResponse<InternshipDocument> response = client.search(request.build(), InternshipDocument.class);
+            List<Hit<InternshipDocument>> rawHits = response.hits().hits();
 
-            List<UUID> ids = response.hits().hits().stream()
-                    .map(hit -> UUID.fromString(hit.id()))
+            List<InternshipDocument> hits = rawHits.stream()
+                    .map(Hit::source)
+                    .filter(Objects::nonNull)
                     .collect(Collectors.toList());
 
             long total = response.hits().total() != null
                     ? response.hits().total().value()
                     : 0;
 
-            return new SearchResult(ids, total);
+            String nextCursor = null;
+            if (rawHits.size() == size) {
+                nextCursor = new SearchCursor(pitId, rawHits.get(rawHits.size() - 1).sort(), filters).encode();
+            }
 
+            if (computeFacets) {
+                facets = parseFacets(response.aggregations());
+                facetCache.put(facetKey, facets);
+            }
+
+            return new SearchResult(hits, total, nextCursor, facets);
+
+        } catch (OpenSearchException e) {
+            if (after != null && e.status() == 404) {
+                if (after.pit() == null) {
+                    // The shared snapshot itself is gone; the next follow-up opens a new one
+                    sharedPit = null;
+                }
+                throw new IllegalArgumentException("Cursor has expired; restart the search", e);
+            }
+            throw e;
         } catch (IOException e) {
             logger.error("Failed to search internships", e);
-            return new SearchResult(List.of(), 0);
+            return new SearchResult(List.of(), 0, null, null);
+        }
+    }
+
+    private Query buildQuery(String query, Collection<Query> filters) {
+        BoolQuery.Builder boolQuery = new BoolQuery.Builder();
+
+        // Full text query
+        if (query != null && !query.isBlank()) {
+            boolQuery.must(m -> m.multiMatch(mm -> mm
+                    .query(query)
+                    .fields("title", "description", "skills_all")));
         }
+
+        // Filters
+        boolQuery.filter(f -> f.term(t -> t.field("status").value(v -> v.stringValue("active"))));
+        filters.forEach(boolQuery::filter);
+
+        return Query.of(q -> q.bool(boolQuery.build()));
     }
 
-    public void indexInternship(Internship internship) {
+    /** The user-selected term filters, keyed by field. */
+    private static Map<String, Query> selectedFilters(String category, String workMode, String locationState) {
+        Map<String, Query> filters = new LinkedHashMap<>();
+        putTermFilter(filters, "category", category);
+        putTermFilter(filters, "work_mode", workMode);
+        putTermFilter(filters, "location_state", locationState);
+        return filters;
+    }
+
+    private static void putTermFilter(Map<String, Query> filters, String field, String value) {
+        if (value != null && !value.isBlank()) {
+            filters.put(field, Query.of(q -> q.term(t -> t.field(field).value(v -> v.stringValue(value)))));
+        }
+    }
+
+    private static Query allOf(Collection<Query> filters) {
+        if (filters.isEmpty()) {
+            return Query.of(q -> q.matchAll(m -> m));
+        }
+        List<Query> all = List.copyOf(filters);
+        return Query.of(q -> q.bool(b -> b.filter(all)));
+    }
+
+    private Map<String, Aggregation> facetAggregations(Map<String, Query> selected) {
+        Map<String, Aggregation> aggregations = new HashMap<>();
+        for (String field : TERM_FACETS) {
+            List<Query> others = selected.entrySet().stream()
+                    .filter(e -> !e.getKey().equals(field))
+                    .map(Map.Entry::getValue)
+                    .toList();
+            aggregations.put(field, Aggregation.of(a -> a
+                    .filter(allOf(others))
+                    .aggregations(FACET_VALUES, v -> v.terms(t -> t.field(field).size(facetSize)))));
+        }
+        Query all = allOf(selected.values());
+        for (String field : STIPEND_FACETS) {
+            aggregations.put(field, Aggregation.of(a -> a
+                    .filter(all)
+                    .aggregations(FACET_VALUES, v -> v.histogram(h -> h
+                            .field(field)
+                            .interval((double) stipendInterval)))));
+        }
+        return aggregations;
+    }
+
+    private SearchFacets parseFacets(Map<String, Aggregate> aggregations) {
+        return new SearchFacets(
+                termCounts(aggregations, "category"),
+                termCounts(aggregations, "work_mode"),
+                termCounts(aggregations, "location_state"),
+                rangeCounts(aggregations, "stipend_min"),
+                rangeCounts(aggregations, "stipend_max"));
+    }
+
+    private static List<SearchFacets.TermCount> termCounts(Map<String, Aggregate> aggregations, String field) {
+        return aggregations.get(field).filter().aggregations().get(FACET_VALUES).sterms().buckets().array()
+                .stream()
+                .map(b -> new SearchFacets.TermCount(b.key(), b.docCount()))
+                .toList();
+    }
+
+    private List<SearchFacets.RangeCount> rangeCounts(Map<String, Aggregate> aggregations, String field) {
+        return aggregations.get(field).filter().aggregations().get(FACET_VALUES).histogram().buckets().array()
+                .stream()
+                .map(b -> new SearchFacets.RangeCount((long) b.key(), (long) b.key() + stipendInterval, b.docCount()))
+                .toList();
+    }
+
+    private static String facetKey(String query, String category, String workMode, String locationState) {
+        return String.join("\u0000",
+                Objects.toString(query, "").trim().toLowerCase(Locale.ROOT),
+                Objects.toString(category, ""),
+                Objects.toString(workMode, ""),
+                Objects.toString(locationState, ""));
+    }
+
+    private record SharedPit(String id, long openedAtNanos) {
+    }
+
+    /**
+     * The point in time that new cursor walks join, opened again once it is
+     * {@code pit-rotate-interval} old. Older ones stay valid for whoever is
+     * still paging through them and are never closed explicitly, since other
+     * clients may share them.
+     */
+    private String sharedPit() throws IOException {
+        SharedPit current = sharedPit;
+        if (current != null && System.nanoTime() - current.openedAtNanos() < pitRotateInterval.toNanos()) {
+            return current.id();
+        }
+        synchronized (pitLock) {
+            current = sharedPit;
+            if (current == null || System.nanoTime() - current.openedAtNanos() >= pitRotateInterval.toNanos()) {
+                String id = client.createPit(p -> p
+                        .targetIndexes(INDEX_NAME)
+                        .keepAlive(t -> t.time(pitKeepAlive)))
+                        .pitId();
+                current = new SharedPit(id, System.nanoTime());
+                sharedPit = current;
+            }
+            return current.id();
+        }
+    }
+
+    /**
+     * Applies {@code operations} to every index that currently receives live
+     * writes (the alias, plus the index being rebuilt, if any). Waits for the
+     * changes to become searchable through the alias; this runs off the request
+     * path, and callers invalidate cached results once it returns. The index
+     * being rebuilt is written without waiting: it has refreshes disabled until
+     * the rebuild finishes, so a wait_for there would block until then.
+     *
+     * @return ids of documents whose write did not land and should be retried
+     */
+    public Set<UUID> bulkLive(List<BulkOperation> operations) {
+        Set<UUID> failed = new HashSet<>();
+        for (String index : writeIndices()) {
+            Refresh refresh = INDEX_NAME.equals(index) ? Refresh.WaitFor : Refresh.False;
+            try {
+                BulkResponse response = bulkAsync(index, operations, refresh).join();
+                for (BulkResponseItem item : response.items()) {
+                    // 409: a newer version of the document is already indexed
+                    if (item.error() != null && item.status() != 409) {
+                        logger.warn("Failed to write internship {} to {}: {}", item.id(), index,
+                                item.error().reason());
+                        failed.add(UUID.fromString(item.id()));
+                    }
+                }
+            } catch (CompletionException e) {
+                logger.error("Bulk write of {} operations to {} failed", operations.size(), index, e.getCause());
+                operations.forEach(op -> failed.add(UUID.fromString(operationId(op))));
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Sends a single _bulk request against {@code index} without waiting for a
+     * refresh. Callers are expected to inspect item-level errors on the response;
+     * a 409 on an item means a newer version of the document is already indexed.
+     */
+    public CompletableFuture<BulkResponse> bulkAsync(String index, List<BulkOperation> operations) {
+        return bulkAsync(index, operations, Refresh.False);
+    }
+
+    private CompletableFuture<BulkResponse> bulkAsync(String index, List<BulkOperation> operations,
+            Refresh refresh) {
         try {
-            InternshipDocument doc = InternshipDocument.from(internship);
-            IndexRequest<InternshipDocument> request = IndexRequest.of(i -> i
-                    .index(INDEX_NAME)
-                    .id(internship.getId().toString())
-                    .document(doc)
-                    .refresh(Refresh.WaitFor));
-
-            client.index(request);
-            logger.info("Indexed internship: {}", internship.getId());
+            return asyncClient.bulk(BulkRequest.of(b -> b
+                    .index(index)
+                    .refresh(refresh)
+                    .operations(operations)));
         } catch (IOException e) {
-            logger.error("Failed to index internship: {}", internship.getId(), e);
-            // In a real production system we might want to throw this up or add to a DLQ
-            throw new RuntimeException("Failed to index internship", e);
+            return CompletableFuture.failedFuture(e);
         }
     }
 
-    public void deleteInternship(UUID id) {
+    public void refresh(String index) {
         try {
-            client.delete(d -> d
-                    .index(INDEX_NAME)
-                    .id(id.toString())
-                    .refresh(Refresh.WaitFor));
-            logger.info("Deleted internship from index: {}", id);
+            client.indices().refresh(r -> r.index(index));
         } catch (IOException e) {
-            logger.error("Failed to delete internship from index: {}", id, e);
-            throw new RuntimeException("Failed to delete internship from index", e);
+            logger.error("Failed to refresh index: {}", index, e);
+            throw new RuntimeException("Failed to refresh index", e);
         }
     }
+
+    /**
+     * While a blue/green rebuild is backfilling {@code index}, live writes are
+     * mirrored into it so the new index does not miss changes made during the
+     * rebuild. External versioning keeps the backfill from overwriting them.
+     */
+    public void startShadowWrites(String index) {
+        this.shadowIndex = index;
+    }
+
+    public void stopShadowWrites() {
+        this.shadowIndex = null;
+    }
+
+    List<String> writeIndices() {
+        String shadow = shadowIndex;
+        return shadow == null ? List.of(INDEX_NAME) : List.of(INDEX_NAME, shadow);
+    }
+
+    /**
+     * Builds an index operation versioned by the row's updated_at, so an older
+     * snapshot of a document can never replace a newer one. Equal versions are
+     * accepted so that reindexing an unchanged row is not a conflict.
+     */
+    public static BulkOperation indexOperation(Internship internship) {
+        InternshipDocument doc = InternshipDocument.from(internship, internship.getActiveApplicationCount());
+        long version = versionOf(internship);
+        return BulkOperation.of(op -> op.index(i -> i
+                .id(doc.id())
+                .document(doc)
+                .version(version)
+                .versionType(VersionType.ExternalGte)));
+    }
+
+    public static BulkOperation deleteOperation(UUID id) {
+        long version = System.currentTimeMillis();
+        return BulkOperation.of(op -> op.delete(d -> d
+                .id(id.toString())
+                .version(version)
+                .versionType(VersionType.External)));
+    }
+
+    private static String operationId(BulkOperation op) {
+        return op.isIndex() ? op.index().id() : op.delete().id();
+    }
+
+    private static long versionOf(Internship internship) {
+        return internship.getUpdatedAt() != null
+                ? internship.getUpdatedAt().toEpochMilli()
+                : System.currentTimeMillis();
+    }
 }
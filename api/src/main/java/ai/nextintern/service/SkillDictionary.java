@@ -0,0 +1,248 @@
+package ai.nextintern.service;
+
+import ai.nextintern.entity.Skill;
+import ai.nextintern.event.SkillCreatedEvent;
+import ai.nextintern.repository.SkillRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * In-process copy of the {@code skills} table for resolution and autocomplete.
+ * <p>
+ * The whole dictionary lives in one immutable snapshot that is swapped
+ * atomically: lookups never lock and never touch the database. Names and
+ * aliases are case- and accent-folded. Exact resolution goes through a hash
+ * map; prefix lookups go through a flattened trie, i.e. every folded name,
+ * alias and later word start in one sorted array, where a prefix's subtree is
+ * the contiguous range found by binary search.
+ * <p>
+ * The snapshot is loaded at startup, extended in place when this instance
+ * creates a skill, and reloaded every {@code refresh-interval-seconds} to pick up
+ * changes made elsewhere.
+ */
+@Service
+public class SkillDictionary {
+
+    private static final Logger logger = LoggerFactory.getLogger(SkillDictionary.class);
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final SkillRepository skillRepository;
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "skill-dictionary-refresh");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile Snapshot snapshot = Snapshot.build(List.of());
+
+    @Value("${app.skills.dictionary.refresh-interval-seconds:300}")
+    private long refreshIntervalSeconds;
+
+    public SkillDictionary(SkillRepository skillRepository) {
+        this.skillRepository = skillRepository;
+    }
+
+    @PostConstruct
+    void start() {
+        reload();
+        refresher.scheduleWithFixedDelay(this::reloadQuietly, refreshIntervalSeconds, refreshIntervalSeconds,
+                TimeUnit.SECONDS);
+    }
+
+    public void reload() {
+        List<Entry> entries = skillRepository.findAll().stream().map(Entry::of).toList();
+        snapshot = Snapshot.build(entries);
+        logger.info("Skill dictionary loaded: {} skills, {} prefix keys", entries.size(), snapshot.keys.length);
+    }
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (Exception e) {
+            logger.warn("Skill dictionary refresh failed; keeping the previous snapshot", e);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onSkillCreated(SkillCreatedEvent event) {
+        Snapshot current = snapshot;
+        if (current.byFolded.containsKey(fold(event.skill().getName()))) {
+            return;
+        }
+        List<Entry> entries = new ArrayList<>(Arrays.asList(current.entries));
+        entries.add(Entry.of(event.skill()));
+        snapshot = Snapshot.build(entries);
+    }
+
+    /** Resolves a name or alias, ignoring case, accents and extra whitespace. */
+    public Optional<Integer> resolveId(String nameOrAlias) {
+        Integer index = snapshot.byFolded.get(fold(nameOrAlias));
+        return index == null ? Optional.empty() : Optional.of(snapshot.entries[index].id());
+    }
+
+    /**
+     * Resolves many names at once; the result maps each input that resolved to
+     * its skill id, in input order.
+     */
+    public Map<String, Integer> resolveIds(Collection<String> namesOrAliases) {
+        Snapshot current = snapshot;
+        Map<String, Integer> ids = new LinkedHashMap<>();
+        for (String name : namesOrAliases) {
+            Integer index = current.byFolded.get(fold(name));
+            if (index != null) {
+                ids.put(name, current.entries[index].id());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Skills whose name, an alias, or a later word of either starts with
+     * {@code prefix}. Skills whose name itself matches rank first, then shorter
+     * names.
+     */
+    public List<Skill> complete(String prefix, int limit) {
+        String folded = fold(prefix);
+        if (folded.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Snapshot current = snapshot;
+        int from = lowerBound(current.keys, folded);
+        Map<Integer, Boolean> matches = new LinkedHashMap<>();
+        for (int i = from; i < current.keys.length && current.keys[i].startsWith(folded); i++) {
+            int index = current.targets[i];
+            boolean nameMatch = current.entries[index].foldedName().startsWith(folded);
+            matches.merge(index, nameMatch, Boolean::logicalOr);
+        }
+        return matches.entrySet().stream()
+                .sorted(Comparator.<Map.Entry<Integer, Boolean>, Boolean>comparing(Map.Entry::getValue).reversed()
+                        .thenComparingInt(e -> current.entries[e.getKey()].name().length())
+                        .thenComparing(e -> current.entries[e.getKey()].name()))
+                .limit(limit)
+                .map(e -> current.entries[e.getKey()].toSkill())
+                .toList();
+    }
+
+    public int size() {
+        return snapshot.entries.length;
+    }
+
+    static String fold(String value) {
+        if (value == null) {
+            return "";
+        }
+        String stripped = DIACRITICS.matcher(Normalizer.normalize(value, Normalizer.Form.NFKD)).replaceAll("");
+        return WHITESPACE.matcher(stripped.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private static int lowerBound(String[] keys, String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private record Entry(Integer id, String name, String category, String[] aliases, String foldedName) {
+
+        static Entry of(Skill skill) {
+            return new Entry(skill.getId(), skill.getName(), skill.getCategory(),
+                    skill.getAliases() != null ? skill.getAliases().clone() : new String[0],
+                    fold(skill.getName()));
+        }
+
+        /** A detached copy; callers may not mutate the dictionary through it. */
+        Skill toSkill() {
+            return Skill.builder().id(id).name(name).category(category).aliases(aliases.clone()).build();
+        }
+    }
+
+    /**
+     * @param keys    sorted folded prefix keys
+     * @param targets entry index for each key
+     */
+    private record Snapshot(Entry[] entries, Map<String, Integer> byFolded, String[] keys, int[] targets) {
+
+        static Snapshot build(List<Entry> entries) {
+            Map<String, Integer> byFolded = new HashMap<>();
+            List<String> keys = new ArrayList<>();
+            List<Integer> targets = new ArrayList<>();
+
+            // Names first so that a name always wins over another skill's alias
+            for (int i = 0; i < entries.size(); i++) {
+                byFolded.put(entries.get(i).foldedName(), i);
+            }
+            for (int i = 0; i < entries.size(); i++) {
+                Entry entry = entries.get(i);
+                addKeys(entry.foldedName(), i, keys, targets);
+                for (String alias : entry.aliases()) {
+                    String folded = fold(alias);
+                    if (!folded.isEmpty()) {
+                        byFolded.putIfAbsent(folded, i);
+                        addKeys(folded, i, keys, targets);
+                    }
+                }
+            }
+
+            Integer[] order = new Integer[keys.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing(keys::get));
+            String[] sortedKeys = new String[order.length];
+            int[] sortedTargets = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                sortedKeys[i] = keys.get(order[i]);
+                sortedTargets[i] = targets.get(order[i]);
+            }
+            return new Snapshot(entries.toArray(Entry[]::new), Map.copyOf(byFolded), sortedKeys, sortedTargets);
+        }
+
+        /** The folded text plus each later word start, so "machine learning" also matches "lea". */
+        private static void addKeys(String folded, int target, List<String> keys, List<Integer> targets) {
+            if (folded.isEmpty()) {
+                return;
+            }
+            keys.add(folded);
+            targets.add(target);
+            for (int i = folded.indexOf(' '); i >= 0; i = folded.indexOf(' ', i + 1)) {
+                keys.add(folded.substring(i + 1));
+                targets.add(target);
+            }
+        }
+    }
+}
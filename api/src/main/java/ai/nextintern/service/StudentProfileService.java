@@ -3,7 +3,9 @@ package ai.nextintern.service;
 import ai.nextintern.dto.StudentProfileResponse;
 import ai.nextintern.dto.UpdateProfileRequest;
 import ai.nextintern.entity.*;
+import ai.nextintern.event.StudentProfileChangedEvent;
 import ai.nextintern.repository.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,24 +18,23 @@ public class StudentProfileService {
     private final StudentProfileRepository profileRepository;
     private final UserRepository userRepository;
     private final SkillRepository skillRepository;
-    private final StudentDocumentRepository documentRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     public StudentProfileService(StudentProfileRepository profileRepository,
             UserRepository userRepository,
             SkillRepository skillRepository,
-            StudentDocumentRepository documentRepository) {
+            ApplicationEventPublisher applicationEventPublisher) {
         this.profileRepository = profileRepository;
         this.userRepository = userRepository;
         this.skillRepository = skillRepository;
-        this.documentRepository = documentRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     @Transactional(readOnly = true)
     public StudentProfileResponse getProfile(UUID userId) {
-        StudentProfile profile = profileRepository.findByUserId(userId)
+        StudentProfileView profile = profileRepository.findViewByUserId(userId)
                 .orElseThrow(() -> new NoSuchElementException("Profile not found"));
-        User user = profile.getUser();
-        return toResponse(profile, user);
+        return toResponse(profile);
     }
 
     @Transactional
@@ -76,7 +77,9 @@ public class StudentProfileService {
         // Skills updated via separate endpoint
 
         profileRepository.save(profile);
-        return toResponse(profile, user);
+        applicationEventPublisher.publishEvent(new StudentProfileChangedEvent(userId));
+        // The view query flushes the changes above first
+        return getProfile(userId);
     }
 
     @Transactional
@@ -117,36 +120,34 @@ public class StudentProfileService {
         }
 
         profileRepository.save(profile);
+        applicationEventPublisher.publishEvent(new StudentProfileChangedEvent(userId));
     }
 
-    private StudentProfileResponse toResponse(StudentProfile profile, User user) {
-        List<StudentProfileResponse.SkillInfo> skillInfos = profile.getSkills().stream()
+    private StudentProfileResponse toResponse(StudentProfileView profile) {
+        List<StudentProfileResponse.SkillInfo> skillInfos = profile.skills().stream()
                 .map(ss -> new StudentProfileResponse.SkillInfo(
-                        ss.getSkill().getId(),
-                        ss.getSkill().getName(),
-                        ss.getSkill().getCategory(),
-                        ss.getProficiency()))
+                        ss.skillId(),
+                        ss.name(),
+                        ss.category(),
+                        ss.proficiency()))
                 .collect(Collectors.toList());
 
-        boolean hasCv = documentRepository.countByStudentProfileIdAndDocumentType(profile.getId(), StudentDocument.DocumentType.CV) > 0;
-        int recLetterCount = (int) documentRepository.countByStudentProfileIdAndDocumentType(profile.getId(), StudentDocument.DocumentType.RECOMMENDATION_LETTER);
-
         return new StudentProfileResponse(
-                profile.getId(),
-                user.getId(),
-                user.getFullName(),
-                user.getEmail(),
-                profile.getEducationLevel(),
-                profile.getUniversity(),
-                profile.getGraduationYear(),
-                profile.getLocationCity(),
-                profile.getLocationState(),
-                profile.getLocationCountry(),
-                profile.getInterests() != null ? Arrays.asList(profile.getInterests()) : List.of(),
-                profile.getBio(),
-                profile.getLinkedinUrl(),
-                hasCv,
-                recLetterCount,
+                profile.profileId(),
+                profile.userId(),
+                profile.fullName(),
+                profile.email(),
+                profile.educationLevel(),
+                profile.university(),
+                profile.graduationYear(),
+                profile.locationCity(),
+                profile.locationState(),
+                profile.locationCountry(),
+                profile.interests() != null ? Arrays.asList(profile.interests()) : List.of(),
+                profile.bio(),
+                profile.linkedinUrl(),
+                profile.cvCount() > 0,
+                (int) profile.recommendationLetterCount(),
                 skillInfos,
                 computeCompleteness(profile));
     }
@@ -156,16 +157,16 @@ public class StudentProfileService {
      * Formula: (filled_fields / total_fields) * 100
      * Fields: education, skills, location, interests, bio, linkedin_url
      */
-    private int computeCompleteness(StudentProfile p) {
+    private int computeCompleteness(StudentProfileView p) {
         int filled = 0;
         int total = 6;
         
-        if (p.getEducationLevel() != null && !p.getEducationLevel().isBlank()) filled++;
-        if (p.getSkills() != null && !p.getSkills().isEmpty()) filled++;
-        if (p.getLocationCity() != null && !p.getLocationCity().isBlank()) filled++;
-        if (p.getInterests() != null && p.getInterests().length > 0) filled++;
-        if (p.getBio() != null && !p.getBio().isBlank()) filled++;
-        if (p.getLinkedinUrl() != null && !p.getLinkedinUrl().isBlank()) filled++;
+        if (p.educationLevel() != null && !p.educationLevel().isBlank()) filled++;
+        if (!p.skills().isEmpty()) filled++;
+        if (p.locationCity() != null && !p.locationCity().isBlank()) filled++;
+        if (p.interests() != null && p.interests().length > 0) filled++;
+        if (p.bio() != null && !p.bio().isBlank()) filled++;
+        if (p.linkedinUrl() != null && !p.linkedinUrl().isBlank()) filled++;
         
         return (int) (((double) filled / total) * 100);
     }
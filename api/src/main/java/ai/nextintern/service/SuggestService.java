@@ -0,0 +1,147 @@
+package ai.nextintern.service;
+
+import ai.nextintern.dto.InternshipDocument;
+import ai.nextintern.dto.SuggestResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.opensearch._types.OpenSearchException;
+import org.opensearch.client.opensearch.core.SearchResponse;
+import org.opensearch.client.opensearch.core.search.CompletionContext;
+import org.opensearch.client.opensearch.core.search.CompletionSuggestOption;
+import org.opensearch.client.opensearch.core.search.FieldSuggester;
+import org.opensearch.client.opensearch.core.search.Suggest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Typeahead over internship titles, company names and skills, backed by the
+ * completion fields in the search index. All three come back from a single
+ * size-0 request restricted to active internships; answers are cached per
+ * normalized prefix, since keystroke traffic concentrates on short prefixes.
+ */
+@Service
+public class SuggestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuggestService.class);
+    private static final int MAX_LIMIT = 10;
+    private static final int MAX_PREFIX_LENGTH = 50;
+    private static final List<CompletionContext> ACTIVE_ONLY = List.of(
+            CompletionContext.of(c -> c.context(ctx -> ctx.category("active"))));
+
+    private final OpenSearchClient client;
+    private final Cache<String, SuggestResponse> cache;
+    private final Timer latency;
+
+    public SuggestService(OpenSearchClient client,
+            MeterRegistry meterRegistry,
+            @Value("${app.search.suggest.cache-ttl:5m}") Duration cacheTtl,
+            @Value("${app.search.suggest.cache-size:50000}") long cacheSize) {
+        this.client = client;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "search.suggest");
+        // Target: p99 under 20ms
+        this.latency = Timer.builder("search.suggest.latency")
+                .publishPercentiles(0.5, 0.99)
+                .serviceLevelObjectives(Duration.ofMillis(20))
+                .register(meterRegistry);
+    }
+
+    public SuggestResponse suggest(String prefix, int limit) {
+        String normalized = prefix == null ? "" : prefix.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty()) {
+            return SuggestResponse.empty("");
+        }
+        if (normalized.length() > MAX_PREFIX_LENGTH) {
+            normalized = normalized.substring(0, MAX_PREFIX_LENGTH);
+        }
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        String key = normalized + "|" + size;
+        String effectivePrefix = normalized;
+
+        return latency.record(() -> cache.get(key, k -> fetch(effectivePrefix, size)));
+    }
+
+    private SuggestResponse fetch(String prefix, int size) {
+        try {
+            SearchResponse<InternshipDocument> response = client.search(s -> s
+                    .index(SearchIndexManager.ALIAS)
+                    .size(0)
+                    .source(src -> src.filter(f -> f.includes("title", "provider_name")))
+                    .suggest(sg -> sg
+                            .suggesters("titles", completion(prefix, "title_suggest", size))
+                            .suggesters("companies", completion(prefix, "provider_suggest", size))
+                            .suggesters("skills", completion(prefix, "skill_suggest", size))),
+                    InternshipDocument.class);
+
+            Map<String, List<Suggest<InternshipDocument>>> suggest = response.suggest();
+            return new SuggestResponse(prefix,
+                    distinct(suggest, "titles", option -> option.source() != null ? option.source().title() : null, size),
+                    distinct(suggest, "companies",
+                            option -> option.source() != null ? option.source().providerName() : null, size),
+                    distinct(suggest, "skills", CompletionSuggestOption::text, size));
+        } catch (IOException e) {
+            logger.error("Failed to fetch suggestions for '{}'", prefix, e);
+            // Not cached: Caffeine does not store a null mapping
+            return null;
+        } catch (OpenSearchException e) {
+            // Typically an index built before the completion fields existed; a rebuild adds them
+            logger.warn("Suggest query for '{}' rejected ({}); rebuild the search index if it predates the"
+                    + " suggest fields", prefix, e.getMessage());
+            return null;
+        }
+    }
+
+    private static FieldSuggester completion(String prefix, String field, int size) {
+        return FieldSuggester.of(f -> f
+                .prefix(prefix)
+                .completion(c -> c
+                        .field(field)
+                        .size(size)
+                        .skipDuplicates(true)
+                        .contexts("status", ACTIVE_ONLY)));
+    }
+
+    /**
+     * Several documents can suggest the same title or company (and a title can
+     * match on a later word), so options are reduced to distinct display values.
+     */
+    private static List<String> distinct(Map<String, List<Suggest<InternshipDocument>>> suggest, String name,
+            Function<CompletionSuggestOption<InternshipDocument>, String> display, int size) {
+        List<Suggest<InternshipDocument>> entries = suggest == null ? null : suggest.get(name);
+        if (entries == null) {
+            return List.of();
+        }
+        Set<String> values = new LinkedHashSet<>();
+        for (Suggest<InternshipDocument> entry : entries) {
+            if (!entry.isCompletion()) {
+                continue;
+            }
+            for (CompletionSuggestOption<InternshipDocument> option : entry.completion().options()) {
+                String value = display.apply(option);
+                if (value != null && values.size() < size) {
+                    values.add(value);
+                }
+            }
+        }
+        return List.copyOf(values);
+    }
+}
@@ -0,0 +1,155 @@
+package ai.nextintern.service;
+
+import ai.nextintern.entity.Internship;
+import ai.nextintern.repository.InternshipRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Precomputed list of the most-applied-to open internships, kept in memory as
+ * the recommendation fallback when the recs service is unavailable. Rebuilt
+ * off the request path every {@code refresh-interval-seconds}; picks are
+ * served without touching the database.
+ */
+@Service
+public class TrendingInternshipsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingInternshipsService.class);
+
+    public record Pick(UUID internshipId, double score, List<String> matchedSkills, boolean stateMatch) {
+    }
+
+    private record Entry(UUID id, String state, Set<String> skills, double popularity) {
+    }
+
+    private final InternshipRepository internshipRepository;
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "trending-internships-refresh");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile List<Entry> trending = List.of();
+
+    @Value("${app.recs.fallback.size:200}")
+    private int size;
+
+    @Value("${app.recs.fallback.window-days:7}")
+    private int windowDays;
+
+    @Value("${app.recs.fallback.refresh-interval-seconds:300}")
+    private long refreshIntervalSeconds;
+
+    public TrendingInternshipsService(InternshipRepository internshipRepository) {
+        this.internshipRepository = internshipRepository;
+    }
+
+    @PostConstruct
+    void start() {
+        refresher.scheduleWithFixedDelay(this::refreshQuietly, 0, refreshIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public void refresh() {
+        Instant since = Instant.now().minus(Duration.ofDays(windowDays));
+        List<Object[]> rows = internshipRepository.findTrendingActive(since, PageRequest.of(0, size));
+        if (rows.isEmpty()) {
+            trending = List.of();
+            return;
+        }
+
+        List<UUID> ids = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            ids.add((UUID) row[0]);
+        }
+        Map<UUID, Internship> byId = internshipRepository.findAllWithSkillsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Internship::getId, i -> i));
+
+        // Popularity is the rank, scaled to (0, 1], so one viral posting doesn't flatten the rest
+        List<Entry> entries = new ArrayList<>(ids.size());
+        for (int rank = 0; rank < ids.size(); rank++) {
+            Internship i = byId.get(ids.get(rank));
+            if (i == null) {
+                continue;
+            }
+            Set<String> skills = i.getSkills().stream()
+                    .map(is -> is.getSkill().getName().toLowerCase(Locale.ROOT))
+                    .collect(Collectors.toUnmodifiableSet());
+            entries.add(new Entry(i.getId(), i.getLocationState(), skills,
+                    1.0 - (double) rank / ids.size()));
+        }
+        trending = List.copyOf(entries);
+        logger.debug("Trending internships refreshed: {} entries", entries.size());
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            logger.warn("Trending internships refresh failed; keeping the previous list", e);
+        }
+    }
+
+    /**
+     * Trending internships re-ranked for one student: skill overlap first, then
+     * same state, then popularity. Internships matching neither skills nor
+     * state only fill the list when there are not enough matches.
+     */
+    public List<Pick> pick(String state, Collection<String> skillNames, Collection<UUID> excludeIds, int limit) {
+        Set<String> wanted = skillNames.stream()
+                .map(name -> name.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+
+        List<Pick> matched = new ArrayList<>();
+        List<Pick> rest = new ArrayList<>();
+        for (Entry entry : trending) {
+            if (excludeIds.contains(entry.id())) {
+                continue;
+            }
+            List<String> overlap = entry.skills().stream().filter(wanted::contains).sorted().toList();
+            boolean stateMatch = state != null && !state.isBlank() && state.equalsIgnoreCase(entry.state());
+            double skillScore = wanted.isEmpty() ? 0.0 : (double) overlap.size() / wanted.size();
+            double score = 0.6 * skillScore + 0.3 * (stateMatch ? 1.0 : 0.0) + 0.1 * entry.popularity();
+            Pick pick = new Pick(entry.id(), score, overlap, stateMatch);
+            (overlap.isEmpty() && !stateMatch ? rest : matched).add(pick);
+        }
+
+        Comparator<Pick> byScore = Comparator.comparingDouble(Pick::score).reversed();
+        matched.sort(byScore);
+        rest.sort(byScore);
+        List<Pick> picks = new ArrayList<>(Math.min(limit, trending.size()));
+        for (List<Pick> source : List.of(matched, rest)) {
+            for (Pick pick : source) {
+                if (picks.size() >= limit) {
+                    return picks;
+                }
+                picks.add(pick);
+            }
+        }
+        return picks;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+}
@@ -0,0 +1,11 @@
+-- Transactional outbox: events are written here in the same transaction as the
+-- change they describe, and OutboxRelay sends them to SQS after commit.
+CREATE TABLE outbox_events (
+    id          BIGSERIAL PRIMARY KEY,
+    queue       VARCHAR(255) NOT NULL,
+    event_type  VARCHAR(100) NOT NULL,
+    payload     JSONB NOT NULL,
+    attempts    INTEGER NOT NULL DEFAULT 0,
+    last_error  TEXT,
+    created_at  TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
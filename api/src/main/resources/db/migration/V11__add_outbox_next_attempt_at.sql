@@ -0,0 +1,7 @@
+-- Failed sends back off instead of being retried on every relay pass, and a
+-- relay's claim on a batch is a lease: rows it never reports back on become
+-- due again once next_attempt_at passes.
+ALTER TABLE outbox_events
+    ADD COLUMN next_attempt_at TIMESTAMPTZ NOT NULL DEFAULT NOW();
+
+CREATE INDEX idx_outbox_events_next_attempt_at ON outbox_events (next_attempt_at);
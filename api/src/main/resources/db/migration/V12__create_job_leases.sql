@@ -0,0 +1,10 @@
+-- Cluster-wide leases for background jobs that only one replica should run at
+-- a time. A replica takes a lease with a conditional UPDATE; started_at records
+-- the latest run so other replicas can tell that it has already been done.
+CREATE TABLE job_leases (
+    name          VARCHAR(100) PRIMARY KEY,
+    started_at    TIMESTAMPTZ NOT NULL DEFAULT 'epoch',
+    locked_until  TIMESTAMPTZ NOT NULL DEFAULT 'epoch'
+);
+
+INSERT INTO job_leases (name) VALUES ('recs-materialize-full');
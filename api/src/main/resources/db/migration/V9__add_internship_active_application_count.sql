@@ -0,0 +1,14 @@
+-- Denormalized count of an internship's applications that are neither WITHDRAWN
+-- nor REJECTED. Maintained by ApplicationService in the same transaction as the
+-- application change, and reconciled periodically by ApplicationCountReconciler.
+ALTER TABLE internships ADD COLUMN active_application_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE internships i
+SET active_application_count = c.n
+FROM (
+    SELECT internship_id, COUNT(*) AS n
+    FROM applications
+    WHERE status NOT IN ('WITHDRAWN', 'REJECTED')
+    GROUP BY internship_id
+) c
+WHERE c.internship_id = i.id;
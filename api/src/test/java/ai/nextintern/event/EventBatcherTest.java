@@ -0,0 +1,83 @@
+package ai.nextintern.event;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventBatcherTest {
+
+    @Mock
+    private EventPublisher eventPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EventBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        batcher = new EventBatcher(eventPublisher, meterRegistry);
+        ReflectionTestUtils.setField(batcher, "linger", Duration.ofMillis(200));
+        ReflectionTestUtils.setField(batcher, "maxInFlight", 2);
+        batcher.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        batcher.shutdown();
+    }
+
+    @Test
+    void sendsFullBatchesAtOnceAndTheRestAfterTheLinger() throws Exception {
+        List<List<Object>> sent = new ArrayList<>();
+        when(eventPublisher.publishBatch(anyString(), anyList())).thenAnswer(invocation -> {
+            synchronized (sent) {
+                sent.add(List.copyOf(invocation.getArgument(1)));
+            }
+            return List.of();
+        });
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            futures.add(batcher.submit(i % 2 == 0 ? "a" : "b", "event-" + i));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        verify(eventPublisher, times(2)).publishBatch(eq("a"), anyList());
+        verify(eventPublisher, times(2)).publishBatch(eq("b"), anyList());
+        assertThat(sent).extracting(List::size).containsExactlyInAnyOrder(10, 3, 10, 2);
+        assertThat(meterRegistry.get("events.publisher.batch.size").summary().count()).isEqualTo(4);
+        assertThat(meterRegistry.get("events.publisher.buffer.depth").gauge().value()).isZero();
+    }
+
+    @Test
+    void completesEachCallerIndividually() throws Exception {
+        List<String> events = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            events.add("event-" + i);
+        }
+        when(eventPublisher.publishBatch(eq("a"), anyList())).thenReturn(List.of(events.get(3)));
+
+        List<CompletableFuture<Void>> futures = events.stream().map(event -> batcher.submit("a", event)).toList();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .exceptionally(e -> null)
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(futures.get(3)).isCompletedExceptionally();
+        assertThat(futures).filteredOn(future -> !future.isCompletedExceptionally()).hasSize(9);
+    }
+}
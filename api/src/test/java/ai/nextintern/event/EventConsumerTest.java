@@ -0,0 +1,145 @@
+package ai.nextintern.event;
+
+import ai.nextintern.event.dto.EventType;
+import ai.nextintern.event.dto.InternshipEvent;
+import ai.nextintern.service.IndexSyncService;
+import ai.nextintern.service.IndexSyncService.Op;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventConsumerTest {
+
+    private static final Instant T0 = Instant.parse("2024-05-01T10:00:00Z");
+
+    @Mock
+    private IndexSyncService indexSyncService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EventConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new EventConsumer(indexSyncService, meterRegistry);
+    }
+
+    @Test
+    void dropsDuplicateEventIdsWithinABatch() {
+        when(indexSyncService.apply(any())).thenReturn(Set.of());
+        UUID internshipId = UUID.randomUUID();
+        InternshipEvent event = event(EventType.INTERNSHIP_UPDATED, internshipId, 0);
+
+        consumer.consume(Arrays.asList(event, event));
+
+        assertThat(applied()).containsExactly(Map.entry(internshipId, Op.UPSERT));
+        assertThat(count("duplicate")).isEqualTo(1.0);
+        assertThat(count("applied")).isEqualTo(1.0);
+    }
+
+    @Test
+    void dropsRedeliveriesOfAppliedBatches() {
+        when(indexSyncService.apply(any())).thenReturn(Set.of());
+        InternshipEvent event = event(EventType.INTERNSHIP_CREATED, UUID.randomUUID(), 0);
+
+        consumer.consume(Arrays.asList(event));
+        consumer.consume(Arrays.asList(event));
+
+        verify(indexSyncService, times(1)).apply(any());
+        assertThat(count("duplicate")).isEqualTo(1.0);
+    }
+
+    @Test
+    void retriesBatchesThatFailed() {
+        UUID internshipId = UUID.randomUUID();
+        when(indexSyncService.apply(any())).thenReturn(Set.of(internshipId)).thenReturn(Set.of());
+        InternshipEvent event = event(EventType.INTERNSHIP_UPDATED, internshipId, 0);
+
+        assertThatThrownBy(() -> consumer.consume(Arrays.asList(event))).isInstanceOf(IllegalStateException.class);
+        consumer.consume(Arrays.asList(event));
+
+        verify(indexSyncService, times(2)).apply(any());
+        assertThat(count("duplicate")).isZero();
+    }
+
+    @Test
+    void keepsTheNewestEventPerInternshipWhateverTheArrivalOrder() {
+        when(indexSyncService.apply(any())).thenReturn(Set.of());
+        UUID deletedLast = UUID.randomUUID();
+        UUID updatedLast = UUID.randomUUID();
+
+        consumer.consume(Arrays.asList(
+                event(EventType.INTERNSHIP_DELETED, deletedLast, 2),
+                event(EventType.INTERNSHIP_UPDATED, deletedLast, 1),
+                event(EventType.INTERNSHIP_UPDATED, updatedLast, 3),
+                event(EventType.INTERNSHIP_DELETED, updatedLast, 2),
+                event(EventType.INTERNSHIP_CREATED, updatedLast, 1)));
+
+        assertThat(applied()).containsOnly(Map.entry(deletedLast, Op.DELETE), Map.entry(updatedLast, Op.UPSERT));
+        assertThat(count("collapsed")).isEqualTo(3.0);
+        assertThat(count("applied")).isEqualTo(2.0);
+    }
+
+    @Test
+    void countRefreshesNeverReplaceAnUpsertOrDelete() {
+        when(indexSyncService.apply(any())).thenReturn(Set.of());
+        UUID updated = UUID.randomUUID();
+        UUID deleted = UUID.randomUUID();
+        UUID countOnly = UUID.randomUUID();
+
+        consumer.consume(Arrays.asList(
+                event(EventType.INTERNSHIP_UPDATED, updated, 1),
+                event(EventType.INTERNSHIP_APPLICANT_COUNT_CHANGED, updated, 2),
+                event(EventType.INTERNSHIP_APPLICANT_COUNT_CHANGED, deleted, 2),
+                event(EventType.INTERNSHIP_DELETED, deleted, 1),
+                event(EventType.INTERNSHIP_APPLICANT_COUNT_CHANGED, countOnly, 1),
+                event(EventType.INTERNSHIP_APPLICANT_COUNT_CHANGED, countOnly, 2)));
+
+        assertThat(applied()).containsOnly(
+                Map.entry(updated, Op.UPSERT),
+                Map.entry(deleted, Op.DELETE),
+                Map.entry(countOnly, Op.APPLICANT_COUNT));
+    }
+
+    @Test
+    void skipsMalformedEvents() {
+        consumer.consume(Arrays.asList(null,
+                new InternshipEvent(UUID.randomUUID(), EventType.INTERNSHIP_UPDATED, null, T0, null, null),
+                new InternshipEvent(UUID.randomUUID(), null, UUID.randomUUID(), T0, null, null)));
+
+        verify(indexSyncService, never()).apply(any());
+    }
+
+    private Map<UUID, Op> applied() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<UUID, Op>> changes = ArgumentCaptor.forClass(Map.class);
+        verify(indexSyncService).apply(changes.capture());
+        return changes.getValue();
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("search.sync.events", "result", result).count();
+    }
+
+    private static InternshipEvent event(EventType type, UUID internshipId, int secondsAfterT0) {
+        return new InternshipEvent(UUID.randomUUID(), type, internshipId, T0.plusSeconds(secondsAfterT0), null, null);
+    }
+}
@@ -48,7 +48,8 @@ class EventIntegrationTest {
 
         // Then
         await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> {
-            verify(eventConsumer).consume(argThat(e -> e != null && e.eventId().equals(eventId)));
+            verify(eventConsumer).consume(argThat(batch -> batch != null
+                    && batch.stream().anyMatch(e -> e.eventId().equals(eventId))));
         });
     }
 }
@@ -2,19 +2,26 @@ package ai.nextintern.event;
 
 import ai.nextintern.event.dto.EventType;
 import ai.nextintern.event.dto.InternshipEvent;
+import io.awspring.cloud.sqs.operations.SendBatchOperationFailedException;
+import io.awspring.cloud.sqs.operations.SendResult;
 import io.awspring.cloud.sqs.operations.SqsTemplate;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
-
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -49,4 +56,28 @@ class EventPublisherTest {
         // Then
         verify(sqsTemplate).send(any());
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void publishBatchReturnsTheEventsSqsRejected() {
+        List<InternshipEvent> events = List.of(event(), event(), event());
+        when(sqsTemplate.sendMany(eq("test-queue"), any())).thenAnswer(invocation -> {
+            List<Message<InternshipEvent>> messages = List.copyOf(
+                    (Collection<Message<InternshipEvent>>) invocation.getArgument(1));
+            SendResult.Batch<InternshipEvent> result = new SendResult.Batch<>(
+                    List.of(new SendResult<>(UUID.randomUUID(), "test-queue", messages.get(0), Map.of()),
+                            new SendResult<>(UUID.randomUUID(), "test-queue", messages.get(2), Map.of())),
+                    List.of(new SendResult.Failed<>("throttled", "test-queue", messages.get(1), Map.of())));
+            throw new SendBatchOperationFailedException("partial failure", "test-queue", result);
+        });
+
+        List<InternshipEvent> rejected = eventPublisher.publishBatch("test-queue", events);
+
+        assertThat(rejected).containsExactly(events.get(1));
+    }
+
+    private static InternshipEvent event() {
+        return new InternshipEvent(UUID.randomUUID(), EventType.INTERNSHIP_UPDATED, UUID.randomUUID(), Instant.now(),
+                "trace-123", null);
+    }
 }
@@ -0,0 +1,122 @@
+package ai.nextintern.event;
+
+import ai.nextintern.dto.ApplicationEvent;
+import ai.nextintern.entity.ApplicationStatus;
+import ai.nextintern.entity.OutboxEvent;
+import ai.nextintern.event.dto.EventType;
+import ai.nextintern.event.dto.InternshipEvent;
+import ai.nextintern.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+    @Mock
+    private EventBatcher eventBatcher;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OutboxRelay relay;
+    private long nextId = 1;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(outboxEventRepository, eventBatcher, objectMapper, transactionManager,
+                meterRegistry);
+        ReflectionTestUtils.setField(relay, "batchSize", 100);
+        ReflectionTestUtils.setField(relay, "claimTimeout", Duration.ofSeconds(60));
+        ReflectionTestUtils.setField(relay, "sendTimeout", Duration.ofSeconds(20));
+        ReflectionTestUtils.setField(relay, "retryBackoff", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(relay, "maxRetryBackoff", Duration.ofMinutes(5));
+    }
+
+    @Test
+    void deletesSentRowsAndKeepsFailedOnes() throws Exception {
+        List<OutboxEvent> rows = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            rows.add(row("internship-events", new InternshipEvent(UUID.randomUUID(), EventType.INTERNSHIP_UPDATED,
+                    UUID.randomUUID(), Instant.now(), "trace", null)));
+        }
+        List<OutboxEvent> applicationRows = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            applicationRows.add(row("application-events", new ApplicationEvent(UUID.randomUUID(), UUID.randomUUID(),
+                    UUID.randomUUID(), ApplicationEvent.Type.APPLICATION_CREATED, ApplicationStatus.APPLIED,
+                    Instant.now(), "trace")));
+        }
+        rows.addAll(applicationRows);
+        when(outboxEventRepository.lockNextBatch(100)).thenReturn(rows);
+        when(eventBatcher.submit(eq("internship-events"), any(InternshipEvent.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(eventBatcher.submit(eq("application-events"), any(ApplicationEvent.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("SQS unavailable")));
+
+        boolean again = relay.relayOnce();
+
+        verify(outboxEventRepository).claim(rows.stream().map(OutboxEvent::getId).toList(), 60_000L);
+        verify(eventBatcher, times(23)).submit(anyString(), any());
+        verify(eventBatcher).flush("internship-events");
+        verify(eventBatcher).flush("application-events");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> deleted = ArgumentCaptor.forClass(Collection.class);
+        verify(outboxEventRepository).deleteByIdIn(deleted.capture());
+        assertThat(deleted.getValue()).containsExactlyInAnyOrderElementsOf(
+                rows.subList(0, 15).stream().map(OutboxEvent::getId).toList());
+        verify(outboxEventRepository).markFailed(
+                eq(applicationRows.stream().map(OutboxEvent::getId).toList()), eq("SQS unavailable"),
+                eq(1_000L), eq(300_000L));
+        assertThat(meterRegistry.get("events.outbox.lag").timer().count()).isEqualTo(15);
+        assertThat(again).isFalse();
+    }
+
+    @Test
+    void sendsThatOutliveTheTimeoutAreRetriedLater() throws Exception {
+        ReflectionTestUtils.setField(relay, "sendTimeout", Duration.ofMillis(50));
+        OutboxEvent row = row("internship-events", new InternshipEvent(UUID.randomUUID(),
+                EventType.INTERNSHIP_UPDATED, UUID.randomUUID(), Instant.now(), "trace", null));
+        when(outboxEventRepository.lockNextBatch(100)).thenReturn(List.of(row));
+        when(eventBatcher.submit(eq("internship-events"), any(InternshipEvent.class)))
+                .thenReturn(new CompletableFuture<>());
+
+        assertThat(relay.relayOnce()).isFalse();
+
+        verify(outboxEventRepository, never()).deleteByIdIn(any());
+        verify(outboxEventRepository).markFailed(eq(List.of(row.getId())), startsWith("Send timed out"),
+                eq(1_000L), eq(300_000L));
+    }
+
+    private OutboxEvent row(String queue, Object event) throws Exception {
+        return OutboxEvent.builder()
+                .id(nextId++)
+                .queue(queue)
+                .eventType(event.getClass().getSimpleName())
+                .payload(objectMapper.writeValueAsString(event))
+                .createdAt(Instant.now())
+                .build();
+    }
+}
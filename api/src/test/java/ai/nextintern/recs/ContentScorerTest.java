@@ -0,0 +1,232 @@
+package ai.nextintern.recs;
+
+import ai.nextintern.entity.Internship;
+import ai.nextintern.entity.InternshipSkill;
+import ai.nextintern.entity.Provider;
+import ai.nextintern.entity.Skill;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ContentScorerTest {
+
+    private static final String[] CITIES = { "Pune", "Mumbai", "Delhi", null };
+    private static final String[] STATES = { "Maharashtra", "Delhi", "Karnataka", null };
+    private static final String[] CATEGORIES = { "Backend", "Frontend", "Data Science", null };
+    private static final String[] WORK_MODES = { "remote", "onsite", "hybrid" };
+    private static final String[] IMPORTANCE = { "required", "preferred", "bonus" };
+
+    @Mock
+    private InternshipCatalog catalog;
+
+    private ContentScorer scorer;
+
+    @BeforeEach
+    void setUp() {
+        scorer = new ContentScorer(catalog, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void topKMatchesAFullScanOnRandomCatalogs() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            CatalogSnapshot snapshot = CatalogSnapshot.build(randomCatalog(random, 1 + random.nextInt(300)));
+            RecommendationProfile profile = randomProfile(random);
+            ContentScorer.Scoring scoring = new ContentScorer.Scoring(snapshot, profile);
+            Set<UUID> exclude = new HashSet<>();
+            for (UUID id : snapshot.ids) {
+                if (random.nextInt(10) == 0) {
+                    exclude.add(id);
+                }
+            }
+            int limit = 1 + random.nextInt(40);
+
+            int[] top = scorer.topK(scoring, exclude, limit);
+
+            List<Integer> eligible = IntStream.range(0, snapshot.size)
+                    .filter(row -> !exclude.contains(snapshot.ids[row]))
+                    .boxed()
+                    .sorted(Comparator.comparingDouble((Integer row) -> scoring.score(row)).reversed())
+                    .toList();
+            List<Integer> expected = eligible.subList(0, Math.min(limit, eligible.size()));
+
+            assertThat(top).as("round %d", round).hasSize(expected.size()).doesNotHaveDuplicates();
+            for (int i = 0; i < top.length; i++) {
+                assertThat(exclude).doesNotContain(snapshot.ids[top[i]]);
+                // Equal scores may come back in any order, so compare the score at each rank
+                assertThat(scoring.score(top[i])).as("round %d rank %d", round, i)
+                        .isEqualTo(scoring.score(expected.get(i)));
+            }
+        }
+    }
+
+    @Test
+    void topKOfAnEmptyCatalogIsEmpty() {
+        ContentScorer.Scoring scoring = new ContentScorer.Scoring(CatalogSnapshot.EMPTY,
+                new RecommendationProfile(List.of(), List.of(), null, null, null));
+
+        assertThat(scorer.topK(scoring, Set.of(), 10)).isEmpty();
+    }
+
+    /**
+     * Scores and explanations must match the recs service's Python scorer on
+     * the fixture exported by {@code recs/scripts/export_scorer_fixtures.py}.
+     * The catalog queries themselves (status and deadline) can't run here;
+     * both count a NULL deadline as open.
+     */
+    @Test
+    void matchesThePythonScorer() throws Exception {
+        JsonNode fixture;
+        try (InputStream in = getClass().getResourceAsStream("/recs/content_scorer_parity.json")) {
+            fixture = new ObjectMapper().readTree(in);
+        }
+        Map<Integer, Skill> skills = new HashMap<>();
+        for (JsonNode skill : fixture.path("skills")) {
+            skills.put(skill.path("id").asInt(), Skill.builder()
+                    .id(skill.path("id").asInt())
+                    .name(skill.path("name").asText())
+                    .build());
+        }
+        List<Internship> internships = new ArrayList<>();
+        for (JsonNode node : fixture.path("internships")) {
+            List<InternshipSkill> internshipSkills = new ArrayList<>();
+            for (JsonNode skill : node.path("skills")) {
+                internshipSkills.add(InternshipSkill.builder()
+                        .skill(skills.get(skill.path("id").asInt()))
+                        .importance(skill.path("importance").asText())
+                        .build());
+            }
+            internships.add(Internship.builder()
+                    .id(UUID.fromString(node.path("id").asText()))
+                    .provider(Provider.builder().id(UUID.randomUUID()).build())
+                    .locationCity(node.path("location_city").textValue())
+                    .locationState(node.path("location_state").textValue())
+                    .category(node.path("category").textValue())
+                    .workMode(node.path("work_mode").asText())
+                    .createdAt(node.path("days_old").isNull() ? null
+                            : Instant.now().minus(node.path("days_old").asLong(), ChronoUnit.DAYS))
+                    .applicationDeadline(node.path("deadline_in_days").isNull() ? null
+                            : LocalDate.now().plusDays(node.path("deadline_in_days").asLong()))
+                    .skills(internshipSkills)
+                    .build());
+        }
+        // Both services treat an internship without a deadline as open, so the fixture has to rank one
+        assertThat(internships).anyMatch(internship -> internship.getApplicationDeadline() == null);
+        CatalogSnapshot snapshot = CatalogSnapshot.build(internships);
+        when(catalog.snapshot()).thenReturn(snapshot);
+
+        for (JsonNode testCase : fixture.path("cases")) {
+            JsonNode p = testCase.path("profile");
+            List<RecommendationProfile.SkillLevel> levels = new ArrayList<>();
+            for (JsonNode skill : p.path("skills")) {
+                levels.add(new RecommendationProfile.SkillLevel(skill.path("id").asInt(), skill.path("name").asText(),
+                        skill.path("proficiency").asInt()));
+            }
+            List<String> interests = new ArrayList<>();
+            p.path("interests").forEach(interest -> interests.add(interest.asText()));
+            RecommendationProfile profile = new RecommendationProfile(levels, interests, null,
+                    p.path("location_city").textValue(), p.path("location_state").textValue());
+
+            JsonNode expected = testCase.path("expected");
+            JsonNode items = scorer.recommend(profile, List.of(), snapshot.size).path("items");
+
+            assertThat(items).hasSize(expected.size());
+            Map<String, JsonNode> actualById = new HashMap<>();
+            for (int rank = 0; rank < items.size(); rank++) {
+                actualById.put(items.get(rank).path("internship_id").asText(), items.get(rank));
+                assertThat(items.get(rank).path("score").asDouble()).as("score at rank %d", rank)
+                        .isCloseTo(expected.get(rank).path("score").asDouble(), within(1e-4));
+            }
+            for (JsonNode want : expected) {
+                String id = want.path("internship_id").asText();
+                JsonNode got = actualById.get(id);
+                assertThat(got).as("internship %s", id).isNotNull();
+                assertThat(got.path("score").asDouble()).isCloseTo(want.path("score").asDouble(), within(1e-4));
+
+                JsonNode wantExplanation = want.path("explanation");
+                JsonNode gotExplanation = got.path("explanation");
+                for (String field : List.of("matchedSkills", "missingSkills", "locationMatch", "interestOverlap",
+                        "reason")) {
+                    assertThat(gotExplanation.path(field)).as("%s of %s", field, id)
+                            .isEqualTo(wantExplanation.path(field));
+                }
+                for (String field : List.of("matchScore", "skillOverlapScore", "finalScore")) {
+                    assertThat(gotExplanation.path(field).asDouble()).as("%s of %s", field, id)
+                            .isCloseTo(wantExplanation.path(field).asDouble(), within(1e-3));
+                }
+            }
+        }
+    }
+
+    private static List<Internship> randomCatalog(Random random, int size) {
+        List<Internship> internships = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            List<InternshipSkill> skills = new ArrayList<>();
+            Set<Integer> used = new HashSet<>();
+            for (int s = random.nextInt(5); s > 0; s--) {
+                int skillId = 1 + random.nextInt(12);
+                if (used.add(skillId)) {
+                    skills.add(InternshipSkill.builder()
+                            .skill(Skill.builder().id(skillId).name("skill-" + skillId).build())
+                            .importance(IMPORTANCE[random.nextInt(IMPORTANCE.length)])
+                            .build());
+                }
+            }
+            // Few distinct values so that ties are common
+            internships.add(Internship.builder()
+                    .id(UUID.randomUUID())
+                    .locationCity(pick(random, CITIES))
+                    .locationState(pick(random, STATES))
+                    .category(pick(random, CATEGORIES))
+                    .workMode(pick(random, WORK_MODES))
+                    .createdAt(random.nextInt(8) == 0 ? null
+                            : Instant.now().minus(random.nextInt(40), ChronoUnit.DAYS))
+                    .skills(skills)
+                    .build());
+        }
+        return internships;
+    }
+
+    private static RecommendationProfile randomProfile(Random random) {
+        List<RecommendationProfile.SkillLevel> skills = new ArrayList<>();
+        for (int s = random.nextInt(5); s > 0; s--) {
+            int skillId = 1 + random.nextInt(14);
+            skills.add(new RecommendationProfile.SkillLevel(skillId, "skill-" + skillId, 1 + random.nextInt(5)));
+        }
+        List<String> interests = Arrays.stream(CATEGORIES)
+                .filter(category -> category != null && random.nextInt(3) == 0)
+                .map(category -> random.nextBoolean() ? category.toLowerCase() : category)
+                .toList();
+        return new RecommendationProfile(skills, interests, null, pick(random, CITIES), pick(random, STATES));
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,103 @@
+package ai.nextintern.recs;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostingIndexTest {
+
+    @Test
+    void roundTripsRandomPostingLists() {
+        Random random = new Random(42);
+        int rows = 5_000;
+        int keySpace = 300;
+        List<int[]> keysByRow = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            int[] keys = new int[random.nextInt(6)];
+            for (int i = 0; i < keys.length; i++) {
+                // Skewed so that some keys are dense and others have long gaps
+                keys[i] = (int) (keySpace * Math.pow(random.nextDouble(), 3));
+            }
+            keysByRow.add(keys);
+        }
+
+        PostingIndex index = PostingIndex.build(keySpace, rows, (row, key) -> {
+            for (int k : keysByRow.get(row)) {
+                key.accept(k);
+            }
+        });
+
+        for (int key = 0; key < keySpace; key++) {
+            BitSet expected = new BitSet(rows);
+            for (int row = 0; row < rows; row++) {
+                for (int k : keysByRow.get(row)) {
+                    if (k == key) {
+                        expected.set(row);
+                    }
+                }
+            }
+            assertThat(decode(index, key, rows)).as("key %d", key).isEqualTo(expected);
+            assertThat(index.size(key)).as("key %d", key).isEqualTo(expected.cardinality());
+        }
+    }
+
+    @Test
+    void encodesGapsOfAnyWidth() {
+        // Gaps of 1, 127, 128 (the first two-byte varint), 16_383, 16_384 (the first three-byte one) and more
+        int[] postings = { 0, 1, 128, 256, 16_639, 33_023, 200_000 };
+        int rows = 200_001;
+        PostingIndex index = PostingIndex.build(2, rows, (row, key) -> {
+            if (Arrays.binarySearch(postings, row) >= 0) {
+                key.accept(1);
+            }
+        });
+
+        BitSet expected = new BitSet(rows);
+        for (int row : postings) {
+            expected.set(row);
+        }
+        assertThat(decode(index, 1, rows)).isEqualTo(expected);
+        assertThat(decode(index, 0, rows).isEmpty()).isTrue();
+        assertThat(index.size(1)).isEqualTo(postings.length);
+        // 1 + 1 + 1 + 2 + 2 + 3 + 3 bytes
+        assertThat(index.bytes()).isEqualTo(13);
+    }
+
+    @Test
+    void countsRepeatedKeysOfARowOnce() {
+        PostingIndex index = PostingIndex.build(3, 4, (row, key) -> {
+            key.accept(2);
+            key.accept(2);
+            if (row % 2 == 0) {
+                key.accept(0);
+            }
+        });
+
+        assertThat(index.size(2)).isEqualTo(4);
+        assertThat(index.size(0)).isEqualTo(2);
+        assertThat(decode(index, 0, 4)).isEqualTo(BitSet.valueOf(new long[] { 0b0101 }));
+    }
+
+    @Test
+    void keysOutsideTheIndexAreEmpty() {
+        PostingIndex index = PostingIndex.build(2, 10, (row, key) -> key.accept(row % 2));
+
+        assertThat(index.size(-1)).isZero();
+        assertThat(index.size(2)).isZero();
+        assertThat(decode(index, -1, 10).isEmpty()).isTrue();
+        assertThat(decode(index, 7, 10).isEmpty()).isTrue();
+        assertThat(PostingIndex.build(0, 10, (row, key) -> { }).size(0)).isZero();
+    }
+
+    private static BitSet decode(PostingIndex index, int key, int rows) {
+        long[] words = new long[(rows + 63) >>> 6];
+        index.unionInto(key, words);
+        return BitSet.valueOf(words);
+    }
+}
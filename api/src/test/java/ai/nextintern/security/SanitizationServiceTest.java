@@ -5,13 +5,14 @@ import ai.nextintern.dto.ApplyRequest;
 import ai.nextintern.entity.*;
 import ai.nextintern.repository.*;
 import ai.nextintern.service.*;
-import ai.nextintern.event.EventPublisher;
+import ai.nextintern.event.EventOutbox;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Optional;
@@ -19,6 +20,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,16 +39,17 @@ class SanitizationServiceTest {
     @Mock
     private ApplicationRepository applicationRepository;
     @Mock
-    private EventPublisher eventPublisher;
+    private EventOutbox eventOutbox;
     @Mock
-    private StudentDocumentRepository documentRepository;
+    private ApplicationEventPublisher applicationEventPublisher;
 
     private StudentProfileService studentProfileService;
     private ApplicationService applicationService;
 
     @BeforeEach
     void setUp() {
-        studentProfileService = new StudentProfileService(studentProfileRepository, userRepository, skillRepository, documentRepository);
+        studentProfileService = new StudentProfileService(studentProfileRepository, userRepository, skillRepository,
+                applicationEventPublisher);
         // InternshipService needs SearchService? Let's check constructor.
         // Assuming nullable or mocked SearchService if needed.
         // Checking InternshipService.java constructor from previous view...
@@ -65,6 +68,9 @@ class SanitizationServiceTest {
         profile.setUser(user);
 
         when(studentProfileRepository.findByUserId(userId)).thenReturn(Optional.of(profile));
+        when(studentProfileRepository.findViewByUserId(userId)).thenReturn(Optional.of(new StudentProfileView(
+                profile.getId(), userId, null, null, null, null, null, null, null, null, new String[0], null, null,
+                0, 0, List.of())));
 
         String xssBio = "<script>alert('xss')</script><b>Bio</b>";
         String xssUniversity = "<script>alert('xss')</script>MIT";
@@ -103,7 +109,7 @@ class SanitizationServiceTest {
     void testApplicationSanitization() {
         // Arrange
         applicationService = new ApplicationService(applicationRepository, internshipRepository,
-                studentProfileRepository, eventPublisher);
+                studentProfileRepository, eventOutbox, applicationEventPublisher);
 
         UUID userId = UUID.randomUUID();
         UUID internshipId = UUID.randomUUID();
@@ -121,15 +127,14 @@ class SanitizationServiceTest {
         provider.setCompanyName("Test Company");
         internship.setProvider(provider);
 
-        when(studentProfileRepository.findByUserId(userId)).thenReturn(Optional.of(student));
-        when(internshipRepository.findById(internshipId)).thenReturn(Optional.of(internship));
-        when(applicationRepository.existsByStudentIdAndInternshipId(student.getId(), internshipId)).thenReturn(false);
-        when(internshipRepository.countActiveApplications(internshipId)).thenReturn(0L);
-        when(applicationRepository.save(any(Application.class))).thenAnswer(i -> {
-            Application app = (Application) i.getArguments()[0];
-            app.setId(UUID.randomUUID());
-            return app;
-        });
+        when(studentProfileRepository.findWithUserByUserId(userId)).thenReturn(Optional.of(student));
+        when(internshipRepository.findWithProviderById(internshipId)).thenReturn(Optional.of(internship));
+        ApplicationRepository.InsertOutcome inserted = mock(ApplicationRepository.InsertOutcome.class);
+        when(inserted.getId()).thenReturn(UUID.randomUUID());
+        when(inserted.getInserted()).thenReturn(true);
+        when(applicationRepository.insertIfAbsent(eq(student.getId()), eq(internshipId), any(), any(), any()))
+                .thenReturn(Optional.of(inserted));
+        when(internshipRepository.reserveApplicationSlot(internshipId)).thenReturn(1);
 
         String xssCoverNote = "<script>alert('xss')</script><i>Hire me</i>";
         ApplyRequest request = new ApplyRequest(xssCoverNote);
@@ -138,9 +143,10 @@ class SanitizationServiceTest {
         applicationService.apply(userId, internshipId, request);
 
         // Assert
-        ArgumentCaptor<Application> appCaptor = ArgumentCaptor.forClass(Application.class);
-        verify(applicationRepository).save(appCaptor.capture());
+        ArgumentCaptor<String> coverNoteCaptor = ArgumentCaptor.forClass(String.class);
+        verify(applicationRepository).insertIfAbsent(eq(student.getId()), eq(internshipId), coverNoteCaptor.capture(),
+                any(), any());
 
-        assertEquals("<i>Hire me</i>", appCaptor.getValue().getCoverNote());
+        assertEquals("<i>Hire me</i>", coverNoteCaptor.getValue());
     }
 }
@@ -0,0 +1,216 @@
+package ai.nextintern.service;
+
+import ai.nextintern.dto.ApplyRequest;
+import ai.nextintern.entity.*;
+import ai.nextintern.event.EventOutbox;
+import ai.nextintern.repository.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fires a rush of parallel applies at one internship and checks that
+ * {@code maxApplicants} is never exceeded. Not transactional: every apply has
+ * to commit on its own for the race to be real.
+ */
+@SpringBootTest
+@ActiveProfiles("local")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Tag("integration")
+class ApplicationCapacityIntegrationTest {
+
+        private static final int STUDENTS = 300;
+        private static final int MAX_APPLICANTS = 25;
+        private static final int THREADS = 64;
+
+        @Autowired
+        private ApplicationService applicationService;
+
+        @Autowired
+        private ApplicationCountReconciler applicationCountReconciler;
+
+        @Autowired
+        private StudentProfileRepository studentProfileRepository;
+
+        @Autowired
+        private InternshipRepository internshipRepository;
+
+        @Autowired
+        private ProviderRepository providerRepository;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @MockBean
+        private EventOutbox eventOutbox;
+
+        private final String runId = UUID.randomUUID().toString();
+        private final List<UUID> studentUserIds = new ArrayList<>();
+        private UUID internshipId;
+
+        @BeforeEach
+        void setUp() {
+                User providerUser = userRepository.save(User.builder()
+                                .email("capacity-" + runId + "-provider@example.com")
+                                .passwordHash("hashed")
+                                .fullName("Capacity Provider")
+                                .isActive(true)
+                                .emailVerified(true)
+                                .build());
+                Provider provider = providerRepository.save(Provider.builder()
+                                .user(providerUser)
+                                .companyName("Rush Corp")
+                                .verified(true)
+                                .build());
+                internshipId = internshipRepository.save(Internship.builder()
+                                .provider(provider)
+                                .title("Popular Internship")
+                                .description("Everyone wants this one")
+                                .status("active")
+                                .workMode("remote")
+                                .applicationDeadline(LocalDate.now().plusDays(30))
+                                .maxApplicants(MAX_APPLICANTS)
+                                .build()).getId();
+
+                for (int i = 0; i < STUDENTS; i++) {
+                        User user = userRepository.save(User.builder()
+                                        .email("capacity-" + runId + "-" + i + "@example.com")
+                                        .passwordHash("hashed")
+                                        .fullName("Student " + i)
+                                        .isActive(true)
+                                        .emailVerified(true)
+                                        .build());
+                        studentProfileRepository.save(StudentProfile.builder()
+                                        .user(user)
+                                        .educationLevel("Undergraduate")
+                                        .build());
+                        studentUserIds.add(user.getId());
+                }
+        }
+
+        @AfterEach
+        void tearDown() {
+                jdbcTemplate.update("DELETE FROM internships WHERE id = ?", internshipId);
+                jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", "capacity-" + runId + "-%");
+        }
+
+        @Test
+        void parallelAppliesNeverExceedMaxApplicants() throws Exception {
+                ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+                CountDownLatch start = new CountDownLatch(1);
+                AtomicInteger accepted = new AtomicInteger();
+                AtomicInteger rejectedFull = new AtomicInteger();
+                List<Future<?>> futures = new ArrayList<>();
+                try {
+                        for (UUID userId : studentUserIds) {
+                                futures.add(pool.submit(() -> {
+                                        start.await();
+                                        try {
+                                                applicationService.apply(userId, internshipId,
+                                                                new ApplyRequest("Pick me"));
+                                                accepted.incrementAndGet();
+                                        } catch (IllegalStateException e) {
+                                                assertThat(e).hasMessageContaining("application limit");
+                                                rejectedFull.incrementAndGet();
+                                        }
+                                        return null;
+                                }));
+                        }
+                        start.countDown();
+                        for (Future<?> future : futures) {
+                                future.get(60, TimeUnit.SECONDS);
+                        }
+                } finally {
+                        pool.shutdownNow();
+                }
+
+                assertThat(accepted.get()).isEqualTo(MAX_APPLICANTS);
+                assertThat(rejectedFull.get()).isEqualTo(STUDENTS - MAX_APPLICANTS);
+                assertThat(jdbcTemplate.queryForObject(
+                                "SELECT COUNT(*) FROM applications WHERE internship_id = ?", Long.class, internshipId))
+                                .isEqualTo(MAX_APPLICANTS);
+                assertThat(internshipRepository.findById(internshipId).orElseThrow().getActiveApplicationCount())
+                                .isEqualTo(MAX_APPLICANTS);
+        }
+
+        @Test
+        void reconcilingDuringARushLosesNoReservation() throws Exception {
+                ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+                CountDownLatch start = new CountDownLatch(1);
+                AtomicBoolean done = new AtomicBoolean();
+                AtomicInteger accepted = new AtomicInteger();
+                List<Future<?>> futures = new ArrayList<>();
+                try {
+                        Future<?> reconciler = pool.submit(() -> {
+                                start.await();
+                                while (!done.get()) {
+                                        applicationCountReconciler.reconcile();
+                                }
+                                return null;
+                        });
+                        for (UUID userId : studentUserIds) {
+                                futures.add(pool.submit(() -> {
+                                        start.await();
+                                        try {
+                                                applicationService.apply(userId, internshipId,
+                                                                new ApplyRequest("Pick me"));
+                                                accepted.incrementAndGet();
+                                        } catch (IllegalStateException e) {
+                                                assertThat(e).hasMessageContaining("application limit");
+                                        }
+                                        return null;
+                                }));
+                        }
+                        start.countDown();
+                        for (Future<?> future : futures) {
+                                future.get(60, TimeUnit.SECONDS);
+                        }
+                        done.set(true);
+                        reconciler.get(60, TimeUnit.SECONDS);
+                } finally {
+                        pool.shutdownNow();
+                }
+
+                assertThat(accepted.get()).isEqualTo(MAX_APPLICANTS);
+                assertThat(applicationCountReconciler.reconcile()).isEmpty();
+                assertThat(internshipRepository.findById(internshipId).orElseThrow().getActiveApplicationCount())
+                                .isEqualTo(MAX_APPLICANTS);
+        }
+
+        @Test
+        void withdrawingFreesASlot() {
+                for (int i = 0; i < MAX_APPLICANTS; i++) {
+                        applicationService.apply(studentUserIds.get(i), internshipId, new ApplyRequest("Pick me"));
+                }
+
+                applicationService.withdraw(studentUserIds.get(0), internshipId);
+                applicationService.apply(studentUserIds.get(MAX_APPLICANTS), internshipId, new ApplyRequest("Me too"));
+
+                assertThat(internshipRepository.findById(internshipId).orElseThrow().getActiveApplicationCount())
+                                .isEqualTo(MAX_APPLICANTS);
+        }
+}
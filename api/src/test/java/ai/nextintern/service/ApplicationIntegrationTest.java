@@ -5,7 +5,7 @@ import ai.nextintern.dto.ApplicationResponse;
 import ai.nextintern.dto.ApplyRequest;
 import ai.nextintern.dto.UpdateApplicationStatusRequest;
 import ai.nextintern.entity.*;
-import ai.nextintern.event.EventPublisher;
+import ai.nextintern.event.EventOutbox;
 import ai.nextintern.repository.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
@@ -51,7 +51,7 @@ class ApplicationIntegrationTest {
         private ProviderRepository providerRepository;
 
         @SpyBean
-        private EventPublisher eventPublisher;
+        private EventOutbox eventOutbox;
 
         @Autowired
         private UserRepository userRepository;
@@ -146,10 +146,10 @@ class ApplicationIntegrationTest {
                 assertThat(app.getStatus()).isEqualTo(ApplicationStatus.APPLIED);
                 assertThat(app.getStatusHistory()).contains("Initial Application");
 
-                // Verify Event Published (Async)
+                // Verify Event Recorded in the Outbox
                 await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> {
-                        verify(eventPublisher)
-                                        .publish(argThat((ApplicationEvent evt) -> evt.applicationId()
+                        verify(eventOutbox)
+                                        .add(argThat((ApplicationEvent evt) -> evt.applicationId()
                                                         .equals(response.id()) &&
                                                         evt.eventType() == ApplicationEvent.Type.APPLICATION_CREATED));
                 });
@@ -167,8 +167,8 @@ class ApplicationIntegrationTest {
 
                 // Verify Event Published
                 await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> {
-                        verify(eventPublisher)
-                                        .publish(argThat((ApplicationEvent evt) -> evt.applicationId()
+                        verify(eventOutbox)
+                                        .add(argThat((ApplicationEvent evt) -> evt.applicationId()
                                                         .equals(response.id()) &&
                                                         evt.eventType() == ApplicationEvent.Type.STATUS_CHANGED &&
                                                         evt.newStatus() == ApplicationStatus.SHORTLISTED));
@@ -0,0 +1,232 @@
+package ai.nextintern.service;
+
+import ai.nextintern.dto.ApplyRequest;
+import ai.nextintern.entity.*;
+import ai.nextintern.event.EventOutbox;
+import ai.nextintern.repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Apply latency and throughput: the previous check-then-insert sequence
+ * (reproduced in {@link #legacyApply}) against
+ * {@link ApplicationService#apply}'s insert-on-conflict. Prints p50/p99
+ * latency for sequential applies and applies/s with {@value #THREADS}
+ * threads, and asserts the round-trip count of the new path.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("local")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Tag("integration")
+class ApplyBenchmarkIntegrationTest {
+
+        private static final Logger logger = LoggerFactory.getLogger(ApplyBenchmarkIntegrationTest.class);
+
+        private static final int STUDENTS = 400;
+        private static final int WARMUP = 100;
+        private static final int THREADS = 16;
+
+        @Autowired
+        private ApplicationService applicationService;
+
+        @Autowired
+        private ApplicationRepository applicationRepository;
+
+        @Autowired
+        private StudentProfileRepository studentProfileRepository;
+
+        @Autowired
+        private InternshipRepository internshipRepository;
+
+        @Autowired
+        private ProviderRepository providerRepository;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        @Autowired
+        private PlatformTransactionManager transactionManager;
+
+        @MockBean
+        private EventOutbox eventOutbox;
+
+        private final String runId = UUID.randomUUID().toString();
+        private final List<UUID> studentUserIds = new ArrayList<>();
+        private final List<UUID> internshipIds = new ArrayList<>();
+        private Provider provider;
+
+        @BeforeEach
+        void setUp() {
+                User providerUser = userRepository.save(User.builder()
+                                .email("apply-bench-" + runId + "-provider@example.com")
+                                .passwordHash("hashed")
+                                .fullName("Bench Provider")
+                                .isActive(true)
+                                .emailVerified(true)
+                                .build());
+                provider = providerRepository.save(Provider.builder()
+                                .user(providerUser)
+                                .companyName("Bench Corp")
+                                .verified(true)
+                                .build());
+                for (int i = 0; i < STUDENTS; i++) {
+                        User user = userRepository.save(User.builder()
+                                        .email("apply-bench-" + runId + "-" + i + "@example.com")
+                                        .passwordHash("hashed")
+                                        .fullName("Student " + i)
+                                        .isActive(true)
+                                        .emailVerified(true)
+                                        .build());
+                        studentProfileRepository.save(StudentProfile.builder()
+                                        .user(user)
+                                        .educationLevel("Undergraduate")
+                                        .build());
+                        studentUserIds.add(user.getId());
+                }
+        }
+
+        @AfterEach
+        void tearDown() {
+                internshipIds.forEach(id -> jdbcTemplate.update("DELETE FROM internships WHERE id = ?", id));
+                jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", "apply-bench-" + runId + "-%");
+        }
+
+        @Test
+        void applyBeforeAndAfter() throws Exception {
+                TransactionTemplate tx = new TransactionTemplate(transactionManager);
+                BiConsumer<UUID, UUID> legacy = (userId, internshipId) -> tx.executeWithoutResult(
+                                status -> legacyApply(userId, internshipId));
+                BiConsumer<UUID, UUID> current = (userId, internshipId) -> applicationService.apply(userId,
+                                internshipId, new ApplyRequest("Benchmark"));
+
+                // Round trips first, before the background index sync has anything to read
+                Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+                UUID internshipId = newInternship();
+                statistics.clear();
+                current.accept(studentUserIds.get(0), internshipId);
+                assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+
+                // Warm both paths up (JIT, connection pool, plan caches) before measuring
+                sequential(legacy, newInternship(), studentUserIds.subList(0, WARMUP));
+                sequential(current, newInternship(), studentUserIds.subList(0, WARMUP));
+
+                List<UUID> measured = studentUserIds.subList(WARMUP, STUDENTS);
+                long[] legacyLatency = sequential(legacy, newInternship(), measured);
+                long[] currentLatency = sequential(current, newInternship(), measured);
+                double legacyThroughput = concurrent(legacy, newInternship(), measured);
+                double currentThroughput = concurrent(current, newInternship(), measured);
+
+                logger.info("apply before: p50 {} us, p99 {} us, {} applies/s ({} threads)",
+                                percentile(legacyLatency, 50), percentile(legacyLatency, 99),
+                                Math.round(legacyThroughput), THREADS);
+                logger.info("apply after:  p50 {} us, p99 {} us, {} applies/s ({} threads)",
+                                percentile(currentLatency, 50), percentile(currentLatency, 99),
+                                Math.round(currentThroughput), THREADS);
+        }
+
+        /** apply() as it was: separate existence, lookup and insert statements, lazy loads for the response. */
+        private void legacyApply(UUID userId, UUID internshipId) {
+                StudentProfile student = studentProfileRepository.findByUserId(userId).orElseThrow();
+                Internship internship = internshipRepository.findById(internshipId).orElseThrow();
+                Boolean exists = jdbcTemplate.queryForObject(
+                                "SELECT EXISTS (SELECT 1 FROM applications WHERE student_id = ? AND internship_id = ?)",
+                                Boolean.class, student.getId(), internshipId);
+                if (Boolean.TRUE.equals(exists)) {
+                        applicationRepository.findByStudentIdAndInternshipId(student.getId(), internshipId);
+                        throw new IllegalStateException("You have already applied to this internship");
+                }
+                internshipRepository.reserveApplicationSlot(internshipId);
+                applicationRepository.saveAndFlush(Application.builder()
+                                .student(student)
+                                .internship(internship)
+                                .status(ApplicationStatus.APPLIED)
+                                .coverNote("Benchmark")
+                                .appliedAt(Instant.now())
+                                .build());
+                student.getUser().getFullName();
+                internship.getProvider().getCompanyName();
+        }
+
+        private UUID newInternship() {
+                UUID id = internshipRepository.save(Internship.builder()
+                                .provider(provider)
+                                .title("Benchmark Internship")
+                                .description("Apply here")
+                                .status("active")
+                                .workMode("remote")
+                                .applicationDeadline(LocalDate.now().plusDays(30))
+                                .build()).getId();
+                internshipIds.add(id);
+                return id;
+        }
+
+        /** Applies each user in turn; returns the latencies in microseconds. */
+        private static long[] sequential(BiConsumer<UUID, UUID> apply, UUID internshipId, List<UUID> userIds) {
+                long[] latencies = new long[userIds.size()];
+                for (int i = 0; i < userIds.size(); i++) {
+                        long start = System.nanoTime();
+                        apply.accept(userIds.get(i), internshipId);
+                        latencies[i] = (System.nanoTime() - start) / 1_000;
+                }
+                return latencies;
+        }
+
+        /** Applies every user from {@value #THREADS} threads; returns applies per second. */
+        private static double concurrent(BiConsumer<UUID, UUID> apply, UUID internshipId, List<UUID> userIds)
+                        throws Exception {
+                ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+                try {
+                        long start = System.nanoTime();
+                        List<Future<?>> futures = new ArrayList<>();
+                        for (UUID userId : userIds) {
+                                futures.add(pool.submit(() -> apply.accept(userId, internshipId)));
+                        }
+                        for (Future<?> future : futures) {
+                                future.get();
+                        }
+                        return userIds.size() / ((System.nanoTime() - start) / 1e9);
+                } finally {
+                        pool.shutdownNow();
+                }
+        }
+
+        private static long percentile(long[] latencies, int percentile) {
+                long[] sorted = latencies.clone();
+                Arrays.sort(sorted);
+                return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)];
+        }
+}
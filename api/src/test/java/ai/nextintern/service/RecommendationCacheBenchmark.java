@@ -0,0 +1,117 @@
+package ai.nextintern.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cached recommendation (de)serialization: the old path (a new ObjectMapper
+ * per call, JSON text) against {@link RecommendationCache}'s (the shared
+ * mapper, Smile). Not part of the test suite; run after {@code mvn test-compile}
+ * with
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) ai.nextintern.service.RecommendationCacheBenchmark
+ * </pre>
+ * where cp.txt comes from {@code mvn dependency:build-classpath -Dmdep.outputFile=cp.txt}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecommendationCacheBenchmark {
+
+    private final ObjectMapper sharedMapper = new ObjectMapper();
+    private final ObjectMapper smileMapper = RecommendationCache.smileMapper(sharedMapper);
+
+    private JsonNode entry;
+    private String json;
+    private byte[] smile;
+
+    @Setup
+    public void setUp() throws Exception {
+        entry = sampleEntry(50);
+        json = sharedMapper.writeValueAsString(entry);
+        smile = smileMapper.writeValueAsBytes(entry);
+    }
+
+    @Benchmark
+    public String writeJsonNewMapper() throws Exception {
+        return new ObjectMapper().writeValueAsString(entry);
+    }
+
+    @Benchmark
+    public byte[] writeSmileShared() throws Exception {
+        return smileMapper.writeValueAsBytes(entry);
+    }
+
+    @Benchmark
+    public JsonNode readJsonNewMapper() throws Exception {
+        return new ObjectMapper().readTree(json);
+    }
+
+    @Benchmark
+    public JsonNode readSmileShared() throws Exception {
+        return smileMapper.readTree(smile);
+    }
+
+    /** A cache entry shaped like the recs service's response. */
+    static JsonNode sampleEntry(int size) {
+        Random random = new Random(42);
+        String[] skills = {"Python", "Java", "SQL", "React", "Machine Learning", "Data Analysis", "Excel"};
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode body = mapper.createObjectNode();
+        ArrayNode items = body.putArray("items");
+        for (int i = 0; i < size; i++) {
+            ObjectNode item = items.addObject();
+            item.put("internship_id", new UUID(random.nextLong(), random.nextLong()).toString());
+            item.put("score", 1.0 - i * 0.01 - random.nextDouble() * 0.005);
+            ObjectNode explanation = item.putObject("explanation");
+            ArrayNode matched = explanation.putArray("matched_skills");
+            for (int j = random.nextInt(4); j >= 0; j--) {
+                matched.add(skills[random.nextInt(skills.length)]);
+            }
+            explanation.put("skill_overlap", random.nextDouble());
+            explanation.put("location_match", random.nextBoolean());
+            explanation.put("interest_match", random.nextBoolean());
+        }
+        body.put("model_version", "content-local-v1");
+        body.put("cold_start", false);
+        body.put("strategy", "content_local");
+        body.put("latency_ms", 3);
+        body.put("generated_at", Instant.parse("2026-01-01T00:00:00Z").toString());
+        body.putObject("fairness_metrics");
+        ObjectNode entry = mapper.createObjectNode();
+        entry.put("complete", false);
+        entry.set("body", body);
+        return entry;
+    }
+
+    public static void main(String[] args) throws Exception {
+        RecommendationCacheBenchmark sizes = new RecommendationCacheBenchmark();
+        sizes.setUp();
+        System.out.printf("Entry of 50 items: JSON %d bytes, Smile %d bytes%n",
+                sizes.json.getBytes(StandardCharsets.UTF_8).length, sizes.smile.length);
+        new Runner(new OptionsBuilder().include(RecommendationCacheBenchmark.class.getSimpleName()).build()).run();
+    }
+}
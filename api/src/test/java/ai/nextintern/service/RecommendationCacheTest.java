@@ -0,0 +1,285 @@
+package ai.nextintern.service;
+
+import ai.nextintern.event.InternshipChangedEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+class RecommendationCacheTest {
+
+    private static final String GENERATION_KEY = "rec:generation";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    /** Stands in for Redis: the string commands both of the cache's templates go through. */
+    private final Map<ByteBuffer, byte[]> redis = new ConcurrentHashMap<>();
+
+    private StringRedisTemplate redisTemplate;
+    private RecommendationCache cache;
+
+    @BeforeEach
+    void setUp() {
+        RedisStringCommands strings = mock(RedisStringCommands.class, this::stringCommand);
+        RedisScriptingCommands scripts = mock(RedisScriptingCommands.class, this::script);
+        // The connection's default methods delegate to stringCommands() and scriptingCommands()
+        RedisConnection connection = mock(RedisConnection.class, withSettings().defaultAnswer(CALLS_REAL_METHODS));
+        when(connection.stringCommands()).thenReturn(strings);
+        when(connection.scriptingCommands()).thenReturn(scripts);
+        RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+        when(connectionFactory.getConnection()).thenReturn(connection);
+
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        // A zero poll interval re-reads the generation on every lookup
+        cache = new RecommendationCache(redisTemplate, objectMapper, meterRegistry, Duration.ofHours(1),
+                Duration.ZERO, Duration.ofSeconds(60), Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    @Test
+    void slicesTheStoredListForSmallerLimits() {
+        UUID userId = UUID.randomUUID();
+        put(userId, "fp", body(10), 10);
+
+        JsonNode page = cache.get(userId, 3);
+
+        assertThat(ids(page)).containsExactly("i0", "i1", "i2");
+        assertThat(page.path("model_version").asText()).isEqualTo("v1");
+        assertThat(ids(cache.get(userId, 10))).hasSize(10);
+        assertThat(hits("hit")).isEqualTo(2.0);
+    }
+
+    @Test
+    void aFullListDoesNotAnswerABiggerLimit() {
+        UUID userId = UUID.randomUUID();
+        put(userId, "fp", body(10), 10);
+
+        assertThat(cache.get(userId, 20)).isNull();
+        assertThat(hits("miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    void aShortListAnswersAnyLimit() {
+        UUID userId = UUID.randomUUID();
+        // The engine had only 4 to give when asked for 10
+        put(userId, "fp", body(4), 10);
+
+        assertThat(ids(cache.get(userId, 50))).hasSize(4);
+    }
+
+    @Test
+    void missesWithoutAnEntry() {
+        assertThat(cache.get(UUID.randomUUID(), 10)).isNull();
+        assertThat(hits("miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    void missesAfterTheCatalogGenerationMoves() {
+        UUID userId = UUID.randomUUID();
+        put(userId, "fp", body(10), 10);
+
+        redisTemplate.opsForValue().set(GENERATION_KEY, "1");
+
+        assertThat(cache.get(userId, 5)).isNull();
+        assertThat(hits("stale")).isEqualTo(1.0);
+
+        put(userId, "fp", body(10), 10);
+        assertThat(cache.pointer(userId)).isEqualTo(new RecommendationCache.Pointer("fp", 1));
+        assertThat(cache.get(userId, 5)).isNotNull();
+    }
+
+    @Test
+    void awaitOnlyAcceptsTheRequestedFingerprint() throws InterruptedException {
+        UUID userId = UUID.randomUUID();
+        put(userId, "old-profile", body(10), 10);
+
+        assertThat(cache.await(userId, "new-profile", 5, Duration.ZERO)).isNull();
+        assertThat(ids(cache.await(userId, "old-profile", 5, Duration.ZERO))).hasSize(5);
+
+        put(userId, "new-profile", body(10), 10);
+        assertThat(ids(cache.await(userId, "new-profile", 5, Duration.ZERO))).hasSize(5);
+        assertThat(cache.await(userId, "old-profile", 5, Duration.ZERO)).isNull();
+    }
+
+    @Test
+    void missesOnceThePointerExpires() {
+        UUID userId = UUID.randomUUID();
+        put(userId, "fp", body(10), 10);
+        redis.remove(ByteBuffer.wrap(("rec:ptr:" + userId).getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(cache.get(userId, 5)).isNull();
+    }
+
+    @Test
+    void missesAfterEviction() {
+        UUID userId = UUID.randomUUID();
+        put(userId, "fp", body(10), 10);
+
+        cache.evict(userId);
+
+        assertThat(cache.get(userId, 5)).isNull();
+        assertThat(cache.pointer(userId)).isNull();
+    }
+
+    @Test
+    void resultsComputedBeforeAnEvictionAreNotPointedTo() {
+        UUID userId = UUID.randomUUID();
+        RecommendationCache.Ticket ticket = cache.ticket(userId, "fp");
+        // The profile changes while the ranking is computed
+        cache.evict(userId);
+
+        cache.put(userId, ticket, body(10), 10);
+
+        assertThat(cache.get(userId, 5)).isNull();
+        assertThat(cache.pointer(userId)).isNull();
+
+        // A computation that starts after the eviction is stored as usual
+        put(userId, "fp", body(10), 10);
+        assertThat(cache.get(userId, 5)).isNotNull();
+    }
+
+    @Test
+    void resultsComputedBeforeACatalogBumpAreStale() {
+        UUID userId = UUID.randomUUID();
+        RecommendationCache.Ticket ticket = cache.ticket(userId, "fp");
+        redisTemplate.opsForValue().set(GENERATION_KEY, "1");
+
+        cache.put(userId, ticket, body(10), 10);
+
+        assertThat(cache.pointer(userId)).isEqualTo(new RecommendationCache.Pointer("fp", 0));
+        assertThat(cache.get(userId, 5)).isNull();
+        assertThat(hits("stale")).isEqualTo(1.0);
+    }
+
+    @Test
+    void countOnlyChangesKeepTheGeneration() {
+        cache.onInternshipChanged(InternshipChangedEvent.applicantCountChanged(UUID.randomUUID()));
+        // The debounced bump, without waiting for the scheduler
+        ReflectionTestUtils.invokeMethod(cache, "bumpIfCatalogChanged");
+        assertThat(cache.currentGeneration()).isZero();
+
+        cache.onInternshipChanged(InternshipChangedEvent.updated(UUID.randomUUID()));
+        ReflectionTestUtils.invokeMethod(cache, "bumpIfCatalogChanged");
+        assertThat(cache.currentGeneration()).isEqualTo(1);
+    }
+
+    @Test
+    void slicingLeavesTheOriginalAlone() {
+        JsonNode body = body(5);
+
+        JsonNode page = RecommendationCache.slice(body, 2);
+
+        assertThat(ids(page)).containsExactly("i0", "i1");
+        assertThat(ids(body)).hasSize(5);
+        assertThat(RecommendationCache.slice(body, 5)).isSameAs(body);
+    }
+
+    /** Takes a ticket and stores right away, as a computation that nothing raced with would. */
+    private void put(UUID userId, String fingerprint, JsonNode body, int requested) {
+        cache.put(userId, cache.ticket(userId, fingerprint), body, requested);
+    }
+
+    private Object stringCommand(InvocationOnMock invocation) {
+        Object[] args = invocation.getRawArguments();
+        return switch (invocation.getMethod().getName()) {
+            case "get" -> redis.get(ByteBuffer.wrap((byte[]) args[0]));
+            case "mGet" -> Arrays.stream((byte[][]) args[0]).map(key -> redis.get(ByteBuffer.wrap(key))).toList();
+            case "set", "setEx", "pSetEx" -> {
+                redis.put(ByteBuffer.wrap((byte[]) args[0]), (byte[]) args[args.length == 3 ? 2 : 1]);
+                yield Boolean.TRUE;
+            }
+            case "incr" -> {
+                byte[] next = redis.merge(ByteBuffer.wrap((byte[]) args[0]), "1".getBytes(StandardCharsets.UTF_8),
+                        (current, one) -> increment(current));
+                yield Long.parseLong(new String(next, StandardCharsets.UTF_8));
+            }
+            default -> throw new UnsupportedOperationException(invocation.getMethod().toString());
+        };
+    }
+
+    /**
+     * The cache's Lua scripts, told apart by what they call. EVALSHA always
+     * reports NOSCRIPT, so the script text comes through EVAL.
+     */
+    private Object script(InvocationOnMock invocation) {
+        Object[] args = invocation.getRawArguments();
+        if (!invocation.getMethod().getName().equals("eval")) {
+            throw new InvalidDataAccessApiUsageException("NOSCRIPT No matching script");
+        }
+        String lua = new String((byte[]) args[0], StandardCharsets.UTF_8);
+        byte[][] keysAndArgs = (byte[][]) args[3];
+        ByteBuffer key = ByteBuffer.wrap(keysAndArgs[0]);
+        if (lua.contains("'incr'")) {
+            redis.merge(ByteBuffer.wrap(keysAndArgs[1]), "1".getBytes(StandardCharsets.UTF_8),
+                    (current, one) -> increment(current));
+            return redis.remove(key) != null ? 1L : 0L;
+        }
+        if (lua.contains("'set'")) {
+            byte[] epoch = redis.getOrDefault(ByteBuffer.wrap(keysAndArgs[1]), "0".getBytes(StandardCharsets.UTF_8));
+            if (!Arrays.equals(epoch, keysAndArgs[2])) {
+                return 0L;
+            }
+            redis.put(key, keysAndArgs[3]);
+            return 1L;
+        }
+        throw new UnsupportedOperationException(lua);
+    }
+
+    private static byte[] increment(byte[] value) {
+        return String.valueOf(Long.parseLong(new String(value, StandardCharsets.UTF_8)) + 1)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private double hits(String result) {
+        return meterRegistry.counter("recs.cache.lookups", "result", result).count();
+    }
+
+    private ObjectNode body(int size) {
+        ObjectNode body = objectMapper.createObjectNode();
+        ArrayNode items = body.putArray("items");
+        for (int i = 0; i < size; i++) {
+            items.addObject().put("internship_id", "i" + i).put("score", 1.0 - i / 100.0);
+        }
+        body.put("model_version", "v1");
+        return body;
+    }
+
+    private static List<String> ids(JsonNode body) {
+        assertThat(body).isNotNull();
+        List<String> ids = new ArrayList<>();
+        body.path("items").forEach(item -> ids.add(item.path("internship_id").asText()));
+        return ids;
+    }
+}
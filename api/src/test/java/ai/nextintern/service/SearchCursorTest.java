@@ -0,0 +1,89 @@
+package ai.nextintern.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.opensearch.client.opensearch.OpenSearchAsyncClient;
+import org.opensearch.client.opensearch.OpenSearchClient;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class SearchCursorTest {
+
+    @Mock
+    private OpenSearchClient client;
+    @Mock
+    private OpenSearchAsyncClient asyncClient;
+
+    @Test
+    void roundTrips() {
+        SearchCursor cursor = new SearchCursor("pit-1", List.of("3.25", "1714000000000", "a1b2"),
+                SearchCursor.fingerprint("java", "Backend", null, "Karnataka"));
+
+        String token = cursor.encode();
+
+        assertThat(token).doesNotContain("+", "/", "=");
+        assertThat(SearchCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    void roundTripsWithoutAPointInTime() {
+        SearchCursor cursor = new SearchCursor(null, List.of("1.0", "0", "id"), SearchCursor.fingerprint(null, null,
+                null, null));
+
+        assertThat(SearchCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void rejectsTamperedTokens() {
+        String token = new SearchCursor("pit-1", List.of("1.0"), "f").encode();
+
+        assertThatThrownBy(() -> SearchCursor.decode(token.substring(0, token.length() - 3)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SearchCursor.decode("not a cursor!"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SearchCursor.decode(encodeRaw("{\"pit\":\"p\",\"after\":[],\"filters\":\"f\"}")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SearchCursor.decode(encodeRaw("{\"pit\":\"p\",\"filters\":\"f\"}")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fingerprintsDependOnEveryFilter() {
+        String base = SearchCursor.fingerprint("java", "Backend", "remote", "Karnataka");
+
+        assertThat(SearchCursor.fingerprint("java", "Backend", "remote", "Karnataka")).isEqualTo(base);
+        assertThat(SearchCursor.fingerprint("python", "Backend", "remote", "Karnataka")).isNotEqualTo(base);
+        assertThat(SearchCursor.fingerprint("java", "Frontend", "remote", "Karnataka")).isNotEqualTo(base);
+        assertThat(SearchCursor.fingerprint("java", "Backend", "onsite", "Karnataka")).isNotEqualTo(base);
+        assertThat(SearchCursor.fingerprint("java", "Backend", "remote", null)).isNotEqualTo(base);
+        // Values can't bleed into the neighbouring filter
+        assertThat(SearchCursor.fingerprint("ab", "c", null, null))
+                .isNotEqualTo(SearchCursor.fingerprint("a", "bc", null, null));
+    }
+
+    @Test
+    void searchRejectsCursorsIssuedForOtherFilters() {
+        SearchService searchService = new SearchService(client, asyncClient, Duration.ofSeconds(60), 100);
+        String cursor = new SearchCursor("pit-1", List.of("1.0", "0", "id"),
+                SearchCursor.fingerprint("java", "Backend", null, null)).encode();
+
+        assertThatThrownBy(() -> searchService.searchInternships("java", "Frontend", null, null, 0, 20, cursor, false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("does not match");
+        verifyNoInteractions(client, asyncClient);
+    }
+
+    private static String encodeRaw(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,170 @@
+package ai.nextintern.service;
+
+import ai.nextintern.event.InternshipChangedEvent;
+import ai.nextintern.service.IndexSyncService.Op;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SearchIndexQueueTest {
+
+    @Mock
+    private IndexSyncService indexSyncService;
+    @Mock
+    private SearchIndexManager searchIndexManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SearchIndexQueue queue;
+    private boolean started;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        queue = new SearchIndexQueue(indexSyncService, searchIndexManager, meterRegistry);
+        ReflectionTestUtils.setField(queue, "batchSize", 200);
+        ReflectionTestUtils.setField(queue, "lingerMs", 20L);
+        ReflectionTestUtils.setField(queue, "capacity", 10);
+        ReflectionTestUtils.setField(queue, "retryBackoffMs", 10L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (started) {
+            queue.shutdown();
+        }
+    }
+
+    @Test
+    void coalescesRepeatedIdsInFirstWriteOrder() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        queue.enqueue(first, Op.UPSERT);
+        queue.enqueue(second, Op.UPSERT);
+        queue.enqueue(first, Op.UPSERT);
+        queue.enqueue(first, Op.APPLICANT_COUNT);
+
+        assertThat(queue.backlog()).isEqualTo(2);
+        assertThat(meterRegistry.counter("search.index.queue.coalesced").count()).isEqualTo(2.0);
+
+        assertThat(flushOnce()).containsExactly(Map.entry(first, Op.UPSERT), Map.entry(second, Op.UPSERT));
+    }
+
+    @Test
+    void laterOpsWinExceptCountRefreshes() {
+        UUID deletedAfterUpdate = UUID.randomUUID();
+        UUID recreatedAfterDelete = UUID.randomUUID();
+        UUID countedAfterDelete = UUID.randomUUID();
+        UUID countOnly = UUID.randomUUID();
+        queue.enqueue(deletedAfterUpdate, Op.UPSERT);
+        queue.enqueue(deletedAfterUpdate, Op.DELETE);
+        queue.enqueue(deletedAfterUpdate, Op.APPLICANT_COUNT);
+        queue.enqueue(recreatedAfterDelete, Op.DELETE);
+        queue.enqueue(recreatedAfterDelete, Op.UPSERT);
+        queue.enqueue(countedAfterDelete, Op.DELETE);
+        queue.enqueue(countedAfterDelete, Op.APPLICANT_COUNT);
+        queue.enqueue(countOnly, Op.APPLICANT_COUNT);
+        queue.enqueue(countOnly, Op.APPLICANT_COUNT);
+
+        assertThat(flushOnce()).containsExactly(
+                Map.entry(deletedAfterUpdate, Op.DELETE),
+                Map.entry(recreatedAfterDelete, Op.UPSERT),
+                Map.entry(countedAfterDelete, Op.DELETE),
+                Map.entry(countOnly, Op.APPLICANT_COUNT));
+    }
+
+    @Test
+    void mapsEventsToOps() {
+        UUID created = UUID.randomUUID();
+        UUID counted = UUID.randomUUID();
+        UUID deleted = UUID.randomUUID();
+        queue.onInternshipChanged(InternshipChangedEvent.created(created));
+        queue.onInternshipChanged(InternshipChangedEvent.applicantCountChanged(counted));
+        queue.onInternshipChanged(InternshipChangedEvent.deleted(deleted));
+
+        assertThat(flushOnce()).containsExactly(
+                Map.entry(created, Op.UPSERT),
+                Map.entry(counted, Op.APPLICANT_COUNT),
+                Map.entry(deleted, Op.DELETE));
+    }
+
+    @Test
+    void dropsNewIdsWhenFullAndResyncsOnceDrained() {
+        ReflectionTestUtils.setField(queue, "capacity", 2);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        queue.enqueue(first, Op.UPSERT);
+        queue.enqueue(second, Op.UPSERT);
+        queue.enqueue(UUID.randomUUID(), Op.UPSERT);
+        // Ids already pending still coalesce
+        queue.enqueue(first, Op.DELETE);
+
+        assertThat(queue.backlog()).isEqualTo(2);
+        assertThat(meterRegistry.counter("search.index.queue.overflow").count()).isEqualTo(1.0);
+
+        when(searchIndexManager.requestFullResync()).thenReturn(true);
+        assertThat(flushOnce()).containsExactly(Map.entry(first, Op.DELETE), Map.entry(second, Op.UPSERT));
+        verify(searchIndexManager, timeout(2000)).requestFullResync();
+    }
+
+    @Test
+    void doesNotResyncWithoutAnOverflow() throws InterruptedException {
+        queue.enqueue(UUID.randomUUID(), Op.UPSERT);
+
+        flushOnce();
+        Thread.sleep(50);
+        verify(searchIndexManager, never()).requestFullResync();
+    }
+
+    @Test
+    void requeuesFailedIds() {
+        UUID ok = UUID.randomUUID();
+        UUID failing = UUID.randomUUID();
+        when(indexSyncService.apply(any())).thenReturn(Set.of(failing)).thenReturn(Set.of());
+        queue.enqueue(ok, Op.UPSERT);
+        queue.enqueue(failing, Op.DELETE);
+        start();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<UUID, Op>> batches = ArgumentCaptor.forClass(Map.class);
+        verify(indexSyncService, timeout(2000).times(2)).apply(batches.capture());
+        List<Map<UUID, Op>> applied = batches.getAllValues();
+        assertThat(applied.get(1)).containsExactly(Map.entry(failing, Op.DELETE));
+        assertThat(meterRegistry.counter("search.index.queue.failed").count()).isEqualTo(1.0);
+    }
+
+    /** Starts the flusher on what is pending and returns the one batch it writes. */
+    private Map<UUID, Op> flushOnce() {
+        when(indexSyncService.apply(any())).thenReturn(Set.of());
+        start();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<UUID, Op>> batch = ArgumentCaptor.forClass(Map.class);
+        verify(indexSyncService, timeout(2000).times(1)).apply(batch.capture());
+        verify(indexSyncService, times(1)).apply(any());
+        return batch.getValue();
+    }
+
+    private void start() {
+        queue.start();
+        started = true;
+    }
+}
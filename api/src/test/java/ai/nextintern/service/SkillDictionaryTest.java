@@ -0,0 +1,125 @@
+package ai.nextintern.service;
+
+import ai.nextintern.entity.Skill;
+import ai.nextintern.event.SkillCreatedEvent;
+import ai.nextintern.repository.SkillRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SkillDictionaryTest {
+
+    @Mock
+    private SkillRepository skillRepository;
+
+    private SkillDictionary dictionary;
+
+    @BeforeEach
+    void setUp() {
+        when(skillRepository.findAll()).thenReturn(List.of(
+                skill(1, "Python", "py", "python3"),
+                skill(2, "Machine Learning", "ML"),
+                skill(3, "Café Scripting"),
+                skill(4, "JavaScript", "js", "ecmascript"),
+                skill(5, "Java"),
+                // Aliased to another skill's name; the name must still win
+                skill(6, "Jython", "python"),
+                skill(7, "Deep Learning", "dl"),
+                skill(8, "Lean Manufacturing")));
+        dictionary = new SkillDictionary(skillRepository);
+        dictionary.reload();
+    }
+
+    @Test
+    void foldsCaseAccentsAndWhitespace() {
+        assertThat(dictionary.resolveId("PYTHON")).contains(1);
+        assertThat(dictionary.resolveId("  machine   learning ")).contains(2);
+        assertThat(dictionary.resolveId("cafe scripting")).contains(3);
+        assertThat(dictionary.resolveId("CAFÉ  SCRIPTING")).contains(3);
+        assertThat(dictionary.resolveId("Rust")).isEmpty();
+        assertThat(dictionary.resolveId(null)).isEmpty();
+    }
+
+    @Test
+    void resolvesAliases() {
+        assertThat(dictionary.resolveId("ml")).contains(2);
+        assertThat(dictionary.resolveId("JS")).contains(4);
+        assertThat(dictionary.resolveId("Python3")).contains(1);
+    }
+
+    @Test
+    void namesWinOverOtherSkillsAliases() {
+        assertThat(dictionary.resolveId("python")).contains(1);
+    }
+
+    @Test
+    void resolvesManyInInputOrder() {
+        Map<String, Integer> ids = dictionary.resolveIds(List.of("js", "Unknown", "Java", "ML"));
+
+        assertThat(ids).containsExactly(Map.entry("js", 4), Map.entry("Java", 5), Map.entry("ML", 2));
+    }
+
+    @Test
+    void completesOnLaterWords() {
+        assertThat(names(dictionary.complete("lea", 10)))
+                .containsExactly("Lean Manufacturing", "Deep Learning", "Machine Learning");
+        assertThat(names(dictionary.complete("scrip", 10))).containsExactly("Café Scripting");
+        assertThat(names(dictionary.complete("ecma", 10))).containsExactly("JavaScript");
+    }
+
+    @Test
+    void ranksNameMatchesFirstThenShorterNames() {
+        // "Jython" only matches through its alias, so it ranks after both names
+        assertThat(names(dictionary.complete("py", 10))).containsExactly("Python", "Jython");
+        assertThat(names(dictionary.complete("ja", 10))).containsExactly("Java", "JavaScript");
+        assertThat(names(dictionary.complete("ja", 1))).containsExactly("Java");
+    }
+
+    @Test
+    void listsEachSkillOnce() {
+        // "JavaScript" matches by its name and by its "js" alias, but is listed once
+        assertThat(names(dictionary.complete("j", 10))).containsExactly("Java", "Jython", "JavaScript");
+    }
+
+    @Test
+    void ignoresEmptyPrefixesAndLimits() {
+        assertThat(dictionary.complete("  ", 10)).isEmpty();
+        assertThat(dictionary.complete("py", 0)).isEmpty();
+    }
+
+    @Test
+    void picksUpSkillsCreatedLocally() {
+        dictionary.onSkillCreated(new SkillCreatedEvent(skill(9, "Kotlin", "kt")));
+
+        assertThat(dictionary.resolveId("KT")).contains(9);
+        assertThat(names(dictionary.complete("kot", 10))).containsExactly("Kotlin");
+        assertThat(dictionary.size()).isEqualTo(9);
+    }
+
+    @Test
+    void completionsAreDetachedCopies() {
+        Skill completed = dictionary.complete("python", 1).get(0);
+        completed.getAliases()[0] = "changed";
+
+        assertThat(dictionary.resolveId("py")).isEqualTo(Optional.of(1));
+        assertThat(dictionary.complete("python", 1).get(0).getAliases()).containsExactly("py", "python3");
+    }
+
+    private static Skill skill(int id, String name, String... aliases) {
+        return Skill.builder().id(id).name(name).category("Tech").aliases(aliases).build();
+    }
+
+    private static List<String> names(List<Skill> skills) {
+        return skills.stream().map(Skill::getName).toList();
+    }
+}
@@ -0,0 +1,126 @@
+package ai.nextintern.service;
+
+import ai.nextintern.dto.StudentProfileResponse;
+import ai.nextintern.entity.*;
+import ai.nextintern.recs.RecommendationProfile;
+import ai.nextintern.repository.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Profile reads must stay one round trip however many skills the student has.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("local")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Tag("integration")
+@Transactional
+class StudentProfileQueryIntegrationTest {
+
+        @Autowired
+        private StudentProfileService studentProfileService;
+
+        @Autowired
+        private StudentProfileRepository studentProfileRepository;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private SkillRepository skillRepository;
+
+        @Autowired
+        private StudentDocumentRepository documentRepository;
+
+        @Autowired
+        private EntityManager entityManager;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        private UUID userId;
+        private Statistics statistics;
+
+        @BeforeEach
+        void setUp() {
+                User user = userRepository.save(User.builder()
+                                .email("query-count-" + UUID.randomUUID() + "@example.com")
+                                .passwordHash("hashed")
+                                .fullName("Query Count")
+                                .isActive(true)
+                                .emailVerified(true)
+                                .build());
+                userId = user.getId();
+
+                StudentProfile profile = StudentProfile.builder()
+                                .user(user)
+                                .educationLevel("Undergraduate")
+                                .locationCity("Pune")
+                                .locationState("Maharashtra")
+                                .interests(new String[] { "Backend", "Data" })
+                                .build();
+                for (int i = 0; i < 5; i++) {
+                        Skill skill = skillRepository.save(Skill.builder()
+                                        .name("QueryCountSkill" + i + "-" + UUID.randomUUID())
+                                        .category("test")
+                                        .build());
+                        profile.getSkills().add(StudentSkill.builder()
+                                        .studentProfile(profile)
+                                        .skill(skill)
+                                        .proficiency((short) (i % 5 + 1))
+                                        .build());
+                }
+                profile = studentProfileRepository.save(profile);
+
+                documentRepository.save(StudentDocument.builder()
+                                .studentProfile(profile)
+                                .documentType(StudentDocument.DocumentType.CV)
+                                .fileName("cv.pdf")
+                                .fileUrl("s3://bucket/cv.pdf")
+                                .build());
+
+                // Start from an empty persistence context so nothing is served from it
+                entityManager.flush();
+                entityManager.clear();
+                statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+                statistics.clear();
+        }
+
+        @Test
+        void getProfileIsOneQuery() {
+                StudentProfileResponse response = studentProfileService.getProfile(userId);
+
+                assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+                assertThat(response.skills()).hasSize(5);
+                assertThat(response.interests()).containsExactly("Backend", "Data");
+                assertThat(response.hasCv()).isTrue();
+                assertThat(response.recommendationLetterCount()).isZero();
+                assertThat(response.fullName()).isEqualTo("Query Count");
+        }
+
+        @Test
+        void recommendationProfileIsOneQuery() {
+                RecommendationProfile profile = studentProfileRepository.findViewByUserId(userId)
+                                .map(RecommendationProfile::of)
+                                .orElseThrow();
+
+                assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+                assertThat(profile.skills()).hasSize(5);
+                assertThat(profile.interests()).containsExactly("Backend", "Data");
+                assertThat(profile.locationState()).isEqualTo("Maharashtra");
+        }
+}
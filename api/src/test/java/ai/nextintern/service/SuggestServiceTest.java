@@ -0,0 +1,58 @@
+package ai.nextintern.service;
+
+import ai.nextintern.dto.InternshipDocument;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.opensearch._types.ErrorResponse;
+import org.opensearch.client.opensearch._types.OpenSearchException;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SuggestServiceTest {
+
+    @Mock
+    private OpenSearchClient client;
+
+    private SuggestService suggestService;
+
+    @BeforeEach
+    void setUp() {
+        suggestService = new SuggestService(client, new SimpleMeterRegistry(), Duration.ofMinutes(5), 100);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void indicesWithoutCompletionFieldsGiveNoSuggestionsAndAreRetried() throws Exception {
+        // What a legacy index without title_suggest answers
+        OpenSearchException rejected = new OpenSearchException(ErrorResponse.of(r -> r
+                .status(400)
+                .error(e -> e.type("search_phase_execution_exception")
+                        .reason("Field [title_suggest] is not a completion suggest field"))));
+        when(client.search(any(Function.class), eq(InternshipDocument.class))).thenThrow(rejected);
+
+        assertThat(suggestService.suggest("jav", 5)).isNull();
+        assertThat(suggestService.suggest("jav", 5)).isNull();
+
+        // Failures are not cached, so suggestions come back as soon as the index is rebuilt
+        verify(client, times(2)).search(any(Function.class), eq(InternshipDocument.class));
+    }
+
+    @Test
+    void blankPrefixesNeverQuery() {
+        assertThat(suggestService.suggest("   ", 5).titles()).isEmpty();
+    }
+}
@@ -1,8 +1,9 @@
+import asyncio
 import time
 from typing import Optional
 from uuid import UUID
 
-from fastapi import APIRouter, BackgroundTasks, Request
+from fastapi import APIRouter, BackgroundTasks, HTTPException, Request
 from pydantic import BaseModel
 import os
 from slowapi import Limiter
@@ -63,6 +64,21 @@ class RecommendResponse(BaseModel):
     shadow_metrics: Optional[dict] = None
 
 
+MAX_BATCH_SIZE = 200
+
+
+class BatchRecommendRequest(BaseModel):
+    requests: list[RecommendRequest]
+
+
+class BatchRecommendResult(RecommendResponse):
+    user_id: UUID
+
+
+class BatchRecommendResponse(BaseModel):
+    results: list[BatchRecommendResult]
+
+
 # ── Endpoint ─────────────────────────────────────
 
 @router.post("/recommend", response_model=RecommendResponse)
@@ -72,6 +88,31 @@ async def recommend(request: Request, body: RecommendRequest, background_tasks:
     Generate top-N internship recommendations for a user.
     Uses Hybrid Combiner (CF + CB).
     """
+    return await _recommend_one(body, background_tasks)
+
+
+@router.post("/recommend/batch", response_model=BatchRecommendResponse)
+@limiter.limit("60/minute")
+async def recommend_batch(request: Request, body: BatchRecommendRequest, background_tasks: BackgroundTasks):
+    """
+    Recommendations for many users in one call (digests, bulk jobs).
+    Each entry is scored exactly as by /recommend; results keep request order.
+    The active catalog is fetched once and shared, so a batch costs one
+    database query rather than one per entry.
+    """
+    if len(body.requests) > MAX_BATCH_SIZE:
+        raise HTTPException(status_code=422, detail=f"At most {MAX_BATCH_SIZE} requests per batch")
+
+    catalog = await scorer.fetch_catalog()
+    responses = await asyncio.gather(*(_recommend_one(r, background_tasks, catalog) for r in body.requests))
+    return BatchRecommendResponse(results=[
+        BatchRecommendResult(user_id=r.user_id, **response.model_dump())
+        for r, response in zip(body.requests, responses)
+    ])
+
+
+async def _recommend_one(body: RecommendRequest, background_tasks: BackgroundTasks,
+                         catalog: Optional[list] = None) -> RecommendResponse:
     start = time.time()
 
     result = await scorer.score(
@@ -79,6 +120,7 @@ async def recommend(request: Request, body: RecommendRequest, background_tasks:
         profile=body.profile,
         exclude_ids=body.context.exclude_ids,
         limit=body.context.limit,
+        catalog=catalog,
     )
 
     latency_ms = int((time.time() - start) * 1000)
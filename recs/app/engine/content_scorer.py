@@ -39,10 +39,19 @@ class ContentScorer:
         profile,
         exclude_ids: list[UUID],
         limit: int = 10,
+        internships: Optional[list] = None,
     ) -> list:
-        """Score all active internships against the user profile."""
+        """
+        Score all active internships against the user profile.
+        Pass `internships` (from fetch_catalog) to score against an already
+        fetched catalog instead of querying Postgres.
+        """
 
-        internships = await asyncio.to_thread(self._fetch_active_internships, exclude_ids)
+        if internships is None:
+            internships = await asyncio.to_thread(self._fetch_active_internships, exclude_ids)
+        elif exclude_ids:
+            excluded = set(exclude_ids)
+            internships = [i for i in internships if i["id"] not in excluded]
 
         if not internships:
             return []
@@ -86,8 +95,15 @@ class ContentScorer:
         scored.sort(key=lambda x: x["score"], reverse=True)
         return scored[:limit]
 
+    async def fetch_catalog(self) -> list:
+        """All active internships, for scoring many profiles against one query."""
+        return await asyncio.to_thread(self._fetch_active_internships, [])
+
     def _fetch_active_internships(self, exclude_ids: list[UUID]) -> list:
-        """Fetch active internships with their skills from Postgres."""
+        """
+        Fetch active internships with their skills from Postgres. An internship
+        without a deadline is open, as in the API's InternshipRepository.findActiveIds.
+        """
         query = text("""
             SELECT
                 i.id, i.provider_id, i.title, i.category, i.location_city, i.location_state,
@@ -103,7 +119,7 @@ class ContentScorer:
             LEFT JOIN internship_skills isj ON i.id = isj.internship_id
             LEFT JOIN skills s ON isj.skill_id = s.id
             WHERE i.status = 'active'
-              AND i.application_deadline >= CURRENT_DATE
+              AND (i.application_deadline IS NULL OR i.application_deadline >= CURRENT_DATE)
               AND i.id != ALL(:exclude_ids)
             GROUP BY i.id
         """)
@@ -28,15 +28,22 @@ class HybridCombiner:
             return {k: 1.0 for k in scores_dict}
         return {k: (v - min_v) / (max_v - min_v) for k, v in scores_dict.items()}
 
-    async def score(self, user_id: UUID, profile, exclude_ids: list[UUID], limit: int = 10) -> dict:
+    async def fetch_catalog(self) -> list:
+        """Active internships to share across several score() calls."""
+        return await self.content_scorer.fetch_catalog()
+
+    async def score(self, user_id: UUID, profile, exclude_ids: list[UUID], limit: int = 10,
+                    catalog: Optional[list] = None) -> dict:
         """
         Generate blended recommendations using production model, and compute shadow metrics if candidate prevails.
+        `catalog` (from fetch_catalog) skips the per-call internship query.
         """
         # Get content scores
         cb_scored_raw = await self.content_scorer.score(
             profile=profile,
             exclude_ids=exclude_ids,
-            limit=1000  # Pull more for blending
+            limit=1000,  # Pull more for blending
+            internships=catalog,
         )
         
         if not cb_scored_raw:
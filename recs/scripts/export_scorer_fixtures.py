@@ -0,0 +1,114 @@
+"""
+Exports ContentScorer results for a fixed catalog and set of profiles, so the
+API's in-process port (ai.nextintern.recs.ContentScorer) can be checked for
+parity in its unit tests.
+
+Writes api/src/test/resources/recs/content_scorer_parity.json. Creation dates
+are stored as days before today and deadlines as days after it, so the fixture
+stays valid over time. Every internship here is open by both services' catalog
+queries; the one without a deadline checks that both count it as open.
+
+    python -m scripts.export_scorer_fixtures
+"""
+
+import asyncio
+import json
+from datetime import date, timedelta
+from pathlib import Path
+from types import SimpleNamespace
+
+from app.engine.content_scorer import ContentScorer
+
+OUTPUT = Path(__file__).resolve().parents[2] / "api/src/test/resources/recs/content_scorer_parity.json"
+
+SKILLS = {1: "Python", 2: "Java", 3: "SQL", 4: "React", 5: "Docker"}
+
+# Skills are listed in skill id order, the order the Java snapshot keeps them in
+INTERNSHIPS = [
+    {"id": "00000000-0000-0000-0000-00000000000a", "skills": [(1, "required"), (3, "preferred")],
+     "location_city": "Pune", "location_state": "Maharashtra", "category": "Data Science",
+     "work_mode": "onsite", "days_old": 0, "deadline_in_days": 14},
+    {"id": "00000000-0000-0000-0000-00000000000b", "skills": [(2, "required"), (5, "bonus")],
+     "location_city": "Bangalore", "location_state": "Karnataka", "category": "Backend",
+     "work_mode": "remote", "days_old": 10, "deadline_in_days": 30},
+    {"id": "00000000-0000-0000-0000-00000000000c", "skills": [(4, "required")],
+     "location_city": "Mumbai", "location_state": "Maharashtra", "category": "Frontend",
+     "work_mode": "onsite", "days_old": 45, "deadline_in_days": 7},
+    {"id": "00000000-0000-0000-0000-00000000000d", "skills": [],
+     "location_city": "Bangalore", "location_state": "Karnataka", "category": "Marketing",
+     "work_mode": "onsite", "days_old": 3, "deadline_in_days": 60},
+    {"id": "00000000-0000-0000-0000-00000000000e", "skills": [(1, "preferred"), (2, "preferred"), (3, "bonus")],
+     "location_city": "Pune", "location_state": "Maharashtra", "category": "Backend",
+     "work_mode": "hybrid", "days_old": 20, "deadline_in_days": 0},
+    {"id": "00000000-0000-0000-0000-00000000000f", "skills": [(5, "required")],
+     "location_city": "Delhi", "location_state": "Delhi", "category": "DevOps",
+     "work_mode": "onsite", "days_old": 29, "deadline_in_days": 21},
+    {"id": "00000000-0000-0000-0000-000000000010", "skills": [(3, "required")],
+     "location_city": None, "location_state": None, "category": None,
+     "work_mode": "onsite", "days_old": None, "deadline_in_days": None},
+]
+
+PROFILES = [
+    {"skills": [(1, 4), (3, 2)], "interests": ["data science"],
+     "location_city": "pune", "location_state": "Maharashtra"},
+    {"skills": [(2, 5), (5, 3)], "interests": ["Backend", "DevOps"],
+     "location_city": "Mumbai", "location_state": "Maharashtra"},
+    {"skills": [], "interests": [], "location_city": None, "location_state": None},
+    {"skills": [(4, 1)], "interests": ["Frontend"],
+     "location_city": "Chennai", "location_state": "Tamil Nadu"},
+]
+
+
+def _python_row(internship: dict) -> dict:
+    days_old = internship["days_old"]
+    return {
+        "id": internship["id"],
+        "provider_id": None,
+        "category": internship["category"],
+        "location_city": internship["location_city"],
+        "location_state": internship["location_state"],
+        "work_mode": internship["work_mode"],
+        "created_at": date.today() - timedelta(days=days_old) if days_old is not None else None,
+        "application_deadline": (date.today() + timedelta(days=internship["deadline_in_days"])
+                                 if internship["deadline_in_days"] is not None else None),
+        "skills": [{"name": SKILLS[skill_id], "importance": importance}
+                   for skill_id, importance in internship["skills"]],
+    }
+
+
+def _python_profile(profile: dict) -> SimpleNamespace:
+    return SimpleNamespace(
+        skills=[{"name": SKILLS[skill_id], "proficiency": proficiency} for skill_id, proficiency in profile["skills"]],
+        interests=profile["interests"],
+        location_city=profile["location_city"],
+        location_state=profile["location_state"],
+    )
+
+
+async def main() -> None:
+    # Scoring only; no database connection is needed when the catalog is passed in
+    scorer = ContentScorer.__new__(ContentScorer)
+    catalog = [_python_row(i) for i in INTERNSHIPS]
+    cases = []
+    for profile in PROFILES:
+        items = await scorer.score(_python_profile(profile), exclude_ids=[], limit=len(catalog),
+                                   internships=catalog)
+        cases.append({
+            "profile": {**profile, "skills": [{"id": s, "name": SKILLS[s], "proficiency": p}
+                                              for s, p in profile["skills"]]},
+            "expected": [{k: v for k, v in item.items() if k != "provider_id"} for item in items],
+        })
+
+    fixture = {
+        "skills": [{"id": k, "name": v} for k, v in SKILLS.items()],
+        "internships": [{**i, "skills": [{"id": s, "importance": imp} for s, imp in i["skills"]]}
+                        for i in INTERNSHIPS],
+        "cases": cases,
+    }
+    OUTPUT.parent.mkdir(parents=True, exist_ok=True)
+    OUTPUT.write_text(json.dumps(fixture, indent=2) + "\n")
+    print(f"Wrote {OUTPUT}")
+
+
+if __name__ == "__main__":
+    asyncio.run(main())
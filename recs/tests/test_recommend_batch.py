@@ -0,0 +1,52 @@
+from unittest.mock import patch, AsyncMock
+from uuid import uuid4
+
+from fastapi.testclient import TestClient
+
+from app.main import app
+from app.api.recommend import MAX_BATCH_SIZE
+
+client = TestClient(app)
+
+
+def _request(user_id):
+    return {
+        "user_id": str(user_id),
+        "profile": {"skills": [{"name": "Python", "proficiency": 4}], "interests": []},
+        "context": {"limit": 5},
+    }
+
+
+@patch("app.api.recommend.scorer")
+@patch("app.api.recommend.BackgroundTasks.add_task")
+def test_batch_returns_one_result_per_user_in_order(mock_add_task, mock_scorer):
+    internship_id = uuid4()
+    catalog = [{"id": internship_id}]
+    mock_scorer.fetch_catalog = AsyncMock(return_value=catalog)
+    mock_scorer.score = AsyncMock(return_value={
+        "items": [{"internship_id": internship_id, "score": 0.9, "explanation": {}}],
+        "cold_start": False,
+        "strategy": "hybrid",
+        "fairness_metrics": {},
+    })
+    user_ids = [uuid4() for _ in range(3)]
+
+    res = client.post("/recommend/batch", json={"requests": [_request(u) for u in user_ids]},
+                      headers={"X-Forwarded-For": "192.168.1.101"})
+
+    assert res.status_code == 200
+    results = res.json()["results"]
+    assert [r["user_id"] for r in results] == [str(u) for u in user_ids]
+    assert all(r["items"][0]["internship_id"] == str(internship_id) for r in results)
+    assert mock_scorer.score.await_count == 3
+    mock_scorer.fetch_catalog.assert_awaited_once()
+    assert all(call.kwargs["catalog"] == catalog for call in mock_scorer.score.await_args_list)
+
+
+def test_batch_rejects_oversized_requests():
+    requests = [_request(uuid4()) for _ in range(MAX_BATCH_SIZE + 1)]
+
+    res = client.post("/recommend/batch", json={"requests": requests},
+                      headers={"X-Forwarded-For": "192.168.1.102"})
+
+    assert res.status_code == 422
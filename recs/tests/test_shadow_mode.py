@@ -22,7 +22,7 @@ class MockLightFMScorer:
         return {cid: (float(sum(cid.bytes) % 100) / 100.0) + 0.1 for cid in candidate_ids}
 
 class MockContentScorer:
-    async def score(self, profile, exclude_ids, limit):
+    async def score(self, profile, exclude_ids, limit, internships=None):
         # Create 10 dummy items
         results = []
         for i in range(10):